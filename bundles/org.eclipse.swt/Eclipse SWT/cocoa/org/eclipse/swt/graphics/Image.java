@@ -111,6 +111,12 @@ public final class Image extends Resource implements Drawable {
 	 */
 	NativeGC memGC;
 
+	/**
+	 * Incremented whenever the pixels of the image may have changed, e.g. after
+	 * drawing on it with a GC, so that converted copies can be validated.
+	 */
+	int modificationCount;
+
 	/**
 	 * The global alpha value to be used for every pixel.
 	 */
@@ -1181,6 +1187,7 @@ private NSBitmapImageRep createRepresentation(ImageData imageData, AlphaInfo alp
 
 @Override
 void destroy() {
+	if (SWT.USE_SKIJA) SkijaGC.imageDisposed(this);
 	if (memGC != null) memGC.dispose();
 	handle.release();
 	handle = null;
@@ -1681,6 +1688,7 @@ public long internal_new_GC (GCData data) {
  */
 @Override
 public void internal_dispose_GC (long hDC, GCData data) {
+	modificationCount++;
 	long context = hDC;
 	NSAutoreleasePool pool = null;
 	if (!NSThread.isMainThread()) pool = (NSAutoreleasePool) new NSAutoreleasePool().alloc().init();
@@ -1762,6 +1770,7 @@ public void setBackground(Color color) {
 		NSBitmapImageRep imageRep = getRepresentation();
 		AlphaInfo alphaInfo = _getAlphaInfoAtCurrentZoom(imageRep);
 		if (alphaInfo.transparentPixel == -1) return;
+		modificationCount++;
 		byte red = (byte)((alphaInfo.transparentPixel >> 16) & 0xFF);
 		byte green = (byte)((alphaInfo.transparentPixel >> 8) & 0xFF);
 		byte blue = (byte)((alphaInfo.transparentPixel >> 0) & 0xFF);
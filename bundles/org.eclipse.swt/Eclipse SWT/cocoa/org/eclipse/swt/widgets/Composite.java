@@ -1094,6 +1094,13 @@ void scrollWheel (long id, long sel, long theEvent) {
 	super.scrollWheel (id, sel, theEvent);
 }
 
+@Override
+public void setBackground (Color color) {
+	super.setBackground (color);
+	/* Custom-drawn children may have recorded the inherited background */
+	CustomControl.invalidateDisplayLists (this);
+}
+
 /**
  * Sets the background drawing mode to the argument which should
  * be one of the following constants defined in class <code>SWT</code>:
@@ -1118,6 +1125,7 @@ public void setBackgroundMode (int mode) {
 	for (int i = 0; i < children.length; i++) {
 		children [i].updateBackgroundMode ();
 	}
+	CustomControl.invalidateDisplayLists (this);
 }
 
 @Override
@@ -1276,6 +1284,14 @@ void updateBackgroundImage () {
 	}
 }
 
+@Override
+public void update () {
+	checkWidget ();
+	/* Issue the pending redraws of custom-drawn descendants, they are deferred to the end of the frame */
+	display.frameScheduler.flushTree (this);
+	super.update ();
+}
+
 @Override
 void updateBackgroundMode () {
 	super.updateBackgroundMode ();
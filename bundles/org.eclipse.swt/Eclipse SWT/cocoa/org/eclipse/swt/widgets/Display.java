@@ -5434,6 +5434,7 @@ long timerProc (long id, long sel, long timerID) {
  */
 public void update () {
 	checkDevice ();
+	flushRedraws ();
 	Shell [] shells = getShells ();
 	for (int i=0; i<shells.length; i++) {
 		Shell shell = shells [i];
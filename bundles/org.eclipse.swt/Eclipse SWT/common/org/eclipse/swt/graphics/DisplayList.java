@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import org.eclipse.swt.*;
+
+import io.github.humbleui.skija.*;
+
+/**
+ * The retained rendering of a control: the drawing operations of one paint,
+ * recorded by {@link Drawing#drawWithGC(org.eclipse.swt.widgets.Control, GC, DisplayList, java.util.function.Consumer)}
+ * and replayed by the following paints instead of running the drawing
+ * operation again. A recording is only replayed for the size and zoom it was
+ * recorded for. Whenever anything else which is drawn changes, the owner has
+ * to {@link #invalidate()} the display list.
+ * <p>
+ * Display lists are only recorded when rendering with Skija. Recording is
+ * turned on with the system property
+ * <code>org.eclipse.swt.graphics.DisplayList=true</code>.
+ * </p>
+ *
+ * @since 3.130
+ * @noreference this is still experimental API and might be removed
+ */
+public final class DisplayList {
+
+	static final String ENABLED_PROPERTY = "org.eclipse.swt.graphics.DisplayList"; //$NON-NLS-1$
+
+	private static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+	private Picture picture;
+	private int width;
+	private int height;
+	private int zoom;
+
+	/**
+	 * Returns whether display lists are recorded at all.
+	 * @return whether display lists are recorded
+	 * @noreference this is still experimental API and might be removed
+	 */
+	public static boolean isEnabled() {
+		return ENABLED && SWT.USE_SKIJA;
+	}
+
+	/**
+	 * Drops the recording, the next paint runs the drawing operation again.
+	 * @noreference this is still experimental API and might be removed
+	 */
+	public void invalidate() {
+		if (picture != null) {
+			picture.close();
+			picture = null;
+		}
+	}
+
+	/**
+	 * Returns whether a recording is available.
+	 * @return whether a recording is available
+	 * @noreference this is still experimental API and might be removed
+	 */
+	public boolean isValid() {
+		return picture != null;
+	}
+
+	/**
+	 * Drops the recording, like {@link #invalidate()}, when the owner is disposed.
+	 * @noreference this is still experimental API and might be removed
+	 */
+	public void dispose() {
+		invalidate();
+	}
+
+	void set(Picture picture, int width, int height, int zoom) {
+		invalidate();
+		this.picture = picture;
+		this.width = width;
+		this.height = height;
+		this.zoom = zoom;
+	}
+
+	boolean matches(int width, int height, int zoom) {
+		return picture != null && this.width == width && this.height == height && this.zoom == zoom;
+	}
+
+	Picture getPicture() {
+		return picture;
+	}
+}
@@ -42,17 +42,56 @@ public final class Drawing {
 		return gc;
 	}
 
+	private static GC createDrawingContext(GC originalGC, Control control, Rectangle damage) {
+		if (!SWT.USE_SKIJA) {
+			return originalGC;
+		}
+
+		if (!(originalGC.innerGC instanceof NativeGC originalNativeGC)) {
+			return originalGC;
+		}
+
+		GC gc = new GC();
+		gc.innerGC = SkijaGC.createPooledInstance(originalNativeGC, control, damage);
+		return gc;
+	}
+
 	/**
 	 * Executes the given drawing operation of the given control on a GC. If the
 	 * given GC is not null, it is used as the target GC for the rendering result,
 	 * but actual rendering may be performed on a different GC whose type depends on
 	 * global configuration.
+	 * <p>
+	 * Only the area of the given GC's clipping is rendered and transferred, which
+	 * for a GC from a paint event is the damaged area of the control.
+	 * </p>
 	 *
 	 * @param control       the control to execute the operation on
 	 * @param originalGC    a GC already created for the given control or null
 	 * @param drawOperation the operation that draws the control
 	 */
 	public static void drawWithGC(Control control, GC originalGC, Consumer<GC> drawOperation) {
+		drawWithGC(control, originalGC, null, drawOperation);
+	}
+
+	/**
+	 * Executes the given drawing operation of the given control on a GC like
+	 * {@link #drawWithGC(Control, GC, Consumer)}, but retains its output in the
+	 * given display list. If the display list holds a recording for the current
+	 * size of the control, the recording is replayed instead of executing the
+	 * drawing operation. Otherwise the operation is recorded for the whole
+	 * control first.
+	 *
+	 * @param control       the control to execute the operation on
+	 * @param originalGC    a GC already created for the given control or null
+	 * @param displayList   the display list to replay or record, or null to
+	 *                      always execute the operation
+	 * @param drawOperation the operation that draws the control
+	 * @since 3.130
+	 * @noreference this is still experimental API and might be removed
+	 */
+	public static void drawWithGC(Control control, GC originalGC, DisplayList displayList,
+			Consumer<GC> drawOperation) {
 		Rectangle bounds = control.getBounds();
 		if (originalGC != null && originalGC.innerGC instanceof NativeGC nativeGC
 				&& nativeGC.drawable instanceof Control gcControl) {
@@ -61,21 +100,35 @@ public final class Drawing {
 			}
 		}
 
+		Rectangle area = new Rectangle(0, 0, bounds.width, bounds.height);
+		Rectangle damage = area;
 		boolean usingTemporaryGC = false;
 		if (originalGC == null) {
 			originalGC = new GC(control);
 			usingTemporaryGC = true;
+		} else {
+			damage = originalGC.getClipping().intersection(area);
 		}
 
-		GC gc = createGraphicsContext(originalGC, control);
+		GC gc = createDrawingContext(originalGC, control, damage);
 		gc.setFont(control.getFont());
 		gc.setForeground(control.getForeground());
 		gc.setBackground(control.getBackground());
-		gc.setClipping(new Rectangle(0, 0, bounds.width, bounds.height));
-		gc.setAntialias(SWT.ON);
 
 		try {
-			drawOperation.accept(gc);
+			if (displayList != null && DisplayList.isEnabled() && gc.innerGC instanceof SkijaGC skijaGC) {
+				if (!skijaGC.canReplay(displayList)) {
+					skijaGC.beginRecording();
+					gc.setAntialias(SWT.ON);
+					drawOperation.accept(gc);
+					skijaGC.finishRecording(displayList);
+				}
+				skijaGC.drawDisplayList(displayList);
+			} else {
+				gc.setClipping(damage);
+				gc.setAntialias(SWT.ON);
+				drawOperation.accept(gc);
+			}
 			gc.commit();
 		} finally {
 			// Only dispose gc if it is not the originalGC from paint event
@@ -88,6 +141,48 @@ public final class Drawing {
 		}
 	}
 
+	/**
+	 * Executes the given drawing operation of a lightweight child control on the
+	 * GC its host draws on, see {@link LightweightComposite}. The operation draws
+	 * relative to the bounds of the child and is clipped to them and to the
+	 * clipping of the host's GC. Nothing is transferred to the screen, the host
+	 * transfers its surface once for all its children.
+	 *
+	 * @param child         the child to draw
+	 * @param hostGC        the GC the host draws on within
+	 *                      {@link #drawWithGC(Control, GC, Consumer)}
+	 * @param drawOperation the operation that draws the child
+	 * @since 3.130
+	 * @noreference this is still experimental API and might be removed
+	 */
+	public static void drawChild(Control child, GC hostGC, Consumer<GC> drawOperation) {
+		if (!(hostGC.innerGC instanceof SkijaGC hostSkijaGC)) {
+			throw new IllegalStateException("lightweight children can only be drawn with Skija");
+		}
+		GC gc = new GC();
+		gc.innerGC = SkijaGC.createHostedInstance(hostSkijaGC, child);
+		try {
+			drawOperation.accept(gc);
+		} finally {
+			gc.dispose();
+		}
+	}
+
+	/**
+	 * Releases the resources retained for drawing the given control, e.g. its
+	 * pooled drawing surface. Custom-drawn controls call this when they are
+	 * released.
+	 *
+	 * @param control the control that is released
+	 * @since 3.130
+	 * @noreference this is still experimental API and might be removed
+	 */
+	public static void releaseResources(Control control) {
+		if (SWT.USE_SKIJA) {
+			SkijaSurfacePool.discard(control);
+		}
+	}
+
 	/**
 	 * Executes the given non-drawing operation on a GC. The GC is automatically
 	 * generated and disposed. The type of GC depends on global configuration. In
@@ -118,8 +213,10 @@ public final class Drawing {
 	}
 
 	/**
-	 * Executes the given non-drawing operation on a GC. The GC is automatically
-	 * generated and disposed. The type of GC depends on global configuration.
+	 * Executes the given non-drawing operation on a GC. The type of GC depends on
+	 * global configuration. When rendering with Skija, a measuring GC is reused for
+	 * all controls of the control's display and no native GC is created. The
+	 * operation starts with the control's font set.
 	 *
 	 * @param <T>       the type of result of the operation
 	 * @param control   the control to execute the operation on
@@ -127,6 +224,9 @@ public final class Drawing {
 	 * @return the result of the given operation
 	 */
 	public static <T> T measure(Control control, Function<GC, T> operation) {
+		if (SWT.USE_SKIJA) {
+			return measureWithSharedContext(control, operation);
+		}
 		GC originalGC = new GC(control);
 		originalGC.setFont(control.getFont());
 		GC gc = createGraphicsContext(originalGC, control, true);
@@ -137,4 +237,20 @@ public final class Drawing {
 			originalGC.dispose();
 		}
 	}
-}
\ No newline at end of file
+
+	private static <T> T measureWithSharedContext(Control control, Function<GC, T> operation) {
+		Display display = control.getDisplay();
+		return display.applyToMeasureGC(() -> createMeasureGC(display), gc -> {
+			// the previous operation may have changed more than the font
+			((SkijaGC) gc.innerGC).resetState();
+			gc.setFont(control.getFont());
+			return operation.apply(gc);
+		});
+	}
+
+	private static GC createMeasureGC(Display display) {
+		GC gc = new GC();
+		gc.innerGC = SkijaGC.createMeasureInstance(display);
+		return gc;
+	}
+}
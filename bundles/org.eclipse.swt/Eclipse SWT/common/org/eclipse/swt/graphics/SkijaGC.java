@@ -14,6 +14,7 @@
 package org.eclipse.swt.graphics;
 
 import java.io.*;
+import java.nio.*;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.function.*;
@@ -30,6 +31,9 @@ import io.github.humbleui.types.*;
 public class SkijaGC extends GCHandle {
 
 	private static final Map<FontData, Font> FONT_CACHE = new ConcurrentHashMap<>();
+	private static final SkijaTextCache TEXT_CACHE = new SkijaTextCache(4096, 256 * 1024);
+	private static final SkijaImageCache IMAGE_CACHE = new SkijaImageCache(1024, 64L * 1024 * 1024);
+	private static final SkijaTextAtlas TEXT_ATLAS = SkijaTextAtlas.create();
 
 	static final float[] LINE_DOT_PATTERN = new float[]{3, 3};
 	static final float[] LINE_DASH_PATTERN = new float[]{18, 6};
@@ -48,7 +52,39 @@ public class SkijaGC extends GCHandle {
 		return new SkijaGC(gc, control, true);
 	}
 
+	/**
+	 * Creates an instance that is only used for measuring text and font metrics on
+	 * the given device. It is not backed by a native GC and can be reused for
+	 * arbitrary many measurements.
+	 */
+	public static SkijaGC createMeasureInstance(Device device) {
+		return new SkijaGC(device);
+	}
+
+	/**
+	 * Creates an instance drawing on a surface retained for the given control
+	 * across paints. Only the given damaged area (in points, relative to the
+	 * control) is initialized, rendered and transferred on {@link #commit()}.
+	 */
+	public static SkijaGC createPooledInstance(NativeGC gc, Control control, Rectangle damage) {
+		return new SkijaGC(gc, control, damage);
+	}
+
+	/**
+	 * Creates an instance drawing the given control on the surface of the given
+	 * GC, at the bounds of the control. The control is a lightweight child of the
+	 * control the given GC draws, which transfers the surface once for all its
+	 * children. Only the part of the control within the clipping of the given GC
+	 * is rendered, and {@link #commit()} transfers nothing.
+	 */
+	public static SkijaGC createHostedInstance(SkijaGC host, Control control) {
+		return new SkijaGC(host, control);
+	}
+
 	private final Surface surface;
+	private final Control pooledControl;
+	private final Rectangle damage;
+	private boolean released;
 
 	private NativeGC innerGC;
 
@@ -56,6 +92,7 @@ public class SkijaGC extends GCHandle {
 	private Color foreground;
 	private org.eclipse.swt.graphics.Font swtFont;
 	private Font skiaFont;
+	private FontData fontData;
 	private float baseSymbolHeight = 0; // Height of symbol with "usual" height, like "T", to be vertically centered
 	private int lineWidth;
 	private int lineStyle;
@@ -81,11 +118,21 @@ public class SkijaGC extends GCHandle {
 	private boolean isClipSet;
 	private Rectangle currentClipBounds;
 
+	/** records the drawing operations instead of the surface while not <code>null</code> */
+	private PictureRecorder recorder;
+
+	/** the transformation from the drawing area to the surface, not identity for hosted instances */
+	private Matrix33 origin = Matrix33.IDENTITY;
+	/** the save count to restore the surface's canvas to on dispose, -1 if the surface is not hosted */
+	private int hostSaveCount = -1;
+
 	private SkijaGC(NativeGC gc, Drawable drawable, boolean onlyForMeasuring) {
 		innerGC = gc;
 		device = gc.device;
 		originalDrawingSize = extractSize(drawable);
 		currentClipBounds = new Rectangle(0, 0, originalDrawingSize.x, originalDrawingSize.y);
+		damage = currentClipBounds;
+		pooledControl = null;
 		if (onlyForMeasuring) {
 			surface = createMeasureSurface();
 		} else {
@@ -95,6 +142,55 @@ public class SkijaGC extends GCHandle {
 		initFont();
 	}
 
+	private SkijaGC(Device device) {
+		this.device = device;
+		originalDrawingSize = extractSize(device);
+		currentClipBounds = new Rectangle(0, 0, originalDrawingSize.x, originalDrawingSize.y);
+		damage = currentClipBounds;
+		pooledControl = null;
+		surface = createMeasureSurface();
+		initFont();
+	}
+
+	private SkijaGC(NativeGC gc, Control control, Rectangle damage) {
+		innerGC = gc;
+		device = gc.device;
+		originalDrawingSize = extractSize(control);
+		this.damage = damage.intersection(new Rectangle(0, 0, originalDrawingSize.x, originalDrawingSize.y));
+		// the surface is clipped to the damage, which is the clipping to report
+		currentClipBounds = new Rectangle(this.damage.x, this.damage.y, this.damage.width, this.damage.height);
+		pooledControl = control;
+		Point drawingSizeInPixels = getDrawingSizeInPixels();
+		surface = SkijaSurfacePool.acquire(control, drawingSizeInPixels.x, drawingSizeInPixels.y,
+				DPIUtil.getDeviceZoom(), this::createDrawingSurface);
+		Canvas canvas = surface.getCanvas();
+		canvas.save();
+		canvas.clipRect(createScaledRectangle(this.damage));
+		initializeWithParentBackground();
+		initFont();
+	}
+
+	private SkijaGC(SkijaGC host, Control control) {
+		innerGC = host.innerGC;
+		device = host.device;
+		originalDrawingSize = extractSize(control);
+		Rectangle bounds = control.getBounds();
+		Rectangle hostClipping = host.currentClipBounds;
+		damage = new Rectangle(hostClipping.x - bounds.x, hostClipping.y - bounds.y, hostClipping.width,
+				hostClipping.height).intersection(new Rectangle(0, 0, originalDrawingSize.x, originalDrawingSize.y));
+		currentClipBounds = new Rectangle(damage.x, damage.y, damage.width, damage.height);
+		pooledControl = null;
+		surface = host.surface;
+		origin = host.origin
+				.makeConcat(Matrix33.makeTranslate(DPIUtil.autoScaleUp(bounds.x), DPIUtil.autoScaleUp(bounds.y)));
+		// the host has already drawn the background of the damaged area
+		Canvas canvas = surface.getCanvas();
+		hostSaveCount = canvas.save();
+		canvas.setMatrix(origin);
+		canvas.clipRect(createScaledRectangle(damage));
+		initFont();
+	}
+
 	private static Point extractSize(Drawable drawable) {
 		Point size = new Point(0, 0);
 		if (drawable instanceof Image image) {
@@ -123,11 +219,15 @@ public class SkijaGC extends GCHandle {
 	}
 
 	private Surface createDrawingSurface() {
-		Point drawingSizeInPixels = DPIUtil.autoScaleUp(originalDrawingSize);
+		Point drawingSizeInPixels = getDrawingSizeInPixels();
+		return createSurface(drawingSizeInPixels.x, drawingSizeInPixels.y);
+	}
+
+	private Point getDrawingSizeInPixels() {
 		if (isEmpty(originalDrawingSize)) {
-			drawingSizeInPixels = new Point(1, 1);
+			return new Point(1, 1);
 		}
-		return createSurface(drawingSizeInPixels.x, drawingSizeInPixels.y);
+		return DPIUtil.autoScaleUp(originalDrawingSize);
 	}
 
 	private Surface createMeasureSurface() {
@@ -139,29 +239,48 @@ public class SkijaGC extends GCHandle {
 	}
 
 	private void initializeWithParentBackground() {
-		if (originalDrawingSize.x > 0 && originalDrawingSize.y > 0) {
-			Image image = new Image(innerGC.device, originalDrawingSize.x, originalDrawingSize.y);
-			innerGC.copyArea(image, 0, 0);
-			drawImage(image, 0, 0);
+		if (!damage.isEmpty()) {
+			Image image = new Image(innerGC.device, damage.width, damage.height);
+			innerGC.copyArea(image, damage.x, damage.y);
+			// a temporary image, not worth caching
+			drawImage(image, damage.x, damage.y, false);
 			image.dispose();
 		}
 	}
 
 	private void initFont() {
-		org.eclipse.swt.graphics.Font originalFont = innerGC.getFont();
+		org.eclipse.swt.graphics.Font originalFont = innerGC != null ? innerGC.getFont() : null;
 		if (originalFont == null || originalFont.isDisposed()) {
-			originalFont = innerGC.getDevice().getSystemFont();
+			originalFont = device.getSystemFont();
 		}
 		setFont(originalFont);
 	}
 
 	@Override
 	public void dispose() {
+		if (recorder != null) {
+			// a drawing operation failed during a recording
+			recorder.close();
+			recorder = null;
+			hasAlphaLayer = false;
+		}
 		if (hasAlphaLayer) {
 			surface.getCanvas().restore();
 			hasAlphaLayer = false;
 		}
-		surface.close();
+		if (pooledControl != null) {
+			Canvas canvas = surface.getCanvas();
+			canvas.restoreToCount(1);
+			canvas.resetMatrix();
+			released = true;
+			SkijaSurfacePool.release(pooledControl, surface, DPIUtil.getDeviceZoom());
+		} else if (hostSaveCount >= 0) {
+			// the surface belongs to the host
+			surface.getCanvas().restoreToCount(hostSaveCount);
+			released = true;
+		} else {
+			surface.close();
+		}
 		innerGC = null;
 		skiaFont = null;
 		swtFont = null;
@@ -373,20 +492,92 @@ public class SkijaGC extends GCHandle {
 			hasAlphaLayer = false;
 		}
 
-		if (isEmpty(originalDrawingSize)) {
+		if (hostSaveCount >= 0) {
+			// the host transfers its surface once for all its children
 			return;
 		}
-		io.github.humbleui.skija.Image im = surface.makeImageSnapshot();
-		byte[] imageBytes = EncoderPNG.encode(im).getBytes();
-
-		Image transferImage = new Image(innerGC.getDevice(), new ByteArrayInputStream(imageBytes));
+		if (isEmpty(originalDrawingSize) || damage.isEmpty()) {
+			return;
+		}
+		Rectangle damageInPixels = DPIUtil.autoScaleUp(damage)
+				.intersection(new Rectangle(0, 0, surface.getWidth(), surface.getHeight()));
+		if (damageInPixels.isEmpty()) {
+			return;
+		}
+		Image transferImage = new Image(innerGC.getDevice(), convertSurfaceToImageData(surface, damageInPixels));
 
-		Point drawingSizeInPixels = DPIUtil.autoScaleUp(originalDrawingSize);
-		innerGC.drawImage(transferImage, 0, 0, drawingSizeInPixels.x, drawingSizeInPixels.y, //
-				0, 0, originalDrawingSize.x, originalDrawingSize.y);
+		innerGC.drawImage(transferImage, 0, 0, damageInPixels.width, damageInPixels.height, //
+				damage.x, damage.y, damage.width, damage.height);
 		transferImage.dispose();
 	}
 
+	/**
+	 * Copies the raw pixels of the given area (in pixels) of a raster surface into
+	 * an {@link ImageData} without any intermediate encoding. The pixel bytes are
+	 * taken over in the surface's native N32 order and described by matching
+	 * palette masks, so the platform {@link Image} can consume them with a plain
+	 * blit. An alpha channel is only extracted (and un-premultiplied) if the
+	 * surface is not opaque.
+	 */
+	static ImageData convertSurfaceToImageData(Surface surface, Rectangle area) {
+		try (Pixmap pixmap = new Pixmap()) {
+			if (!surface.peekPixels(pixmap)) {
+				return convertToSkijaImageData(
+						surface.makeImageSnapshot(IRect.makeXYWH(area.x, area.y, area.width, area.height)));
+			}
+			ImageInfo info = pixmap.getInfo();
+			int width = area.width;
+			int height = area.height;
+			int sourceRowBytes = pixmap.getRowBytes();
+			int rowBytes = width * 4;
+			int[] pixelOrder = getPixelOrder(info.getColorType());
+
+			byte[] data = new byte[rowBytes * height];
+			ByteBuffer buffer = pixmap.getBuffer();
+			if (rowBytes == sourceRowBytes && area.x == 0 && area.y == 0) {
+				buffer.get(data);
+			} else {
+				for (int y = 0; y < height; y++) {
+					buffer.get((area.y + y) * sourceRowBytes + area.x * 4, data, y * rowBytes, rowBytes);
+				}
+			}
+
+			PaletteData palette = createMaskedPalette(pixelOrder);
+			ImageData imageData = new ImageData(width, height, 32, palette, 1, data);
+
+			if (!pixmap.computeIsOpaque()) {
+				imageData.alphaData = extractAlphaUnpremultiplied(data, width, height, rowBytes, pixelOrder);
+			}
+			return imageData;
+		}
+	}
+
+	private static PaletteData createMaskedPalette(int[] pixelOrder) {
+		// ImageData reads 32 bit pixels MSB first, so byte i maps to mask 0xFF << (24 - 8 * i)
+		return new PaletteData(0xFF << (24 - 8 * pixelOrder[0]), 0xFF << (24 - 8 * pixelOrder[1]),
+				0xFF << (24 - 8 * pixelOrder[2]));
+	}
+
+	private static byte[] extractAlphaUnpremultiplied(byte[] data, int width, int height, int rowBytes,
+			int[] pixelOrder) {
+		byte[] alphaData = new byte[width * height];
+		int r = pixelOrder[0], g = pixelOrder[1], b = pixelOrder[2], a = pixelOrder[3];
+		for (int y = 0; y < height; y++) {
+			int offset = y * rowBytes;
+			int alphaOffset = y * width;
+			for (int x = 0; x < width; x++, offset += 4) {
+				int alpha = data[offset + a] & 0xFF;
+				alphaData[alphaOffset + x] = (byte) alpha;
+				if (alpha != 0 && alpha != 255) {
+					data[offset + r] = (byte) Math.min(255, ((data[offset + r] & 0xFF) * 255) / alpha);
+					data[offset + g] = (byte) Math.min(255, ((data[offset + g] & 0xFF) * 255) / alpha);
+					data[offset + b] = (byte) Math.min(255, ((data[offset + b] & 0xFF) * 255) / alpha);
+				}
+			}
+		}
+		return alphaData;
+	}
+
 	@Override
 	public Point textExtent(String string) {
 		return textExtent(string, SWT.NONE);
@@ -409,10 +600,116 @@ public class SkijaGC extends GCHandle {
 		fillRectangle(rect.x, rect.y, rect.width, rect.height);
 	}
 
+	/**
+	 * Returns the canvas this GC draws on, for drawing operations which are
+	 * implemented directly with Skija, like painting a text layout. While a
+	 * recording is active, this is the canvas of the recording.
+	 */
+	Canvas getCanvas() {
+		return recorder != null ? recorder.getRecordingCanvas() : surface.getCanvas();
+	}
+
+	/**
+	 * Restores the state of a new instance except for the font, i.e. the
+	 * transformation, clipping, alpha, colors, patterns and line attributes, so
+	 * that a measuring instance can be shared by unrelated operations.
+	 */
+	void resetState() {
+		Canvas canvas = getCanvas();
+		canvas.restoreToCount(1);
+		hasAlphaLayer = false;
+		isClipSet = false;
+		currentTransform = Matrix33.IDENTITY;
+		canvas.setMatrix(toCanvasMatrix(currentTransform));
+		currentClipBounds = new Rectangle(damage.x, damage.y, damage.width, damage.height);
+		alpha = 255;
+		background = null;
+		foreground = null;
+		foregroundPattern = null;
+		backgroundPattern = null;
+		lineWidth = 0;
+		lineStyle = 0;
+		lineCap = SWT.CAP_FLAT;
+		lineJoin = SWT.JOIN_MITER;
+		lineDashes = null;
+		dashOffset = 0;
+		miterLimit = 10;
+		fillRule = SWT.FILL_EVEN_ODD;
+		antialias = 0;
+		interpolationMode = SamplingMode.DEFAULT;
+	}
+
+	/**
+	 * Records all following drawing operations into the given display list instead
+	 * of drawing them, until {@link #finishRecording(DisplayList)} is called. The
+	 * whole drawing area is recorded without clipping, so that the recording can be
+	 * replayed for any damaged area later.
+	 */
+	void beginRecording() {
+		if (recorder != null || isClipSet || hasAlphaLayer) {
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+		}
+		Point size = getDrawingSizeInPixels();
+		recorder = new PictureRecorder();
+		recorder.beginRecording(Rect.makeWH(size.x, size.y));
+		currentClipBounds = new Rectangle(0, 0, originalDrawingSize.x, originalDrawingSize.y);
+	}
+
+	/**
+	 * Ends the recording started with {@link #beginRecording()} and stores it in
+	 * the given display list. The state of the recording canvas is discarded,
+	 * following drawing operations draw on the surface again.
+	 */
+	void finishRecording(DisplayList displayList) {
+		Point size = getDrawingSizeInPixels();
+		try {
+			displayList.set(recorder.finishRecordingAsPicture(), size.x, size.y, DPIUtil.getDeviceZoom());
+		} finally {
+			recorder.close();
+			recorder = null;
+			isClipSet = false;
+			hasAlphaLayer = false;
+			alpha = 255;
+			currentTransform = Matrix33.IDENTITY;
+			currentClipBounds = new Rectangle(damage.x, damage.y, damage.width, damage.height);
+		}
+	}
+
+	/**
+	 * Draws the recording of the given display list, which has to match the size
+	 * of this GC's drawing area.
+	 */
+	void drawDisplayList(DisplayList displayList) {
+		surface.getCanvas().drawPicture(displayList.getPicture());
+	}
+
+	/**
+	 * Returns whether the given display list was recorded for the current size and
+	 * zoom of this GC's drawing area and can therefore be replayed.
+	 */
+	boolean canReplay(DisplayList displayList) {
+		Point size = getDrawingSizeInPixels();
+		return displayList.matches(size.x, size.y, DPIUtil.getDeviceZoom());
+	}
+
 	@Override
 	public void drawImage(Image image, int x, int y) {
-		Canvas canvas = surface.getCanvas();
-		canvas.drawImage(convertSWTImageToSkijaImage(image), DPIUtil.autoScaleUp(x), DPIUtil.autoScaleUp(y));
+		drawImage(image, x, y, true);
+	}
+
+	private void drawImage(Image image, int x, int y, boolean cache) {
+		Canvas canvas = getCanvas();
+		if (cache) {
+			withSkijaImage(image, skijaImage -> {
+				canvas.drawImage(skijaImage, DPIUtil.autoScaleUp(x), DPIUtil.autoScaleUp(y));
+				return null;
+			});
+		} else {
+			try (io.github.humbleui.skija.Image skijaImage = convertSWTImageToSkijaImage(
+					image.getImageData(DPIUtil.getDeviceZoom()))) {
+				canvas.drawImage(skijaImage, DPIUtil.autoScaleUp(x), DPIUtil.autoScaleUp(y));
+			}
+		}
 	}
 
 	@Override
@@ -422,10 +719,12 @@ public class SkijaGC extends GCHandle {
 			System.out.println("SkijaGC.drawImage(..): Error draw image that is null!!");
 			return;
 		}
-		Canvas canvas = surface.getCanvas();
-		canvas.drawImageRect(convertSWTImageToSkijaImage(image),
-				createScaledRectangle(srcX, srcY, srcWidth, srcHeight),
-				createScaledRectangle(destX, destY, destWidth, destHeight),interpolationMode,null,true);
+		Canvas canvas = getCanvas();
+		withSkijaImage(image, skijaImage -> {
+			canvas.drawImageRect(skijaImage, createScaledRectangle(srcX, srcY, srcWidth, srcHeight),
+					createScaledRectangle(destX, destY, destWidth, destHeight), interpolationMode, null, true);
+			return null;
+		});
 	}
 
 	private static ColorType getColorType(ImageData imageData) {
@@ -500,9 +799,20 @@ public class SkijaGC extends GCHandle {
 //				+ "__" + Integer.toBinaryString(palette.greenMask) + "__" + Integer.toBinaryString(palette.blueMask));
 	}
 
-	private static io.github.humbleui.skija.Image convertSWTImageToSkijaImage(Image swtImage) {
-		ImageData imageData = swtImage.getImageData(DPIUtil.getDeviceZoom());
-		return convertSWTImageToSkijaImage(imageData);
+	/**
+	 * Applies the given operation to the cached Skija image of the given SWT image.
+	 */
+	private static <T> T withSkijaImage(Image swtImage, Function<io.github.humbleui.skija.Image, T> operation) {
+		int zoom = DPIUtil.getDeviceZoom();
+		return IMAGE_CACHE.withImage(swtImage, zoom, image -> convertSWTImageToSkijaImage(image.getImageData(zoom)),
+				operation);
+	}
+
+	/**
+	 * Drops the cached Skija images of the given SWT image, which is disposed.
+	 */
+	static void imageDisposed(Image image) {
+		IMAGE_CACHE.remove(image);
 	}
 
 	static io.github.humbleui.skija.Image convertSWTImageToSkijaImage(ImageData imageData) {
@@ -527,106 +837,15 @@ public class SkijaGC extends GCHandle {
 	}
 
 	public static byte[] convertToRGBA(ImageData imageData) {
-		ImageData transparencyData = imageData.getTransparencyMask();
-		byte[] convertedData = new byte[imageData.width * imageData.height * 4];
-		byte defaultAlpha = (byte)255;
-
-		var source = imageData.data;
-		int bytesPerPixel = source.length / (imageData.width * imageData.height);
-
-		var alphaData = imageData.alphaData;
-		if (imageData.alpha != -1) {
-			defaultAlpha = (byte) imageData.alpha;
-		}
-
-		boolean byteSourceContainsAlpha = bytesPerPixel > 3;
-
-		RGB[] cols = imageData.palette.colors;
-
-		for (int y = 0; y < imageData.height; y++) {
-			for (int x = 0; x < imageData.width; x++) {
-				int pixel = imageData.getPixel(x, y);
-				int arrayPos = (y * imageData.width + x);
-
-				byte r = (byte) ((pixel & imageData.palette.redMask) >>> -imageData.palette.redShift);
-				byte g = (byte) ((pixel & imageData.palette.greenMask) >>> -imageData.palette.greenShift);
-				byte b = (byte) ((pixel & imageData.palette.blueMask) >>> -imageData.palette.blueShift);
-
-				if (cols != null) {
-					RGB rgb = cols[pixel];
-
-					r = (byte) rgb.red;
-					b = (byte) rgb.blue;
-					g = (byte) rgb.green;
-				}
-
-				byte a = (byte)255;
-				if (transparencyData != null) {
-					if (transparencyData.getPixel(x, y) != 1) {
-						a = (byte) 0;
-					}
-				}
-
-				var index = arrayPos * 4;
-
-				convertedData[index + 0] = (byte) r;
-				convertedData[index + 1] = (byte) g;
-				convertedData[index + 2] = (byte) b;
-				convertedData[index + 3] = (byte) a;
-
-//				if (alphaData != null && alphaData.length > arrayPos) {
-//					convertedData[index + 3] = alphaData[arrayPos];
-//				} else if (imageData.alpha != -1) {
-//					convertedData[index + 3] = defaultAlpha;
-//				} else if(!byteSourceContainsAlpha) {
-//					convertedData[index + 3] = defaultAlpha;
-//				}
-			}
-		}
-
-		return convertedData;
+		return SkijaPixelConversion.toRGBA(imageData);
 	}
 
 	static ImageData convertToSkijaImageData(io.github.humbleui.skija.Image image) {
-		Bitmap bm = Bitmap.makeFromImage(  image);
-		var colType = bm.getColorType();
-		byte[] alphas = new byte[bm.getHeight() * bm.getWidth()];
-		var source = bm.readPixels();
-		byte[] convertedData = new byte[bm.getHeight() * bm.getWidth() * 3];
-
-		var colorOrder = getPixelOrder(colType);
-
 		// no alphaType handling support. UNPREMUL and OPAQUE should always work.
-//		ColorAlphaType alphaType = bm.getAlphaType();
-
-		for (int y = 0; y < bm.getHeight(); y++) {
-			for (int x = 0; x < bm.getWidth(); x++) {
-				byte alpha = convertAlphaTo255Range(bm.getAlphaf(x, y));
-
-				int index = (x + y * bm.getWidth()) * 4;
-
-				byte red = (byte) source[index + colorOrder[0]];
-				byte green = (byte) source[index + colorOrder[1]];
-				byte blue = (byte) source[index + colorOrder[2]];
-				alpha = (byte) source[index + colorOrder[3]];
-
-				alphas[x + y * bm.getWidth()] = alpha;
-
-				int target = (x + y * bm.getWidth()) * 3;
-
-				convertedData[target + 0] = (byte) (red);
-				convertedData[target + 1] = (byte) (green);
-				convertedData[target + 2] = (byte) (blue);
-			}
+		try (Bitmap bm = Bitmap.makeFromImage(image)) {
+			return SkijaPixelConversion.fromPixels32(bm.readPixels(), bm.getWidth(), bm.getHeight(),
+					(int) bm.getRowBytes(), getPixelOrder(bm.getColorType()));
 		}
-
-		ImageData d = new ImageData(bm.getWidth(), bm.getHeight(), 24,
-				new PaletteData(0xFF0000, 0x00FF00, 0x0000FF));
-		d.data = convertedData;
-		d.alphaData = alphas;
-		d.bytesPerLine = d.width * 3;
-
-		return d;
 	}
 
 	public static void writeFile(String str, io.github.humbleui.skija.Image image) {
@@ -702,7 +921,7 @@ public class SkijaGC extends GCHandle {
 	@Override
 	public void drawLine(int x1, int y1, int x2, int y2) {
 		float scaledOffsetValue = getScaledOffsetValue();
-		performDrawLine(paint -> surface.getCanvas().drawLine(DPIUtil.autoScaleUp(x1) + scaledOffsetValue,
+		performDrawLine(paint -> getCanvas().drawLine(DPIUtil.autoScaleUp(x1) + scaledOffsetValue,
 				DPIUtil.autoScaleUp(y1) + scaledOffsetValue, DPIUtil.autoScaleUp(x2) + scaledOffsetValue,
 				DPIUtil.autoScaleUp(y2) + scaledOffsetValue, paint));
 	}
@@ -730,7 +949,7 @@ public class SkijaGC extends GCHandle {
 		if (text.contains("\t")) {
 			text = expandTabs(text, x);
 		}
-		TextBlob textBlob = buildTextBlob(text);
+		TextBlob textBlob = TEXT_CACHE.getTextBlob(fontData, DPIUtil.getNativeDeviceZoom(), text, this::buildTextBlob);
 		if (textBlob == null) {
 			return;
 		}
@@ -738,11 +957,34 @@ public class SkijaGC extends GCHandle {
 			int textWidth = Math.round(textBlob.getBounds().getWidth());
 			int fontHeight = Math.round(skiaFont.getMetrics().getHeight());
 			performDrawFilled(
-					paint -> surface.getCanvas().drawRect(new Rect(DPIUtil.autoScaleUp(x), DPIUtil.autoScaleUp(y),
+					paint -> getCanvas().drawRect(new Rect(DPIUtil.autoScaleUp(x), DPIUtil.autoScaleUp(y),
 							DPIUtil.autoScaleUp(x) + textWidth, DPIUtil.autoScaleUp(y) + fontHeight), paint));
 		}
 		Point point = calculateSymbolCenterPoint(x, y);
-		performDrawText(paint -> surface.getCanvas().drawTextBlob(textBlob, point.x, point.y, paint));
+		if (canUseTextAtlas()) {
+			SkijaTextAtlas.Run run = TEXT_ATLAS.getRun(fontData, DPIUtil.getNativeDeviceZoom(),
+					convertSWTColorToSkijaColor(getForeground()), text, textBlob);
+			if (run != null) {
+				performDraw(paint -> getCanvas().drawImage(run.image(), point.x + run.offsetX(),
+						point.y + run.offsetY(), paint));
+				return;
+			}
+		}
+		performDrawText(paint -> getCanvas().drawTextBlob(textBlob, point.x, point.y, paint));
+	}
+
+	/**
+	 * Returns whether text can be blitted from the text atlas, i.e. it is drawn
+	 * with grayscale edging in a plain color and not scaled, rotated or moved by a
+	 * fraction of a pixel.
+	 */
+	private boolean canUseTextAtlas() {
+		if (!TEXT_ATLAS.isEnabled() || skiaFont.getEdging() != FontEdging.ANTI_ALIAS
+				|| (foregroundPattern != null && !foregroundPattern.isDisposed())) {
+			return false;
+		}
+		float[] m = currentTransform.getMat();
+		return m[0] == 1 && m[1] == 0 && m[3] == 0 && m[4] == 1 && m[2] == Math.rint(m[2]) && m[5] == Math.rint(m[5]);
 	}
 
     /**
@@ -822,7 +1064,7 @@ public class SkijaGC extends GCHandle {
 
 	@Override
 	public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
-		performDrawLine(paint -> surface.getCanvas().drawArc((float) DPIUtil.autoScaleUp(x),
+		performDrawLine(paint -> getCanvas().drawArc((float) DPIUtil.autoScaleUp(x),
 				(float) DPIUtil.autoScaleUp(y), (float) DPIUtil.autoScaleUp(x + width),
 				(float) DPIUtil.autoScaleUp(y + height), -startAngle, (float) -arcAngle, false, paint));
 	}
@@ -831,7 +1073,7 @@ public class SkijaGC extends GCHandle {
 	public void drawFocus(int x, int y, int width, int height) {
 		performDrawLine(paint -> {
 			paint.setPathEffect(PathEffect.makeDash(new float[] { 1.5f, 1.5f }, 0.0f));
-			surface.getCanvas().drawRect(offsetRectangle(createScaledRectangle(x, y, width, height)), paint);
+			getCanvas().drawRect(offsetRectangle(createScaledRectangle(x, y, width, height)), paint);
 		});
 	}
 
@@ -858,7 +1100,7 @@ public class SkijaGC extends GCHandle {
 	@Override
 	public void drawOval(int x, int y, int width, int height) {
 		performDrawLine(
-				paint -> surface.getCanvas().drawOval(offsetRectangle(createScaledRectangle(x, y, width, height)),
+				paint -> getCanvas().drawOval(offsetRectangle(createScaledRectangle(x, y, width, height)),
 						paint));
 	}
 
@@ -873,13 +1115,13 @@ public class SkijaGC extends GCHandle {
 	public void drawPath(Path path) {
 		io.github.humbleui.skija.Path skijaPath = convertSWTPathToSkijaPath(path);
 		if (skijaPath == null) return;
-		performDrawLine(paint -> surface.getCanvas().drawPath(skijaPath, paint));
+		performDrawLine(paint -> getCanvas().drawPath(skijaPath, paint));
 		skijaPath.close();
 	}
 
 	@Override
 	public void drawPoint(int x, int y) {
-		performDrawPoint(paint -> surface.getCanvas().drawRect(createScaledRectangle(x, y, 1, 1), paint));
+		performDrawPoint(paint -> getCanvas().drawRect(createScaledRectangle(x, y, 1, 1), paint));
 	}
 
 	@Override
@@ -909,7 +1151,7 @@ public class SkijaGC extends GCHandle {
 		}
 		path.closePath();
 		// Draw the polygon outline
-		performDrawLine(paint -> surface.getCanvas().drawPath(path, paint));	
+		performDrawLine(paint -> getCanvas().drawPath(path, paint));	
 		path.close();
 		// Restore x-coordinates if mirrored
 		if (adjustX) {
@@ -929,7 +1171,7 @@ public class SkijaGC extends GCHandle {
 	@Override
 	public void drawRectangle(int x, int y, int width, int height) {
 		performDrawLine(
-				paint -> surface.getCanvas()
+				paint -> getCanvas()
 						.drawRect(offsetRectangle(createScaledRectangle(x, y, width, height)), paint));
 	}
 
@@ -940,7 +1182,7 @@ public class SkijaGC extends GCHandle {
 
 	@Override
 	public void drawRoundRectangle(int x, int y, int width, int height, int arcWidth, int arcHeight) {
-		performDrawLine(paint -> surface.getCanvas().drawRRect(
+		performDrawLine(paint -> getCanvas().drawRRect(
 				offsetRectangle(createScaledRoundRectangle(x, y, width, height, arcWidth / 2.0f, arcHeight / 2.0f)),
 				paint));
 	}
@@ -962,13 +1204,13 @@ public class SkijaGC extends GCHandle {
 		}
 		Point point = calculateSymbolCenterPoint(x, y);
 		performDrawText(paint -> {
-			surface.getCanvas().drawString(string, point.x, point.y, skiaFont, paint);
+			getCanvas().drawString(string, point.x, point.y, skiaFont, paint);
 		});
 	}
 
 	@Override
 	public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
-		performDrawFilled(paint -> surface.getCanvas().drawArc((float) DPIUtil.autoScaleUp(x),
+		performDrawFilled(paint -> getCanvas().drawArc((float) DPIUtil.autoScaleUp(x),
 				(float) DPIUtil.autoScaleUp(y), (float) DPIUtil.autoScaleUp(x + width),
 				(float) DPIUtil.autoScaleUp(y + height), (float) -startAngle, (float) -arcAngle, false, paint));
 	}
@@ -995,7 +1237,7 @@ public class SkijaGC extends GCHandle {
 		int fromColor = convertSWTColorToSkijaColor(getForeground());
 		int toColor = convertSWTColorToSkijaColor(getBackground());
 		if (fromColor == toColor) {
-			performDrawFilled(paint -> surface.getCanvas().drawRect(rect, paint));
+			performDrawFilled(paint -> getCanvas().drawRect(rect, paint));
 			return;
 		}
 		if (swapColors) {
@@ -1003,7 +1245,7 @@ public class SkijaGC extends GCHandle {
 			fromColor = convertSWTColorToSkijaColor(getBackground());
 			toColor = tempColor;
 		}
-		performDrawGradientFilled(paint -> surface.getCanvas().drawRect(rect, paint), x, y, x2, y2, fromColor, toColor);
+		performDrawGradientFilled(paint -> getCanvas().drawRect(rect, paint), x, y, x2, y2, fromColor, toColor);
 	}
 
 	private void performDrawGradientFilled(Consumer<Paint> operations, int x, int y, int x2, int y2,
@@ -1022,7 +1264,7 @@ public class SkijaGC extends GCHandle {
 	@Override
 	public void fillOval(int x, int y, int width, int height) {
 		performDrawFilled(
-				paint -> surface.getCanvas().drawOval(createScaledRectangle(x, y, width, height), paint));
+				paint -> getCanvas().drawOval(createScaledRectangle(x, y, width, height), paint));
 	}
 
 	/**
@@ -1039,7 +1281,7 @@ public class SkijaGC extends GCHandle {
 			return;
 		}
 		skijaPath.setFillMode(fillRule == SWT.FILL_EVEN_ODD ? PathFillMode.EVEN_ODD : PathFillMode.WINDING);
-		performDrawFilled(paint -> surface.getCanvas().drawPath(skijaPath, paint));
+		performDrawFilled(paint -> getCanvas().drawPath(skijaPath, paint));
 		skijaPath.close();
 	}
 
@@ -1061,24 +1303,28 @@ public class SkijaGC extends GCHandle {
 		path.closePath();
 		path.setFillMode(fillRule == SWT.FILL_EVEN_ODD ? PathFillMode.EVEN_ODD : PathFillMode.WINDING);
 		// Fill the polygon
-		performDrawFilled(paint -> surface.getCanvas().drawPath(path, paint));		
+		performDrawFilled(paint -> getCanvas().drawPath(path, paint));		
 		path.close();
 	}
 
 	@Override
 	public void fillRectangle(int x, int y, int width, int height) {
 		performDrawFilled(
-				paint -> surface.getCanvas().drawRect(createScaledRectangle(x, y, width, height), paint));
+				paint -> getCanvas().drawRect(createScaledRectangle(x, y, width, height), paint));
 	}
 
 	@Override
 	public void fillRoundRectangle(int x, int y, int width, int height, int arcWidth, int arcHeight) {
-		performDrawFilled(paint -> surface.getCanvas()
+		performDrawFilled(paint -> getCanvas()
 				.drawRRect(createScaledRoundRectangle(x, y, width, height, arcWidth / 2.0f, arcHeight / 2.0f), paint));
 	}
 
 	@Override
 	public Point textExtent(String string, int flags) {
+		return TEXT_CACHE.getTextExtent(fontData, DPIUtil.getNativeDeviceZoom(), string, this::measureTextExtent);
+	}
+
+	private Point measureTextExtent(String string) {
 		float height = skiaFont.getMetrics().getHeight();
 		float width = skiaFont.measureTextWidth(replaceMnemonics(string));
 		return new Point(DPIUtil.autoScaleDownToInt(width), DPIUtil.autoScaleDownToInt(height));
@@ -1091,11 +1337,16 @@ public class SkijaGC extends GCHandle {
 				SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 			}
 		} else {
-			font = innerGC.getFont();
+			font = innerGC != null ? innerGC.getFont() : device.getSystemFont();
+		}
+		if (innerGC != null) {
+			innerGC.setFont(font);
+		}
+		if (font == swtFont && skiaFont != null) {
+			return;
 		}
 		this.swtFont = font;
-		innerGC.setFont(font);
-
+		this.fontData = font.getFontData()[0];
 		this.skiaFont = convertToSkijaFont(font);
 		this.baseSymbolHeight = this.skiaFont.measureText("T").getHeight();
 	}
@@ -1157,7 +1408,7 @@ public class SkijaGC extends GCHandle {
 	public void setTransform(Transform transform) {
 		if (transform == null) {
 			currentTransform = Matrix33.IDENTITY;
-			surface.getCanvas().setMatrix(currentTransform);
+			getCanvas().setMatrix(toCanvasMatrix(currentTransform));
 		} else {
 			if (transform.isDisposed()) {
 				SWT.error(SWT.ERROR_INVALID_ARGUMENT);
@@ -1177,10 +1428,15 @@ public class SkijaGC extends GCHandle {
 					0, 0, 1 // perspective elements
 			};
 			currentTransform = new Matrix33(skijaMat);
-			surface.getCanvas().setMatrix(currentTransform);
+			getCanvas().setMatrix(toCanvasMatrix(currentTransform));
 		}
 	}
 
+	private Matrix33 toCanvasMatrix(Matrix33 transform) {
+		// a recording is replayed at the origin of the drawing area
+		return recorder != null ? transform : origin.makeConcat(transform);
+	}
+
 	/**
 	 * Sets the alpha value for drawing operations. The alpha value controls the transparency
 	 * of all subsequent drawing operations.
@@ -1199,14 +1455,14 @@ public class SkijaGC extends GCHandle {
         }
         if (this.alpha != alpha) {
             if (hasAlphaLayer) {
-                surface.getCanvas().restore();
+                getCanvas().restore();
                 hasAlphaLayer = false;
             }
             this.alpha = alpha;
             if (alpha < 255) {
                 Paint layerPaint = new Paint();
                 layerPaint.setAlphaf(alpha / 255.0f);
-                surface.getCanvas().saveLayer(null, layerPaint);
+                getCanvas().saveLayer(null, layerPaint);
                 layerPaint.close();
                 hasAlphaLayer = true;
             }
@@ -1388,15 +1644,15 @@ public class SkijaGC extends GCHandle {
 
 	@Override
 	public void copyArea(Image image, int x, int y) {
-		io.github.humbleui.skija.Image skijaImage = convertSWTImageToSkijaImage(image);
+		Point imageSize = withSkijaImage(image, skijaImage -> new Point(skijaImage.getWidth(), skijaImage.getHeight()));
 		io.github.humbleui.skija.Image copiedArea = surface.makeImageSnapshot(
-				createScaledRectangle(x, y, skijaImage.getWidth(), skijaImage.getHeight()).toIRect());
+				createScaledRectangle(x, y, imageSize.x, imageSize.y).toIRect());
 
 		if (copiedArea != null) {
-			Surface imageSurface = surface.makeSurface(skijaImage.getWidth(), skijaImage.getHeight());
+			Surface imageSurface = surface.makeSurface(imageSize.x, imageSize.y);
 			Canvas imageCanvas = imageSurface.getCanvas();
 			imageCanvas.drawImage(copiedArea, 0, 0);
-			skijaImage = imageSurface.makeImageSnapshot();
+			io.github.humbleui.skija.Image skijaImage = imageSurface.makeImageSnapshot();
 			ImageData imgData = convertToSkijaImageData(skijaImage);
 			Image i = new Image(device, imgData);
 
@@ -1415,7 +1671,7 @@ public class SkijaGC extends GCHandle {
 
 		io.github.humbleui.skija.Image copiedArea = surface
 				.makeImageSnapshot(createScaledRectangle(srcX, srcY, width, height).toIRect());
-		surface.getCanvas().drawImage(copiedArea, DPIUtil.autoScaleUp(destX), DPIUtil.autoScaleUp(destY));
+		getCanvas().drawImage(copiedArea, DPIUtil.autoScaleUp(destX), DPIUtil.autoScaleUp(destY));
 	}
 
 	@Override
@@ -1582,7 +1838,7 @@ public class SkijaGC extends GCHandle {
 	}
 
 	protected void setClipping(Path path) {
-	    Canvas canvas = surface.getCanvas();
+	    Canvas canvas = getCanvas();
 	    if (isClipSet) {
 	        canvas.restore();
 	        isClipSet = false;
@@ -1613,13 +1869,15 @@ public class SkijaGC extends GCHandle {
 
 		// skija seems to work with state layer which will be set on top of each other.
 		// if more layers will be used a more complex handling is necessary
-		Canvas canvas = surface.getCanvas();
+		Canvas canvas = getCanvas();
 		if (isClipSet) {
 			canvas.restore();
 			isClipSet = false;
 		}	
 		if (rect == null) {
-			currentClipBounds = new Rectangle(0, 0, originalDrawingSize.x, originalDrawingSize.y);
+			// resetting the clipping does not extend the drawing beyond the damage
+			currentClipBounds = recorder != null ? new Rectangle(0, 0, originalDrawingSize.x, originalDrawingSize.y)
+					: new Rectangle(damage.x, damage.y, damage.width, damage.height);
 			return;
 		}		
 		currentClipBounds = new Rectangle(rect.x, rect.y, rect.width, rect.height);
@@ -1860,7 +2118,7 @@ public class SkijaGC extends GCHandle {
 
 	@Override
 	public boolean isDisposed() {
-		return surface.isClosed();
+		return released || surface.isClosed();
 	}
 
 	static PaletteData getPaletteData(ColorType colorType) {
@@ -2039,7 +2297,7 @@ public class SkijaGC extends GCHandle {
 		for (int i = 2; i < pts.length; i += 2) {
 			path.lineTo(pts[i], pts[i + 1]);
 		}
-		performDrawLine(paint -> surface.getCanvas().drawPath(path, paint));
+		performDrawLine(paint -> getCanvas().drawPath(path, paint));
 
 		// Draw last point if lineWidth <= 1 (to match SetPixel behavior)
 		if (pointArray.length >= 2 && lineWidth <= 1) {
@@ -2087,10 +2345,8 @@ public class SkijaGC extends GCHandle {
 		if (patternImage == null || patternImage.isDisposed()) {
 			return null;
 		}		
-		io.github.humbleui.skija.Image skijaImage = convertSWTImageToSkijaImage(patternImage);
-		if (skijaImage == null) {
-			return null;
-		}		
-		return skijaImage.makeShader(FilterTileMode.REPEAT, FilterTileMode.REPEAT, null);
+		// the shader keeps its own reference to the pixels
+		return withSkijaImage(patternImage,
+				skijaImage -> skijaImage.makeShader(FilterTileMode.REPEAT, FilterTileMode.REPEAT, null));
 	}
 }
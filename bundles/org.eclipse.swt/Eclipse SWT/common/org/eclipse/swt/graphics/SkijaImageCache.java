@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.lang.ref.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Caches the Skija images converted from SWT {@link Image}s by
+ * {@link SkijaGC}, so that icons and background images are not converted
+ * pixel by pixel on every frame. Entries are keyed by the SWT image and the
+ * zoom. The SWT images are referenced weakly, so the cache does not keep
+ * otherwise unreachable images alive.
+ * <p>
+ * An entry is only valid as long as the SWT image is not disposed and its
+ * modification count did not change since the conversion, e.g. because a GC
+ * drew on it. Disposing an SWT image drops its entries right away. The cache
+ * is bounded by the number of entries and the number of bytes of the converted
+ * pixels and evicts the least recently used entries first.
+ * </p>
+ * <p>
+ * Cached images are only handed out for the duration of an operation, see
+ * {@link #withImage(Image, int, Function, Function)}. A removed or evicted
+ * image is closed as soon as no operation uses it anymore. Skia retains the
+ * pixels that are still referenced natively, e.g. by a recorded picture or a
+ * shader.
+ * </p>
+ */
+final class SkijaImageCache {
+
+	private static final class Key extends WeakReference<Image> {
+		private final int zoom;
+		private final int hash;
+
+		Key(Image image, int zoom, ReferenceQueue<Image> queue) {
+			super(image, queue);
+			this.zoom = zoom;
+			this.hash = System.identityHashCode(image) * 31 + zoom;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key other) || zoom != other.zoom) {
+				return false;
+			}
+			Image image = get();
+			return image != null && image == other.get();
+		}
+	}
+
+	private static final class Entry {
+		final io.github.humbleui.skija.Image image;
+		final int modificationCount;
+		final long bytes;
+		/** the number of operations currently using the image */
+		int users;
+		boolean removed;
+
+		Entry(io.github.humbleui.skija.Image image, int modificationCount, long bytes) {
+			this.image = image;
+			this.modificationCount = modificationCount;
+			this.bytes = bytes;
+		}
+	}
+
+	private final int maxEntries;
+	private final long maxBytes;
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+	private final ReferenceQueue<Image> collected = new ReferenceQueue<>();
+	private long cachedBytes;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	SkijaImageCache(int maxEntries, long maxBytes) {
+		this.maxEntries = maxEntries;
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Applies the given operation to the cached Skija image for the given SWT image
+	 * and zoom, converting it with the given function on a miss. The Skija image
+	 * must not be used after the operation returned.
+	 */
+	<T> T withImage(Image image, int zoom, Function<Image, io.github.humbleui.skija.Image> converter,
+			Function<io.github.humbleui.skija.Image, T> operation) {
+		Entry entry = acquire(image, zoom, converter);
+		try {
+			return operation.apply(entry.image);
+		} finally {
+			release(entry);
+		}
+	}
+
+	private Entry acquire(Image image, int zoom, Function<Image, io.github.humbleui.skija.Image> converter) {
+		Key lookup = new Key(image, zoom, null);
+		synchronized (entries) {
+			expungeCollected();
+			Entry entry = entries.get(lookup);
+			if (entry != null) {
+				if (entry.modificationCount == image.modificationCount && !image.isDisposed()) {
+					hits.incrementAndGet();
+					entry.users++;
+					return entry;
+				}
+				remove(lookup);
+			}
+		}
+
+		misses.incrementAndGet();
+		int modificationCount = image.modificationCount;
+		io.github.humbleui.skija.Image skijaImage = converter.apply(image);
+		long bytes = (long) skijaImage.getWidth() * skijaImage.getHeight() * skijaImage.getImageInfo().getBytesPerPixel();
+		Entry entry = new Entry(skijaImage, modificationCount, bytes);
+		entry.users = 1;
+		if (bytes > maxBytes || image.isDisposed()) {
+			// not cached, closed after the operation
+			entry.removed = true;
+			return entry;
+		}
+
+		synchronized (entries) {
+			Entry old = entries.put(new Key(image, zoom, collected), entry);
+			if (old != null) {
+				discard(old);
+			}
+			cachedBytes += bytes;
+			trim();
+		}
+		return entry;
+	}
+
+	private void release(Entry entry) {
+		synchronized (entries) {
+			entry.users--;
+			if (entry.removed && entry.users == 0) {
+				entry.image.close();
+			}
+		}
+	}
+
+	/**
+	 * Drops the entries of the given SWT image, e.g. because it is disposed.
+	 */
+	void remove(Image image) {
+		synchronized (entries) {
+			expungeCollected();
+			Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<Key, Entry> entry = iterator.next();
+				if (entry.getKey().get() == image) {
+					Entry removed = entry.getValue();
+					iterator.remove();
+					discard(removed);
+				}
+			}
+		}
+	}
+
+	private void remove(Key key) {
+		Entry entry = entries.remove(key);
+		if (entry != null) {
+			discard(entry);
+		}
+	}
+
+	/**
+	 * Accounts for an entry which was taken out of the map and closes its image
+	 * unless an operation still uses it.
+	 */
+	private void discard(Entry entry) {
+		cachedBytes -= entry.bytes;
+		entry.removed = true;
+		if (entry.users == 0) {
+			entry.image.close();
+		}
+	}
+
+	private void expungeCollected() {
+		Reference<? extends Image> reference;
+		while ((reference = collected.poll()) != null) {
+			remove((Key) reference);
+		}
+	}
+
+	private void trim() {
+		Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+		while ((entries.size() > maxEntries || cachedBytes > maxBytes) && iterator.hasNext()) {
+			Entry entry = iterator.next().getValue();
+			iterator.remove();
+			discard(entry);
+		}
+	}
+
+	void clear() {
+		synchronized (entries) {
+			for (Entry entry : entries.values()) {
+				discard(entry);
+			}
+			entries.clear();
+		}
+	}
+
+	int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Returns the number of bytes held by the cached Skija images.
+	 */
+	long getCachedBytes() {
+		synchronized (entries) {
+			return cachedBytes;
+		}
+	}
+
+	long getHitCount() {
+		return hits.get();
+	}
+
+	long getMissCount() {
+		return misses.get();
+	}
+}
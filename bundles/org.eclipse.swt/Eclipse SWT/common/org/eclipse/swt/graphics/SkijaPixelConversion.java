@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import org.eclipse.swt.*;
+
+/**
+ * Converts pixels between SWT {@link ImageData} and the byte layouts used by
+ * Skija. The conversions work on whole scanlines: the pixel values of a line
+ * are read in bulk with {@link ImageData#getPixels(int, int, int, int[], int)},
+ * indexed palettes are resolved with a lookup table built once per image and
+ * the transparency of a line is computed in the same pass instead of through a
+ * separate transparency mask image.
+ */
+final class SkijaPixelConversion {
+
+	private SkijaPixelConversion() {
+	}
+
+	/**
+	 * Converts the given image data to unpremultiplied RGBA bytes. Pixels are
+	 * either opaque or fully transparent, depending on the transparency mask,
+	 * transparent pixel or alpha data of the image (a pixel with an alpha of 0 is
+	 * transparent).
+	 */
+	static byte[] toRGBA(ImageData imageData) {
+		int width = imageData.width;
+		int height = imageData.height;
+		byte[] rgba = new byte[width * height * 4];
+		if (width == 0 || height == 0) {
+			return rgba;
+		}
+
+		PaletteData palette = imageData.palette;
+		int[] colorTable = palette.isDirect ? null : createColorTable(palette);
+		int redMask = palette.redMask, greenMask = palette.greenMask, blueMask = palette.blueMask;
+		int redShift = palette.redShift, greenShift = palette.greenShift, blueShift = palette.blueShift;
+
+		int transparencyType = imageData.getTransparencyType();
+		ImageData mask = transparencyType == SWT.TRANSPARENCY_MASK ? imageData.getTransparencyMask() : null;
+		byte[] maskLine = mask != null ? new byte[width] : null;
+		int transparentPixel = imageData.transparentPixel;
+		byte[] alphaData = imageData.alphaData;
+
+		int[] line = new int[width];
+		int index = 0;
+		for (int y = 0; y < height; y++) {
+			imageData.getPixels(0, y, width, line, 0);
+			if (colorTable != null) {
+				for (int x = 0; x < width; x++) {
+					int pixel = line[x];
+					int rgb = pixel >= 0 && pixel < colorTable.length ? colorTable[pixel] : 0;
+					rgba[index++] = (byte) (rgb >>> 16);
+					rgba[index++] = (byte) (rgb >>> 8);
+					rgba[index++] = (byte) rgb;
+					rgba[index++] = (byte) 0xFF;
+				}
+			} else {
+				for (int x = 0; x < width; x++) {
+					int pixel = line[x];
+					rgba[index++] = (byte) shift(pixel & redMask, redShift);
+					rgba[index++] = (byte) shift(pixel & greenMask, greenShift);
+					rgba[index++] = (byte) shift(pixel & blueMask, blueShift);
+					rgba[index++] = (byte) 0xFF;
+				}
+			}
+
+			int alphaIndex = (y * width) * 4 + 3;
+			switch (transparencyType) {
+			case SWT.TRANSPARENCY_MASK -> {
+				mask.getPixels(0, y, width, maskLine, 0);
+				for (int x = 0; x < width; x++, alphaIndex += 4) {
+					if (maskLine[x] != 1) {
+						rgba[alphaIndex] = 0;
+					}
+				}
+			}
+			case SWT.TRANSPARENCY_PIXEL -> {
+				for (int x = 0; x < width; x++, alphaIndex += 4) {
+					if (line[x] == transparentPixel) {
+						rgba[alphaIndex] = 0;
+					}
+				}
+			}
+			case SWT.TRANSPARENCY_ALPHA -> {
+				int alphaOffset = y * width;
+				for (int x = 0; x < width; x++, alphaIndex += 4) {
+					if (alphaData[alphaOffset + x] == 0) {
+						rgba[alphaIndex] = 0;
+					}
+				}
+			}
+			default -> {
+				// opaque
+			}
+			}
+		}
+		return rgba;
+	}
+
+	/**
+	 * Returns the colors of the given indexed palette packed as
+	 * <code>0xRRGGBB</code>.
+	 */
+	private static int[] createColorTable(PaletteData palette) {
+		RGB[] colors = palette.colors;
+		int[] table = new int[colors.length];
+		for (int i = 0; i < colors.length; i++) {
+			RGB rgb = colors[i];
+			if (rgb != null) {
+				table[i] = (rgb.red & 0xFF) << 16 | (rgb.green & 0xFF) << 8 | (rgb.blue & 0xFF);
+			}
+		}
+		return table;
+	}
+
+	private static int shift(int value, int shift) {
+		return shift < 0 ? value >>> -shift : value << shift;
+	}
+
+	/**
+	 * Converts 32 bit pixels with the given channel order, as returned by
+	 * {@link SkijaGC#getPixelOrder}, to a 24 bit RGB image data with separate
+	 * alpha data. The color channels are taken over as they are, i.e. the pixels
+	 * have to be unpremultiplied.
+	 */
+	static ImageData fromPixels32(byte[] source, int width, int height, int rowBytes, int[] pixelOrder) {
+		byte[] data = new byte[width * height * 3];
+		byte[] alphaData = new byte[width * height];
+		int r = pixelOrder[0], g = pixelOrder[1], b = pixelOrder[2], a = pixelOrder[3];
+
+		int target = 0;
+		int alphaIndex = 0;
+		for (int y = 0; y < height; y++) {
+			int offset = y * rowBytes;
+			for (int x = 0; x < width; x++, offset += 4) {
+				data[target++] = source[offset + r];
+				data[target++] = source[offset + g];
+				data[target++] = source[offset + b];
+				alphaData[alphaIndex++] = source[offset + a];
+			}
+		}
+
+		ImageData imageData = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0x00FF00, 0x0000FF), 1, data);
+		imageData.alphaData = alphaData;
+		return imageData;
+	}
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+import java.util.function.*;
+
+import org.eclipse.swt.widgets.*;
+
+import io.github.humbleui.skija.*;
+
+/**
+ * Retains the raster surfaces used for painting custom controls, so that a
+ * control repainting on every mouse move does not allocate a new surface per
+ * paint. There is at most one idle surface per control; it is only reused if
+ * its pixel size and zoom still match. The pool is bounded by the number of
+ * surfaces and the bytes they hold, evicting the least recently used surface
+ * first. Controls discard their surface via {@link Drawing#releaseResources(Control)}
+ * when they are released.
+ */
+final class SkijaSurfacePool {
+
+	private static final int MAX_SURFACES = 64;
+	private static final long MAX_BYTES = 64L * 1024 * 1024;
+
+	private record PooledSurface(Surface surface, int width, int height, int zoom) {
+		long byteCount() {
+			return 4L * width * height;
+		}
+	}
+
+	private static final LinkedHashMap<Control, PooledSurface> SURFACES = new LinkedHashMap<>(16, 0.75f, true);
+	private static long pooledBytes;
+
+	private SkijaSurfacePool() {
+	}
+
+	/**
+	 * Takes the idle surface of the given control out of the pool if it matches
+	 * the requested size and zoom, otherwise creates a new one. The surface must be
+	 * handed back via {@link #release(Control, Surface, int)} after painting.
+	 */
+	static synchronized Surface acquire(Control control, int width, int height, int zoom,
+			Supplier<Surface> surfaceFactory) {
+		PooledSurface pooled = SURFACES.remove(control);
+		if (pooled != null) {
+			pooledBytes -= pooled.byteCount();
+			if (pooled.width == width && pooled.height == height && pooled.zoom == zoom
+					&& !pooled.surface.isClosed()) {
+				return pooled.surface;
+			}
+			pooled.surface.close();
+		}
+		return surfaceFactory.get();
+	}
+
+	static synchronized void release(Control control, Surface surface, int zoom) {
+		if (surface.isClosed()) {
+			return;
+		}
+		if (control.isDisposed()) {
+			surface.close();
+			return;
+		}
+		PooledSurface pooled = new PooledSurface(surface, surface.getWidth(), surface.getHeight(), zoom);
+		PooledSurface previous = SURFACES.put(control, pooled);
+		pooledBytes += pooled.byteCount();
+		if (previous != null) {
+			pooledBytes -= previous.byteCount();
+			previous.surface.close();
+		}
+		trim();
+	}
+
+	/**
+	 * Closes the idle surface of the given control, if any.
+	 */
+	static synchronized void discard(Control control) {
+		PooledSurface pooled = SURFACES.remove(control);
+		if (pooled != null) {
+			pooledBytes -= pooled.byteCount();
+			pooled.surface.close();
+		}
+	}
+
+	private static void trim() {
+		Iterator<Map.Entry<Control, PooledSurface>> iterator = SURFACES.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Control, PooledSurface> entry = iterator.next();
+			boolean overBudget = SURFACES.size() > MAX_SURFACES || pooledBytes > MAX_BYTES;
+			if (overBudget || entry.getKey().isDisposed()) {
+				iterator.remove();
+				pooledBytes -= entry.getValue().byteCount();
+				entry.getValue().surface.close();
+			}
+		}
+	}
+}
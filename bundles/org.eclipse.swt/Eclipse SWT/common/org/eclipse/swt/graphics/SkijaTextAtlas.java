@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+import io.github.humbleui.skija.*;
+import io.github.humbleui.skija.Image;
+import io.github.humbleui.types.*;
+
+/**
+ * Caches rasterized text runs of {@link SkijaGC}, so that short strings which
+ * are drawn over and over again in the same font and color, like the cells of
+ * tables and trees, are blitted instead of being rasterized glyph by glyph.
+ * Entries are keyed by font, zoom, color and string. Each run is kept as its
+ * own raster image: on the raster backend a run shared in one texture would
+ * require a new snapshot of the whole texture whenever a run is added. The
+ * cache is bounded by the number of bytes of the images and evicts the least
+ * recently used runs first.
+ * <p>
+ * Runs are rasterized on a transparent surface, where text cannot be rendered
+ * with subpixel anti-aliasing. {@link SkijaGC} therefore only uses the atlas for
+ * fonts with grayscale edging, which look the same either way. The atlas is
+ * turned on with the system property
+ * <code>org.eclipse.swt.graphics.SkijaGC.textAtlas=true</code>, its budget is
+ * set in megabytes with <code>org.eclipse.swt.graphics.SkijaGC.textAtlasSize</code>.
+ * </p>
+ * <p>
+ * Like {@link SkijaImageCache}, evicted images are not closed explicitly, since
+ * they may still be in use by a concurrent draw operation.
+ * </p>
+ */
+final class SkijaTextAtlas {
+
+	static final String ENABLED_PROPERTY = "org.eclipse.swt.graphics.SkijaGC.textAtlas"; //$NON-NLS-1$
+	static final String SIZE_PROPERTY = "org.eclipse.swt.graphics.SkijaGC.textAtlasSize"; //$NON-NLS-1$
+
+	/** the longest string which is cached, longer strings rarely repeat */
+	static final int MAX_TEXT_LENGTH = 64;
+
+	private record Key(FontData fontData, int zoom, int color, String text) {
+	}
+
+	/**
+	 * A rasterized run and the offset of the image to the text origin.
+	 */
+	record Run(Image image, int offsetX, int offsetY) {
+	}
+
+	private final boolean enabled;
+	private final long maxBytes;
+	private final LinkedHashMap<Key, Run> entries = new LinkedHashMap<>(256, 0.75f, true);
+	private long cachedBytes;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	SkijaTextAtlas(boolean enabled, long maxBytes) {
+		this.enabled = enabled && maxBytes > 0;
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Creates the atlas configured by the system properties, by default it is
+	 * disabled and has a budget of 8 MB once enabled.
+	 */
+	static SkijaTextAtlas create() {
+		int megabytes = Integer.getInteger(SIZE_PROPERTY, 8);
+		return new SkijaTextAtlas(Boolean.getBoolean(ENABLED_PROPERTY), megabytes * 1024L * 1024L);
+	}
+
+	boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Returns the rasterized run of the given text blob, rasterizing it on a miss,
+	 * or <code>null</code> if the text is not cached by the atlas.
+	 */
+	Run getRun(FontData fontData, int zoom, int color, String text, TextBlob blob) {
+		if (!enabled || text.length() > MAX_TEXT_LENGTH) {
+			return null;
+		}
+
+		Key key = new Key(fontData, zoom, color, text);
+		synchronized (entries) {
+			Run run = entries.get(key);
+			if (run != null) {
+				hits.incrementAndGet();
+				return run;
+			}
+		}
+
+		misses.incrementAndGet();
+		Run run = rasterize(blob, color);
+		if (run == null) {
+			return null;
+		}
+		long bytes = getBytes(run);
+		if (bytes > maxBytes) {
+			return run;
+		}
+
+		synchronized (entries) {
+			Run old = entries.put(key, run);
+			if (old != null) {
+				cachedBytes -= getBytes(old);
+			}
+			cachedBytes += bytes;
+			trim();
+		}
+		return run;
+	}
+
+	private static Run rasterize(TextBlob blob, int color) {
+		Rect bounds = blob.getBounds();
+		int left = (int) Math.floor(bounds.getLeft());
+		int top = (int) Math.floor(bounds.getTop());
+		int width = (int) Math.ceil(bounds.getRight()) - left;
+		int height = (int) Math.ceil(bounds.getBottom()) - top;
+		if (width <= 0 || height <= 0) {
+			return null;
+		}
+
+		try (Surface surface = Surface.makeRaster(ImageInfo.makeN32Premul(width, height), 0,
+				new SurfaceProps(PixelGeometry.RGB_H)); Paint paint = new Paint()) {
+			paint.setColor(color);
+			surface.getCanvas().drawTextBlob(blob, -left, -top, paint);
+			return new Run(surface.makeImageSnapshot(), left, top);
+		}
+	}
+
+	private static long getBytes(Run run) {
+		return (long) run.image.getWidth() * run.image.getHeight() * 4;
+	}
+
+	private void trim() {
+		Iterator<Run> iterator = entries.values().iterator();
+		while (cachedBytes > maxBytes && iterator.hasNext()) {
+			cachedBytes -= getBytes(iterator.next());
+			iterator.remove();
+		}
+	}
+
+	void clear() {
+		synchronized (entries) {
+			entries.clear();
+			cachedBytes = 0;
+		}
+	}
+
+	int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Returns the number of bytes held by the rasterized runs.
+	 */
+	long getCachedBytes() {
+		synchronized (entries) {
+			return cachedBytes;
+		}
+	}
+
+	long getHitCount() {
+		return hits.get();
+	}
+
+	long getMissCount() {
+		return misses.get();
+	}
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+import io.github.humbleui.skija.*;
+
+/**
+ * Caches the shaping results of {@link SkijaGC} text operations, i.e. the
+ * {@link TextBlob} used for drawing and the measured extent of a string. Widget
+ * labels, table cells and tree items draw the same strings frame after frame,
+ * so both are keyed by font, zoom and string. The cache is bounded by the number
+ * of entries and the number of cached characters and evicts the least recently
+ * used entries first.
+ * <p>
+ * Evicted blobs are not closed explicitly, since they may still be in use by a
+ * concurrent draw operation. Their native memory is released once they become
+ * unreachable.
+ * </p>
+ */
+final class SkijaTextCache {
+
+	private record Key(FontData fontData, int zoom, String text) {
+	}
+
+	private static final class Entry {
+		boolean hasBlob;
+		TextBlob blob;
+		Point extent;
+	}
+
+	private final int maxEntries;
+	private final int maxCharacters;
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+	private int cachedCharacters;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	SkijaTextCache(int maxEntries, int maxCharacters) {
+		this.maxEntries = maxEntries;
+		this.maxCharacters = maxCharacters;
+	}
+
+	/**
+	 * Returns the cached text blob for the given string, building it with the
+	 * given builder on a miss. The builder may return <code>null</code> for strings
+	 * without glyphs.
+	 */
+	TextBlob getTextBlob(FontData fontData, int zoom, String text, Function<String, TextBlob> builder) {
+		Key key = new Key(fontData, zoom, text);
+		synchronized (entries) {
+			Entry entry = entries.get(key);
+			if (entry != null && entry.hasBlob) {
+				hits.incrementAndGet();
+				return entry.blob;
+			}
+		}
+		misses.incrementAndGet();
+		TextBlob blob = builder.apply(text);
+		synchronized (entries) {
+			Entry entry = getOrCreateEntry(key);
+			entry.blob = blob;
+			entry.hasBlob = true;
+			trim();
+		}
+		return blob;
+	}
+
+	/**
+	 * Returns the cached extent (in points) of the given string, measuring it with
+	 * the given function on a miss.
+	 */
+	Point getTextExtent(FontData fontData, int zoom, String text, Function<String, Point> measurer) {
+		Key key = new Key(fontData, zoom, text);
+		synchronized (entries) {
+			Entry entry = entries.get(key);
+			if (entry != null && entry.extent != null) {
+				hits.incrementAndGet();
+				return new Point(entry.extent.x, entry.extent.y);
+			}
+		}
+		misses.incrementAndGet();
+		Point extent = measurer.apply(text);
+		synchronized (entries) {
+			getOrCreateEntry(key).extent = new Point(extent.x, extent.y);
+			trim();
+		}
+		return extent;
+	}
+
+	private Entry getOrCreateEntry(Key key) {
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			entry = new Entry();
+			entries.put(key, entry);
+			cachedCharacters += key.text.length();
+		}
+		return entry;
+	}
+
+	private void trim() {
+		Iterator<Key> iterator = entries.keySet().iterator();
+		while ((entries.size() > maxEntries || cachedCharacters > maxCharacters) && iterator.hasNext()) {
+			cachedCharacters -= iterator.next().text.length();
+			iterator.remove();
+		}
+	}
+
+	void clear() {
+		synchronized (entries) {
+			entries.clear();
+			cachedCharacters = 0;
+		}
+	}
+
+	int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	long getHitCount() {
+		return hits.get();
+	}
+
+	long getMissCount() {
+		return misses.get();
+	}
+}
@@ -1,6 +1,5 @@
 package org.eclipse.swt.graphics;
 
-import java.io.*;
 import java.util.*;
 
 import org.eclipse.swt.*;
@@ -11,8 +10,10 @@ import io.github.humbleui.skija.paragraph.*;
 import io.github.humbleui.types.*;
 
 /**
- * This is the Skija TextLayout. The performance at scrolling for 1000s of lines in styled text is
- * insufficient.
+ * This is the Skija TextLayout. The text is laid out into a Skija
+ * {@link Paragraph}, which is kept until the text, its styles or the selection
+ * change, and painted directly onto the canvas of the {@link SkijaGC} it is
+ * drawn with.
  *
  * For this the fastCalculationMode works, but it also has bugs,
  * because the font size calculation from SWT to Skija does not yet work properly.
@@ -26,12 +27,6 @@ public final class TextLayout extends Resource {
 	// the size conversion from SWT Font to Skija Font is not working.
 	private static boolean fastCalculationMode = false;
 
-	final static Set<TextLayout> textLayouts;
-
-	static {
-		textLayouts = new HashSet<>();
-	}
-
 	private String text;
 	int lineSpacingInPoints, ascent, descent, indent, wrapIndent,
 			verticalIndentInPoints;
@@ -57,37 +52,22 @@ public final class TextLayout extends Resource {
 	static final int TAB_COUNT = 32;
 	static final int UNDERLINE_THICK = 1 << 16;
 	int[] invalidOffsets;
-	private StyleItem[] styles;
-	int stylesCount;
+	private TextStyleRuns styles;
 	private Paragraph paragraph;
-	private byte[] imageBytes;
+	/** the paragraph with all text in the selection foreground, drawn over the selected ranges */
+	private Paragraph selectionParagraph;
+	private Color selectionParagraphForeground;
 
-	private int selectionStart;
-	private int selectionEnd;
-	private Color selectionForeground;
-	private Color selectionBackground;
 	private int textDirection;
 	private Font swtFont;
 	private io.github.humbleui.skija.Font skijaFont;
 
 	int nativeZoom = DPIUtil.getNativeDeviceZoom();
-	private static Surface surface;
 
 	static final char LTR_MARK = '\u200E', RTL_MARK = '\u200F';
 
 	static Color linkForeground;
 
-	static class StyleItem {
-		TextStyle style;
-		int start, length;
-		boolean lineBreak, softBreak, tab;
-
-		@Override
-		public String toString() {
-			return "StyleItem {" + start + ", " + length + ", " + style + "}";
-		}
-	}
-
 	/**
 	 * Constructs a new instance of this class on the given device.
 	 * <p>
@@ -112,38 +92,15 @@ public final class TextLayout extends Resource {
 		orientation = SWT.LEFT_TO_RIGHT;
 		text = "";
 
-		styles = new StyleItem[2];
-		styles[0] = new StyleItem();
-		styles[1] = new StyleItem();
-		stylesCount = 2;
+		styles = new TextStyleRuns();
 
 		init();
 	}
 
 	@Override
 	void init() {
-
-		synchronized (textLayouts) {
-			if (surface == null) {
-				Rectangle b = device.getBounds();
-
-				surface = Surface.makeRaster(
-						ImageInfo.makeN32Premul(b.width, b.height), 0,
-						new SurfaceProps(PixelGeometry.RGB_H));
-
-				// DPI Analysis
-				Point dpi = device.getDPI();
-
-			}
-
-			setFont(device.getSystemFont());
-
-			textLayouts.add(this);
-
-		}
-
+		setFont(device.getSystemFont());
 		super.init();
-
 	}
 
 	void checkLayout() {
@@ -180,67 +137,18 @@ public final class TextLayout extends Resource {
 		return skijaFont.getSize();
 	}
 
+	/**
+	 * Builds and lays out the paragraph, unless it is still valid. The paragraph
+	 * does not depend on the selection, which is drawn over it from the cached
+	 * layout, so changing the selection does not lay out the text again.
+	 */
 	void computeRuns(GC gc) {
-
-		computeRuns(gc, this.selectionStart, this.selectionEnd,
-				this.selectionForeground, this.selectionBackground, 0);
-	}
-
-	void computeRuns(GC gc, int selectionStart, int selectionEnd,
-			Color selectionForeground, Color selectionBackground, int flags) {
-
-		if (selectionEnd < selectionStart) {
-			selectionEnd = selectionStart;
-		}
-
-		// --------------------------------------------------------------------------------------------
-		// In Skija there are the following methods in Paragraph:
-		//
-		// void updateTextAlign(Alignment alignment); void updateFontSize(int
-		// from, int
-		// to, float size); void updateForegroundPaint(int from, int to, Paint
-		// paint);
-		// void updateBackgroundPaint(int from, int to, Paint paint);
-		//
-		// These can be used for selections. In order to increase the
-		// performance.
-		//
-		// But is seems this feature is not yet fully supported in skia or
-		// skija. This
-		// must be further checked.
-		//
-		// ---------------------------------------------------------------------------------------------
-
-		if (paragraph != null && this.selectionStart == selectionStart
-				&& this.selectionEnd == selectionEnd
-				&& Objects.equals(this.selectionForeground, selectionForeground)
-				&& Objects.equals(this.selectionBackground,
-						selectionBackground))
+		if (paragraph != null) {
 			return;
-
-		freeRuns();
-		Canvas canvas = surface.getCanvas();
-		canvas.clear(0x00000000);
-
-		paragraph = createParagraph(selectionStart, selectionEnd,
-				selectionForeground, selectionBackground);
-
-		this.selectionStart = selectionStart;
-		this.selectionEnd = selectionEnd;
-		this.selectionForeground = selectionForeground;
-		this.selectionBackground = selectionBackground;
-
-		int lineWidth = getWidth();
-
-		if (lineWidth < 1) {
-			lineWidth = Integer.MAX_VALUE;
-		} else {
-			lineWidth += 1;
 		}
 
-		paragraph.layout(lineWidth);
-		paragraph.paint(surface.getCanvas(), 0, 0);
-
+		paragraph = createParagraph(null);
+		paragraph.layout(getLayoutWidth());
 
 		LineMetrics[] lineMetrics = paragraph.getLineMetrics();
 		{
@@ -280,19 +188,11 @@ public final class TextLayout extends Resource {
 				lineBounds[0] = new Rectangle(0, 0, 0, getLineHeight());
 			}
 		}
+	}
 
-		Rectangle b = getBounds();
-
-		io.github.humbleui.skija.Image im = surface
-				.makeImageSnapshot(new IRect(0, 0, b.width, b.height));
-
-		if (im == null) {
-			imageBytes = null;
-			return;
-		}
-
-		imageBytes = EncoderPNG.encode(im).getBytes();
-
+	private float getLayoutWidth() {
+		int lineWidth = getWidth();
+		return lineWidth < 1 ? Integer.MAX_VALUE : lineWidth + 1;
 	}
 
 	private int getLineHeight() {
@@ -307,17 +207,6 @@ public final class TextLayout extends Resource {
 		styles = null;
 		segments = null;
 		segmentsChars = null;
-		imageBytes = null;
-
-		synchronized (textLayouts) {
-			textLayouts.remove(this);
-
-			if (textLayouts.isEmpty()) {
-				surface.close();
-				surface = null;
-			}
-
-		}
 
 		if (paragraph != null) {
 			if (!paragraph.isClosed())
@@ -467,21 +356,105 @@ public final class TextLayout extends Resource {
 			freeRuns();
 		}
 
-		computeRuns(gc, selectionStart, selectionEnd, selectionForeground,
-				selectionBackground, flags);
+		computeRuns(gc);
 		int length = translateOffset(text.length());
 		if (length == 0 && flags == 0)
 			return;
 
-		if (imageBytes != null) {
-			org.eclipse.swt.graphics.Image transferImage = new org.eclipse.swt.graphics.Image(
-					gc.getDevice(), new ByteArrayInputStream(imageBytes));
+		if (paragraph == null) {
+			return;
+		}
 
-			gc.drawImage(transferImage, x, y);
+		Selection selection = null;
+		if (selectionStart != -1 || selectionEnd != -1) {
+			int start = Math.max(selectionStart, 0);
+			int end = Math.min(Math.max(selectionEnd, start) + 1, text.length());
+			if (start < end) {
+				if (selectionForeground == null)
+					selectionForeground = device.getSystemColor(SWT.COLOR_LIST_FOREGROUND);
+				if (selectionBackground == null)
+					selectionBackground = device.getSystemColor(SWT.COLOR_LIST_BACKGROUND);
+				selection = new Selection(
+						paragraph.getRectsForRange(start, end, RectHeightMode.MAX, RectWidthMode.TIGHT),
+						getSelectionParagraph(selectionForeground),
+						SkijaGC.convertSWTColorToSkijaColor(selectionBackground));
+			}
+		}
 
-			transferImage.dispose();
+		if (gc.innerGC instanceof SkijaGC skijaGC) {
+			paint(skijaGC.getCanvas(), DPIUtil.autoScaleUp(x), DPIUtil.autoScaleUp(y), selection);
+		} else {
+			drawParagraphAsImage(gc, x, y, selection);
 		}
+	}
 
+	/**
+	 * The selected ranges of the paragraph and how to draw them.
+	 */
+	private record Selection(TextBox[] boxes, Paragraph paragraph, int background) {
+	}
+
+	private Paragraph getSelectionParagraph(Color foreground) {
+		if (selectionParagraph != null && !foreground.equals(selectionParagraphForeground)) {
+			selectionParagraph.close();
+			selectionParagraph = null;
+		}
+		if (selectionParagraph == null) {
+			selectionParagraph = createParagraph(foreground);
+			selectionParagraph.layout(getLayoutWidth());
+			selectionParagraphForeground = foreground;
+		}
+		return selectionParagraph;
+	}
+
+	/**
+	 * Paints the paragraph at the given point. The selected ranges are filled
+	 * with the selection background and show the selection paragraph instead of
+	 * the normal one, which both have the same layout.
+	 */
+	private void paint(Canvas canvas, float x, float y, Selection selection) {
+		if (selection == null || selection.boxes().length == 0) {
+			paragraph.paint(canvas, x, y);
+			return;
+		}
+		try (io.github.humbleui.skija.Path path = new io.github.humbleui.skija.Path();
+				Paint background = new Paint().setColor(selection.background())) {
+			for (TextBox box : selection.boxes()) {
+				path.addRect(box.getRect().offset(x, y));
+			}
+			canvas.drawPath(path, background);
+
+			int saveCount = canvas.save();
+			canvas.clipPath(path, ClipMode.DIFFERENCE, true);
+			paragraph.paint(canvas, x, y);
+			canvas.restoreToCount(saveCount);
+
+			saveCount = canvas.save();
+			canvas.clipPath(path, ClipMode.INTERSECT, true);
+			selection.paragraph().paint(canvas, x, y);
+			canvas.restoreToCount(saveCount);
+		}
+	}
+
+	/**
+	 * Draws the paragraph on a GC which does not render with Skija by painting it
+	 * into a raster surface of the layout's size, which is then drawn as an image.
+	 */
+	private void drawParagraphAsImage(GC gc, int x, int y, Selection selection) {
+		Rectangle bounds = getBounds();
+		if (bounds.width <= 0 || bounds.height <= 0) {
+			return;
+		}
+		try (Surface surface = Surface.makeRaster(ImageInfo.makeN32Premul(bounds.width, bounds.height), 0,
+				new SurfaceProps(PixelGeometry.RGB_H))) {
+			paint(surface.getCanvas(), 0, 0, selection);
+			ImageData imageData = SkijaGC.convertSurfaceToImageData(surface,
+					new Rectangle(0, 0, bounds.width, bounds.height));
+			org.eclipse.swt.graphics.Image transferImage = new org.eclipse.swt.graphics.Image(gc.getDevice(),
+					imageData);
+			gc.drawImage(transferImage, x, y);
+			transferImage.dispose();
+		}
 	}
 
 	// for (int i = 0; i < lines.length; i++) {
@@ -825,9 +798,12 @@ public final class TextLayout extends Resource {
 	// }
 	// }
 
-	private synchronized Paragraph createParagraph(int selectionStart,
-			int selectionEnd, Color selectionForeground,
-			Color selectionBackground) {
+	/**
+	 * Builds the paragraph of the text and its styles. If a foreground is given,
+	 * all text is drawn in it and without backgrounds, which is used for the
+	 * paragraph drawn over the selected ranges.
+	 */
+	private synchronized Paragraph createParagraph(Color foreground) {
 
 		Paragraph paragraph = null;
 
@@ -836,15 +812,6 @@ public final class TextLayout extends Resource {
 				getLineHeight(), // Height
 				PlaceholderAlignment.MIDDLE, BaselineMode.ALPHABETIC, 0); // Offset
 
-		if (selectionForeground == null)
-			selectionForeground = device
-					.getSystemColor(SWT.COLOR_LIST_FOREGROUND);
-		if (selectionBackground == null)
-			selectionBackground = device
-					.getSystemColor(SWT.COLOR_LIST_BACKGROUND);
-
-		boolean hasSelection = selectionStart != -1 || selectionEnd != -1;
-
 		ParagraphStyle style = new ParagraphStyle();
 		style.setAlignment(Alignment.LEFT);
 
@@ -859,124 +826,30 @@ public final class TextLayout extends Resource {
 				.setFontStyle(skijaFont.getTypeface().getFontStyle())
 				.setFontSize(skijaFont.getSize())
 				.setFontFamilies(new String[] { fontFamily })
-				.setColor(0xFF000000);
-
-		io.github.humbleui.skija.paragraph.TextStyle selectionStyle = new io.github.humbleui.skija.paragraph.TextStyle()
-				.setFontStyle(skijaFont.getTypeface().getFontStyle())
-				.setFontSize(skijaFont.getSize())
-				.setFontFamilies(new String[] { fontFamily })
-				.setForeground(new Paint().setColor(SkijaGC
-						.convertSWTColorToSkijaColor(selectionForeground)))
-				.setBackground(new Paint().setColor(SkijaGC
-						.convertSWTColorToSkijaColor(selectionBackground)));
-
-		// io.github.humbleui.skija.paragraph.TextStyle selectionStyle = new
-		// io.github.humbleui.skija.paragraph.TextStyle()
-		// .setFontSize(getFontSize())
-		// .setFontFamilies(new String[]{fd.getName()})
-		// .setColor(0xFFFF0000);
-
-		int offset = 0;
-
-		Canvas canvas = surface.getCanvas();
-		canvas.clear(0x00000000);
+				.setColor(foreground != null ? SkijaGC.convertSWTColorToSkijaColor(foreground) : 0xFF000000);
 
 		try (ParagraphBuilder paragraphBuilder = new ParagraphBuilder(style,
 				fc)) {
 
-			// paragraphBuilder.addPlaceholder(new
-			// PlaceholderStyle(selectionStart,
-			// selectionEnd, null, null, offset));
-
 			// classical spaces ' ' will be ignored in the paragraph, this means
 			// '\u00A0' is necessary.
 			String str = text.replace(" ", "\u00A0");
-			boolean textIsStyled = false;
-
-			for (int j = 0; j < stylesCount; j++) {
-				var si = styles[j];
-
-				StyleItem next = null;
-
-				if (styles.length > j + 1)
-					next = styles[j + 1];
-
-				int nextStyleStart = str.length();
-				if (next != null) {
-					nextStyleStart = Math.min(str.length(),
-							styles[j + 1].start);
-				}
-
-				if (si.start > nextStyleStart)
-					continue;
-
-				String s = str.substring(si.start, nextStyleStart);
-				if (s != "") {
-					if (hasSelection) {
-
-						var ts = convertToTextStyle(si, fontFamily);
+			boolean[] textIsStyled = { false };
 
-						for (int i = si.start; i < nextStyleStart; i++) {
+			styles.forEachRun(0, str.length(), (start, end, textStyle) -> {
+				var ts = convertToTextStyle(textStyle, fontFamily, foreground);
+				paragraphBuilder.pushStyle(ts);
 
-							if (selectionStart <= i && i <= selectionEnd) {
+				addText(paragraphBuilder, tabPlaceholder, str.substring(start, end));
 
-								paragraphBuilder.pushStyle(selectionStyle);
-
-								addText(paragraphBuilder, tabPlaceholder,
-										str.substring(i,
-												Math.min(nextStyleStart,
-														selectionEnd + 1)));
-
-								paragraphBuilder.popStyle();
-								i = Math.min(nextStyleStart, selectionEnd + 1)
-										- 1;
-
-							} else {
-								if (i > selectionStart) {
-									paragraphBuilder.pushStyle(ts);
-
-									addText(paragraphBuilder, tabPlaceholder,
-											str.substring(i, nextStyleStart));
-
-									paragraphBuilder.popStyle();
-									i = nextStyleStart - 1;
-								} else {
-									paragraphBuilder.pushStyle(ts);
-
-									addText(paragraphBuilder, tabPlaceholder,
-											str.substring(i,
-													Math.min(nextStyleStart,
-															selectionStart)));
-
-									paragraphBuilder.popStyle();
-									i = Math.min(nextStyleStart, selectionStart)
-											- 1;
-								}
-
-							}
-
-						}
-
-						ts.close();
-
-					} else {
-
-						var ts = convertToTextStyle(si, fontFamily);
-						paragraphBuilder.pushStyle(ts);
-
-						addText(paragraphBuilder, tabPlaceholder, s);
-
-						paragraphBuilder.popStyle();
-
-						ts.close();
-					}
-				}
+				paragraphBuilder.popStyle();
 
-				textIsStyled = true;
+				ts.close();
 
-			}
+				textIsStyled[0] = true;
+			});
 
-			if (!textIsStyled) {
+			if (!textIsStyled[0]) {
 				paragraphBuilder.pushStyle(normal);
 				paragraphBuilder.addText(str);
 				paragraphBuilder.popStyle();
@@ -988,7 +861,6 @@ public final class TextLayout extends Resource {
 			e.printStackTrace();
 		}
 
-		selectionStyle.close();
 		normal.close();
 
 		return paragraph;
@@ -1016,17 +888,16 @@ public final class TextLayout extends Resource {
 	}
 
 	private io.github.humbleui.skija.paragraph.TextStyle convertToTextStyle(
-			StyleItem si, String fontFamily) {
-
-		TextStyle ts = si.style;
+			TextStyle ts, String fontFamily, Color foregroundOverride) {
 
 		// int foreground = SkijaGC.convertSWTColorToSkijaColor(ts.foreground);
 		// int background = SkijaGC.convertSWTColorToSkijaColor(ts.background);
 
 		if (ts == null) {
 
-			int foreground = SkijaGC.convertSWTColorToSkijaColor(
-					device.getSystemColor(SWT.COLOR_BLACK));
+			int foreground = SkijaGC.convertSWTColorToSkijaColor(foregroundOverride != null
+					? foregroundOverride
+					: device.getSystemColor(SWT.COLOR_BLACK));
 
 			Paint foreP = new Paint().setColor(foreground);
 
@@ -1038,14 +909,16 @@ public final class TextLayout extends Resource {
 		}
 
 		int foreground = SkijaGC
-				.convertSWTColorToSkijaColor(ts.foreground != null
+				.convertSWTColorToSkijaColor(foregroundOverride != null
+						? foregroundOverride
+						: ts.foreground != null
 						? ts.foreground
 						: device.getSystemColor(SWT.COLOR_BLACK));
 		Paint foreP = new Paint().setColor(foreground);
 
 		Paint backP = null;
 
-		if (ts.background != null) {
+		if (ts.background != null && foregroundOverride == null) {
 			int background = SkijaGC.convertSWTColorToSkijaColor(ts.background);
 			backP = new Paint().setColor(background);
 
@@ -1098,12 +971,11 @@ public final class TextLayout extends Resource {
 			paragraph = null;
 		}
 
-		selectionStart = -1;
-		selectionEnd = -1;
-		selectionForeground = null;
-		selectionBackground = null;
-
-		imageBytes = null;
+		if (selectionParagraph != null) {
+			selectionParagraph.close();
+			selectionParagraph = null;
+		}
+		selectionParagraphForeground = null;
 
 		// for (int i = 0; i < stylesCount - 1; i++) {
 		// StyleItem run = styles[i];
@@ -2126,21 +1998,15 @@ public final class TextLayout extends Resource {
 	public int[] getRanges() {
 		checkLayout();
 
-		int[] result = new int[styles.length * 2];
-		int count = 0;
-		for (int i = 0; i < styles.length - 1; i++) {
-			if (styles[i].style != null) {
-				result[count++] = styles[i].start;
-				result[count++] = styles[i + 1].start - 1;
+		int[] result = new int[styles.size() * 2];
+		int[] count = { 0 };
+		styles.forEachRun(0, text.length(), (start, end, style) -> {
+			if (style != null) {
+				result[count[0]++] = start;
+				result[count[0]++] = end - 1;
 			}
-		}
-		if (count != result.length) {
-			int[] newResult = new int[count];
-			System.arraycopy(result, 0, newResult, 0, count);
-			result = newResult;
-		}
-
-		return result;
+		});
+		return Arrays.copyOf(result, count[0]);
 	}
 
 	/**
@@ -2286,14 +2152,7 @@ public final class TextLayout extends Resource {
 		int length = text.length();
 		if (!(0 <= offset && offset < length))
 			SWT.error(SWT.ERROR_INVALID_RANGE);
-		for (int i = 1; i < stylesCount; i++) {
-			if (styles[i].start > offset) {
-
-				TextStyle ts = styles[i - 1].style;
-				return ts;
-			}
-		}
-		return null;
+		return styles.getStyle(offset);
 	}
 
 	/**
@@ -2314,19 +2173,14 @@ public final class TextLayout extends Resource {
 
 	public TextStyle[] getStyles() {
 		checkLayout();
-		TextStyle[] result = new TextStyle[stylesCount];
-		int count = 0;
-		for (int i = 0; i < stylesCount; i++) {
-			if (styles[i].style != null) {
-				result[count++] = styles[i].style;
+		TextStyle[] result = new TextStyle[styles.size()];
+		int[] count = { 0 };
+		styles.forEachRun(0, text.length(), (start, end, style) -> {
+			if (style != null) {
+				result[count[0]++] = style;
 			}
-		}
-		if (count != result.length) {
-			TextStyle[] newResult = new TextStyle[count];
-			System.arraycopy(result, 0, newResult, 0, count);
-			result = newResult;
-		}
-		return result;
+		});
+		return Arrays.copyOf(result, count[0]);
 	}
 
 	/**
@@ -2947,86 +2801,50 @@ public final class TextLayout extends Resource {
 			return;
 		start = Math.min(Math.max(0, start), length - 1);
 		end = Math.min(Math.max(0, end), length - 1);
-		int low = -1;
-		int high = stylesCount;
-		while (high - low > 1) {
-			int index = (high + low) / 2;
-			if (styles[index + 1].start > start) {
-				high = index;
-			} else {
-				low = index;
-			}
-		}
-		if (0 <= high && high < stylesCount) {
-			StyleItem item = styles[high];
-			if (item.start == start && styles[high + 1].start - 1 == end) {
-				if (style == null) {
-					if (item.style == null)
-						return;
-				} else {
-					if (style.equals(item.style))
-						return;
-				}
-			}
+		if (styles.setStyle(style, start, end)) {
+			freeRuns();
 		}
+	}
+
+	/**
+	 * Replaces all styles of the receiver by the given styles. The ranges contain
+	 * the start and the inclusive end offset of each style, in the same format as
+	 * returned by {@link #getRanges()}. Offsets out of range are clamped.
+	 * <p>
+	 * This is equivalent to clearing all styles and calling
+	 * {@link #setStyle(TextStyle, int, int)} for each style, but sorted, non
+	 * overlapping ranges, e.g. from a syntax highlighter, are taken over in a
+	 * single pass.
+	 * </p>
+	 *
+	 * @param styles
+	 *            the styles
+	 * @param ranges
+	 *            the start and end offsets of the styles
+	 *
+	 * @exception IllegalArgumentException
+	 *                <ul>
+	 *                <li>ERROR_NULL_ARGUMENT - if the styles or the ranges are
+	 *                null</li>
+	 *                <li>ERROR_INVALID_ARGUMENT - if the ranges do not contain
+	 *                two offsets per style</li>
+	 *                </ul>
+	 * @exception SWTException
+	 *                <ul>
+	 *                <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been
+	 *                disposed</li>
+	 *                </ul>
+	 *
+	 * @since 3.130
+	 */
+	public void setStyles(TextStyle[] styles, int[] ranges) {
+		checkLayout();
+		if (styles == null || ranges == null)
+			SWT.error(SWT.ERROR_NULL_ARGUMENT);
+		if (ranges.length != styles.length * 2)
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 		freeRuns();
-		int modifyStart = high;
-		int modifyEnd = modifyStart;
-		while (modifyEnd < stylesCount) {
-			if (styles[modifyEnd + 1].start > end)
-				break;
-			modifyEnd++;
-		}
-		if (modifyStart == modifyEnd) {
-			int styleStart = styles[modifyStart].start;
-			int styleEnd = styles[modifyEnd + 1].start - 1;
-			if (styleStart == start && styleEnd == end) {
-				styles[modifyStart].style = style;
-				return;
-			}
-			if (styleStart != start && styleEnd != end) {
-				int newLength = stylesCount + 2;
-				if (newLength > styles.length) {
-					int newSize = Math.min(newLength + 1024,
-							Math.max(64, newLength * 2));
-					StyleItem[] newStyles = new StyleItem[newSize];
-					System.arraycopy(styles, 0, newStyles, 0, stylesCount);
-					styles = newStyles;
-				}
-				System.arraycopy(styles, modifyEnd + 1, styles, modifyEnd + 3,
-						stylesCount - modifyEnd - 1);
-				StyleItem item = new StyleItem();
-				item.start = start;
-				item.style = style;
-				styles[modifyStart + 1] = item;
-				item = new StyleItem();
-				item.start = end + 1;
-				item.style = styles[modifyStart].style;
-				styles[modifyStart + 2] = item;
-				stylesCount = newLength;
-				return;
-			}
-		}
-		if (start == styles[modifyStart].start)
-			modifyStart--;
-		if (end == styles[modifyEnd + 1].start - 1)
-			modifyEnd++;
-		int newLength = stylesCount + 1 - (modifyEnd - modifyStart - 1);
-		if (newLength > styles.length) {
-			int newSize = Math.min(newLength + 1024,
-					Math.max(64, newLength * 2));
-			StyleItem[] newStyles = new StyleItem[newSize];
-			System.arraycopy(styles, 0, newStyles, 0, stylesCount);
-			styles = newStyles;
-		}
-		System.arraycopy(styles, modifyEnd, styles, modifyStart + 2,
-				stylesCount - modifyEnd);
-		StyleItem item = new StyleItem();
-		item.start = start;
-		item.style = style;
-		styles[modifyStart + 1] = item;
-		styles[modifyStart + 2].start = end + 1;
-		stylesCount = newLength;
+		this.styles.setStyles(styles, ranges);
 	}
 
 	/**
@@ -3086,11 +2904,7 @@ public final class TextLayout extends Resource {
 
 		freeRuns();
 		this.text = text;
-		styles = new StyleItem[2];
-		styles[0] = new StyleItem();
-		styles[1] = new StyleItem();
-		styles[1].start = text.length();
-		stylesCount = 2;
+		styles.reset(text.length());
 	}
 
 	/**
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+
+/**
+ * The style runs of a {@link TextLayout}. A run starts at an offset and lasts
+ * up to the start of the next run or the end of the text, its style may be
+ * <code>null</code>. The runs are kept in a balanced tree by their start
+ * offset, so setting the style of a range takes logarithmic time plus the
+ * number of runs it replaces, and the runs of a range, e.g. of the visible
+ * lines, are found without iterating over all runs.
+ * <p>
+ * Adjacent runs with the same style instance are merged.
+ * </p>
+ */
+final class TextStyleRuns {
+
+	interface RunVisitor {
+		/**
+		 * @param start the start offset of the run
+		 * @param end   the end offset of the run, exclusive
+		 * @param style the style of the run or <code>null</code>
+		 */
+		void visit(int start, int end, TextStyle style);
+	}
+
+	private final TreeMap<Integer, TextStyle> runs = new TreeMap<>();
+	private int length;
+
+	TextStyleRuns() {
+		reset(0);
+	}
+
+	/**
+	 * Removes all styles and sets the length of the text.
+	 */
+	void reset(int length) {
+		this.length = length;
+		runs.clear();
+		runs.put(0, null);
+	}
+
+	/**
+	 * Returns the style at the given offset, which has to be within the text.
+	 */
+	TextStyle getStyle(int offset) {
+		return runs.floorEntry(offset).getValue();
+	}
+
+	/**
+	 * Sets the style of the given range, both offsets are inclusive and have to
+	 * be within the text.
+	 *
+	 * @return whether the styles changed
+	 */
+	boolean setStyle(TextStyle style, int start, int end) {
+		int limit = end + 1;
+		Map.Entry<Integer, TextStyle> run = runs.floorEntry(start);
+		if (run.getKey() == start && getRunEnd(start) == limit && Objects.equals(style, run.getValue())) {
+			return false;
+		}
+
+		TextStyle following = limit < length ? runs.floorEntry(limit).getValue() : null;
+		runs.subMap(start, true, limit, false).clear();
+
+		Map.Entry<Integer, TextStyle> previous = runs.lowerEntry(start);
+		if (previous == null || previous.getValue() != style) {
+			runs.put(start, style);
+		}
+		if (limit < length) {
+			TextStyle next = runs.containsKey(limit) ? runs.get(limit) : following;
+			if (next == style) {
+				runs.remove(limit);
+			} else {
+				runs.put(limit, next);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Replaces all styles by the given ones. The ranges contain the start and
+	 * the inclusive end offset of each style, in the format of
+	 * {@link TextLayout#getRanges()}. Sorted, non overlapping ranges are taken
+	 * over in one pass, other ranges are applied one after the other.
+	 */
+	void setStyles(TextStyle[] styles, int[] ranges) {
+		reset(length);
+		if (length == 0) {
+			return;
+		}
+		if (!isSorted(ranges, styles.length)) {
+			for (int i = 0; i < styles.length; i++) {
+				int start = clamp(ranges[i * 2]);
+				int end = clamp(ranges[i * 2 + 1]);
+				if (start <= end) {
+					setStyle(styles[i], start, end);
+				}
+			}
+			return;
+		}
+
+		int lastEnd = 0;
+		TextStyle lastStyle = null;
+		for (int i = 0; i < styles.length; i++) {
+			int start = clamp(ranges[i * 2]);
+			int end = clamp(ranges[i * 2 + 1]) + 1;
+			if (start >= end) {
+				continue;
+			}
+			if (start > lastEnd && lastStyle != null) {
+				runs.put(lastEnd, null);
+				lastStyle = null;
+			}
+			if (styles[i] != lastStyle) {
+				runs.put(start, styles[i]);
+			}
+			lastEnd = end;
+			lastStyle = styles[i];
+		}
+		if (lastEnd < length && lastStyle != null) {
+			runs.put(lastEnd, null);
+		}
+	}
+
+	private static boolean isSorted(int[] ranges, int count) {
+		for (int i = 1; i < count; i++) {
+			if (ranges[i * 2] <= ranges[i * 2 - 1]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int clamp(int offset) {
+		return Math.min(Math.max(0, offset), length - 1);
+	}
+
+	private int getRunEnd(int runStart) {
+		Integer next = runs.higherKey(runStart);
+		return next != null ? next : length;
+	}
+
+	/**
+	 * Visits the runs which intersect the given range in ascending order. The
+	 * first and the last run are not cut to the range.
+	 *
+	 * @param start the start offset of the range
+	 * @param end   the end offset of the range, exclusive
+	 */
+	void forEachRun(int start, int end, RunVisitor visitor) {
+		Integer first = runs.floorKey(Math.max(start, 0));
+		Iterator<Map.Entry<Integer, TextStyle>> iterator = runs.tailMap(first, true).entrySet().iterator();
+		Map.Entry<Integer, TextStyle> run = iterator.hasNext() ? iterator.next() : null;
+		while (run != null && run.getKey() < end) {
+			Map.Entry<Integer, TextStyle> next = iterator.hasNext() ? iterator.next() : null;
+			int runEnd = next != null ? next.getKey() : length;
+			if (runEnd > run.getKey()) {
+				visitor.visit(run.getKey(), runEnd, run.getValue());
+			}
+			run = next;
+		}
+	}
+
+	/**
+	 * Returns the number of runs, including unstyled ones.
+	 */
+	int size() {
+		return runs.size();
+	}
+}
@@ -324,7 +324,7 @@ public class Button extends CustomControl {
 		if (!isVisible()) {
 			return;
 		}
-		Drawing.drawWithGC(this, event.gc, renderer::paint);
+		Drawing.drawWithGC(this, event.gc, getDisplayList(), renderer::paint);
 	}
 
 	private void onDispose(Event event) {
@@ -899,6 +899,7 @@ public class Button extends CustomControl {
 			return;
 		}
 		this.grayed = grayed;
+		redraw();
 	}
 
 	/**
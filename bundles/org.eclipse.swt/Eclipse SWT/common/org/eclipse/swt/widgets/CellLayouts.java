@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import java.util.*;
+
+import org.eclipse.swt.graphics.*;
+
+/**
+ * The computed layouts of the cells of one {@link Table} or {@link Tree} row:
+ * the size of each cell and the bounds of its text and image relative to the
+ * cell. The values of all columns are packed into one <code>int</code> array,
+ * which is only allocated once a cell of the row was laid out, e.g. because the
+ * row was painted.
+ * <p>
+ * Layouts are only needed for the rows which are painted, so each table or tree
+ * keeps its rows with layouts in a {@link Cache}, which drops the layouts of
+ * the least recently used rows. A large table therefore holds layouts for about
+ * the visible rows instead of for every row.
+ * </p>
+ */
+final class CellLayouts {
+
+	/**
+	 * Bounds the number of rows with layouts of one table or tree.
+	 */
+	static final class Cache {
+		private final LinkedHashMap<CellLayouts, Boolean> rows;
+
+		Cache(int maxRows) {
+			this.rows = new LinkedHashMap<>(64, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<CellLayouts, Boolean> eldest) {
+					if (size() <= maxRows) {
+						return false;
+					}
+					eldest.getKey().values = EMPTY;
+					return true;
+				}
+			};
+		}
+
+		private void touch(CellLayouts layouts) {
+			rows.put(layouts, Boolean.TRUE);
+		}
+
+		private void remove(CellLayouts layouts) {
+			rows.remove(layouts);
+		}
+
+		int size() {
+			return rows.size();
+		}
+	}
+
+	/** the number of rows with layouts a table or tree keeps, more than fit on a screen */
+	static final int MAX_CACHED_ROWS = 512;
+
+	private static final int[] EMPTY = new int[0];
+
+	private static final int CELL = 0;
+	private static final int TEXT = 2;
+	private static final int IMAGE = 6;
+	/** the number of values per column: the cell size and the text and image bounds */
+	private static final int STRIDE = 10;
+
+	private final Cache cache;
+	/** the values of all columns, -1 marks values which are not set */
+	private int[] values = EMPTY;
+
+	CellLayouts(Cache cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Drops the layouts of all columns.
+	 */
+	void clear() {
+		if (values != EMPTY) {
+			values = EMPTY;
+			cache.remove(this);
+		}
+	}
+
+	private int getOffset(int column, int value, boolean create) {
+		int end = (column + 1) * STRIDE;
+		if (end > values.length) {
+			if (!create) {
+				return -1;
+			}
+			int oldLength = values.length;
+			values = Arrays.copyOf(values, end);
+			Arrays.fill(values, oldLength, end, -1);
+		}
+		if (create) {
+			cache.touch(this);
+		}
+		return column * STRIDE + value;
+	}
+
+	private Point getPoint(int column, int value) {
+		int offset = getOffset(column, value, false);
+		if (offset < 0 || values[offset] < 0) {
+			return null;
+		}
+		cache.touch(this);
+		return new Point(values[offset], values[offset + 1]);
+	}
+
+	private Rectangle getRectangle(int column, int value) {
+		int offset = getOffset(column, value, false);
+		if (offset < 0 || values[offset + 2] < 0) {
+			return null;
+		}
+		cache.touch(this);
+		return new Rectangle(values[offset], values[offset + 1], values[offset + 2], values[offset + 3]);
+	}
+
+	private void setRectangle(int column, int value, Rectangle bounds) {
+		int offset = getOffset(column, value, true);
+		values[offset] = bounds.x;
+		values[offset + 1] = bounds.y;
+		values[offset + 2] = bounds.width;
+		values[offset + 3] = bounds.height;
+	}
+
+	/**
+	 * Returns the size of the cell or <code>null</code> if it is not known.
+	 */
+	Point getCellSize(int column) {
+		return getPoint(column, CELL);
+	}
+
+	void setCellSize(int column, Point size) {
+		int offset = getOffset(column, CELL, true);
+		values[offset] = size.x;
+		values[offset + 1] = size.y;
+	}
+
+	/**
+	 * Returns the bounds of the text relative to the cell or <code>null</code> if
+	 * they are not known.
+	 */
+	Rectangle getTextBounds(int column) {
+		return getRectangle(column, TEXT);
+	}
+
+	void setTextBounds(int column, Rectangle bounds) {
+		setRectangle(column, TEXT, bounds);
+	}
+
+	/**
+	 * Returns the bounds of the image relative to the cell or <code>null</code> if
+	 * they are not known.
+	 */
+	Rectangle getImageBounds(int column) {
+		return getRectangle(column, IMAGE);
+	}
+
+	void setImageBounds(int column, Rectangle bounds) {
+		setRectangle(column, IMAGE, bounds);
+	}
+}
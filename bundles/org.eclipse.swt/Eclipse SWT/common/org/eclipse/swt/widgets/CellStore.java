@@ -0,0 +1,307 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import java.util.*;
+import java.util.List;
+
+import org.eclipse.swt.graphics.*;
+
+/**
+ * The texts, images, fonts and colors of the cells of a {@link Table} or
+ * {@link Tree}, stored by column instead of by item. Each item is a row with an
+ * <code>int</code> id, which stays the same while the item exists and is reused
+ * once the item is released.
+ * <p>
+ * Texts and images are kept in arrays indexed by the row id, which are only
+ * allocated for a column once one of its cells has a text or an image. Fonts
+ * and colors are rarely set per cell, so they are kept in sparse maps. Inserting
+ * or removing a column inserts or removes its storage instead of copying the
+ * cells of every item. The text and image of the first column are kept by the
+ * item itself, in its text and image fields.
+ * </p>
+ */
+final class CellStore {
+
+	private static final class Column {
+		String[] texts;
+		Image[] images;
+		Map<Integer, Font> fonts;
+		Map<Integer, Color> backgrounds;
+		Map<Integer, Color> foregrounds;
+	}
+
+	/** the items by row id, <code>null</code> for free ids */
+	private final List<Item> items = new ArrayList<>();
+	private int[] freeRows = new int[0];
+	private int freeRowCount;
+
+	/** the columns, at least one even if the table or tree has no columns */
+	private final List<Column> columns = new ArrayList<>();
+
+	CellStore() {
+		columns.add(new Column());
+	}
+
+	/**
+	 * Returns the id of a new row for the given item.
+	 */
+	int addRow(Item item) {
+		if (freeRowCount > 0) {
+			int row = freeRows[--freeRowCount];
+			items.set(row, item);
+			return row;
+		}
+		items.add(item);
+		return items.size() - 1;
+	}
+
+	/**
+	 * Removes the cells of the given row and frees its id.
+	 */
+	void removeRow(int row) {
+		if (row < 0 || row >= items.size() || items.get(row) == null) {
+			return;
+		}
+		clearRow(row);
+		items.set(row, null);
+		if (freeRowCount == freeRows.length) {
+			freeRows = Arrays.copyOf(freeRows, Math.max(16, freeRows.length * 2));
+		}
+		freeRows[freeRowCount++] = row;
+	}
+
+	/**
+	 * Removes the cells of the given row.
+	 */
+	void clearRow(int row) {
+		for (Column column : columns) {
+			set(column.texts, row, null);
+			set(column.images, row, null);
+			remove(column.fonts, row);
+			remove(column.backgrounds, row);
+			remove(column.foregrounds, row);
+		}
+	}
+
+	/**
+	 * Inserts an empty column at the given index. Inserting the first column moves
+	 * the texts and images the items keep to the second one.
+	 */
+	void insertColumn(int index) {
+		columns.add(index, new Column());
+		if (index != 0) {
+			return;
+		}
+		Column second = columns.get(1);
+		for (int row = 0; row < items.size(); row++) {
+			Item item = items.get(row);
+			if (item == null) {
+				continue;
+			}
+			if (item.text != null && !item.text.isEmpty()) {
+				second.texts = put(second.texts, row, item.text);
+			}
+			if (item.image != null) {
+				second.images = put(second.images, row, item.image);
+			}
+			item.text = "";
+			item.image = null;
+		}
+	}
+
+	/**
+	 * Removes the column at the given index. Removing the first column moves the
+	 * texts and images of the second one to the items.
+	 */
+	void removeColumn(int index) {
+		columns.remove(index);
+		if (columns.isEmpty()) {
+			columns.add(new Column());
+		}
+		if (index != 0) {
+			return;
+		}
+		Column first = columns.get(0);
+		for (int row = 0; row < items.size(); row++) {
+			Item item = items.get(row);
+			if (item != null) {
+				String text = get(first.texts, row);
+				item.text = text != null ? text : "";
+				item.image = get(first.images, row);
+			}
+		}
+		first.texts = null;
+		first.images = null;
+	}
+
+	/**
+	 * Returns the text of the cell, <code>null</code> if it has none. The text of
+	 * the first column is kept by the item.
+	 */
+	String getText(int row, int column) {
+		return column > 0 && column < columns.size() ? get(columns.get(column).texts, row) : null;
+	}
+
+	void setText(int row, int column, String text) {
+		if (column > 0 && column < columns.size()) {
+			Column cells = columns.get(column);
+			cells.texts = put(cells.texts, row, text);
+		}
+	}
+
+	/**
+	 * Returns the image of the cell, <code>null</code> if it has none. The image
+	 * of the first column is kept by the item.
+	 */
+	Image getImage(int row, int column) {
+		return column > 0 && column < columns.size() ? get(columns.get(column).images, row) : null;
+	}
+
+	void setImage(int row, int column, Image image) {
+		if (column > 0 && column < columns.size()) {
+			Column cells = columns.get(column);
+			cells.images = put(cells.images, row, image);
+		}
+	}
+
+	/**
+	 * Returns whether a cell of the row other than the first one has an image.
+	 */
+	boolean hasImages(int row) {
+		for (int column = 1; column < columns.size(); column++) {
+			if (get(columns.get(column).images, row) != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the largest height of the images of the row except the one of the
+	 * first column, -1 if these cells have no images.
+	 */
+	int getImageHeight(int row) {
+		int height = -1;
+		for (int column = 1; column < columns.size(); column++) {
+			Image image = get(columns.get(column).images, row);
+			if (image != null) {
+				height = Math.max(height, image.getBounds().height);
+			}
+		}
+		return height;
+	}
+
+	Font getFont(int row, int column) {
+		return column >= 0 && column < columns.size() ? get(columns.get(column).fonts, row) : null;
+	}
+
+	void setFont(int row, int column, Font font) {
+		if (column >= 0 && column < columns.size()) {
+			Column cells = columns.get(column);
+			cells.fonts = put(cells.fonts, row, font);
+		}
+	}
+
+	Color getBackground(int row, int column) {
+		return column >= 0 && column < columns.size() ? get(columns.get(column).backgrounds, row) : null;
+	}
+
+	void setBackground(int row, int column, Color color) {
+		if (column >= 0 && column < columns.size()) {
+			Column cells = columns.get(column);
+			cells.backgrounds = put(cells.backgrounds, row, color);
+		}
+	}
+
+	Color getForeground(int row, int column) {
+		return column >= 0 && column < columns.size() ? get(columns.get(column).foregrounds, row) : null;
+	}
+
+	void setForeground(int row, int column, Color color) {
+		if (column >= 0 && column < columns.size()) {
+			Column cells = columns.get(column);
+			cells.foregrounds = put(cells.foregrounds, row, color);
+		}
+	}
+
+	private static <T> T get(T[] values, int row) {
+		return values != null && row < values.length ? values[row] : null;
+	}
+
+	private static <T> void set(T[] values, int row, T value) {
+		if (values != null && row < values.length) {
+			values[row] = value;
+		}
+	}
+
+	private String[] put(String[] values, int row, String value) {
+		if (values == null) {
+			if (value == null) {
+				return null;
+			}
+			values = new String[capacity(row)];
+		} else if (row >= values.length) {
+			if (value == null) {
+				return values;
+			}
+			values = Arrays.copyOf(values, capacity(row));
+		}
+		values[row] = value;
+		return values;
+	}
+
+	private Image[] put(Image[] values, int row, Image value) {
+		if (values == null) {
+			if (value == null) {
+				return null;
+			}
+			values = new Image[capacity(row)];
+		} else if (row >= values.length) {
+			if (value == null) {
+				return values;
+			}
+			values = Arrays.copyOf(values, capacity(row));
+		}
+		values[row] = value;
+		return values;
+	}
+
+	/**
+	 * Returns the length for a column array which has to hold the given row,
+	 * growing with the number of rows.
+	 */
+	private int capacity(int row) {
+		return Math.max(row + 1, Math.max(16, items.size() + (items.size() >> 1)));
+	}
+
+	private static <T> T get(Map<Integer, T> values, int row) {
+		return values != null ? values.get(row) : null;
+	}
+
+	private static <T> Map<Integer, T> put(Map<Integer, T> values, int row, T value) {
+		if (value == null) {
+			remove(values, row);
+			return values;
+		}
+		if (values == null) {
+			values = new HashMap<>();
+		}
+		values.put(row, value);
+		return values;
+	}
+
+	private static void remove(Map<Integer, ?> values, int row) {
+		if (values != null) {
+			values.remove(row);
+		}
+	}
+}
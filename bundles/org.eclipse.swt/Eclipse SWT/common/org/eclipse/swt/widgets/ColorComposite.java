@@ -139,6 +139,12 @@ public class ColorComposite extends Composite {
 		}
 	}
 
+	@Override
+	void releaseWidget() {
+		super.releaseWidget();
+		Drawing.releaseResources(this);
+	}
+
 	private void onPaint(Event event) {
 		Drawing.drawWithGC(this, event.gc, this::drawColorGrid);
 	}
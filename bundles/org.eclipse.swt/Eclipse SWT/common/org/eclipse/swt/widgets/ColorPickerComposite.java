@@ -183,6 +183,12 @@ public class ColorPickerComposite extends Composite {
 		redraw();
 	}
 
+	@Override
+	void releaseWidget() {
+		super.releaseWidget();
+		Drawing.releaseResources(drawArea);
+	}
+
 	private void onPaint(Event event) {
 		Drawing.drawWithGC(drawArea, event.gc, this::paint);
 	}
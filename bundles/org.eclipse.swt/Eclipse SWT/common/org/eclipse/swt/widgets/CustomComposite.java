@@ -46,7 +46,31 @@ public abstract class CustomComposite extends Composite {
 		super.setForeground(color);
 	}
 
+	@Override
+	void releaseWidget() {
+		super.releaseWidget();
+		Drawing.releaseResources(this);
+	}
+
+	@Override
+	public void redraw() {
+		checkWidget();
+		display.frameScheduler.requestRedraw(this, this::redrawNow);
+	}
 
+	@Override
+	public void redraw(int x, int y, int width, int height, boolean all) {
+		checkWidget();
+		display.frameScheduler.requestRedraw(this, x, y, width, height, all, this::redrawNow);
+	}
+
+	private void redrawNow(Rectangle area, boolean all) {
+		if (area == null) {
+			super.redraw();
+		} else {
+			super.redraw(area.x, area.y, area.width, area.height, all);
+		}
+	}
 
 	@Override
 	public Point getSize() {
@@ -32,10 +32,186 @@ public abstract class CustomControl extends NativeBasedCustomControl {
 	protected Color background;
 	protected Color foreground;
 
+	/**
+	 * The retained rendering of the renderer, replayed by paints until the state
+	 * of the control changes, see {@link #invalidateDisplayList()}. It is also
+	 * dropped when the background of a parent or the color provider of the
+	 * display changes.
+	 */
+	private final DisplayList displayList = new DisplayList();
+
 	protected CustomControl(Composite parent, int style) {
 		super(parent, style);
 	}
 
+	/**
+	 * Returns the display list to pass to
+	 * {@link Drawing#drawWithGC(Control, GC, DisplayList, java.util.function.Consumer)}
+	 * when painting the renderer.
+	 * @return the display list of this control
+	 * @noreference this is still experimental API and might be removed
+	 */
+	protected final DisplayList getDisplayList() {
+		return displayList;
+	}
+
+	/**
+	 * Drops the retained rendering, so that the renderer paints the control again
+	 * on the next paint. Every {@link #redraw()} invalidates it, so this only has
+	 * to be called when rendered state changes without a redraw.
+	 * @noreference this is still experimental API and might be removed
+	 */
+	protected void invalidateDisplayList() {
+		displayList.invalidate();
+	}
+
+	/**
+	 * Redraws the custom controls below the given composite and drops their
+	 * retained renderings, because a color they inherit, e.g. the background of
+	 * the composite, changed.
+	 */
+	static void invalidateDisplayLists(Composite composite) {
+		if (!DisplayList.isEnabled()) {
+			return;
+		}
+		for (Control child : composite._getChildren()) {
+			if (child instanceof CustomControl customControl) {
+				customControl.redraw();
+			} else if (child instanceof Composite childComposite) {
+				invalidateDisplayLists(childComposite);
+			}
+		}
+	}
+
+	/**
+	 * Returns the composite which paints this control and sends it its mouse
+	 * events, or <code>null</code> if the control paints itself.
+	 */
+	LightweightComposite getHost() {
+		return SWT.USE_SKIJA && parent instanceof LightweightComposite host ? host : null;
+	}
+
+	/**
+	 * Paints this lightweight control on a GC of its host, which draws relative to
+	 * the bounds of this control.
+	 */
+	void paintLightweight(GC gc) {
+		Event event = new Event();
+		event.gc = gc;
+		event.setBounds(gc.getClipping());
+		sendEvent(SWT.Paint, event);
+	}
+
+	/**
+	 * Updates a lightweight control after its bounds changed. Its native handle is
+	 * not moved or resized, the host repaints the previous area instead.
+	 */
+	private void boundsChanged(LightweightComposite host, Rectangle oldBounds) {
+		host.redraw(oldBounds.x, oldBounds.y, oldBounds.width, oldBounds.height, false);
+		if (oldBounds.x != x || oldBounds.y != y) {
+			sendEvent(SWT.Move);
+		}
+		if (oldBounds.width != width || oldBounds.height != height) {
+			sendEvent(SWT.Resize);
+		}
+	}
+
+	@Override
+	public void redraw() {
+		checkWidget();
+		invalidateDisplayList();
+		scheduleRedraw();
+	}
+
+	@Override
+	public void redraw(int x, int y, int width, int height, boolean all) {
+		checkWidget();
+		invalidateDisplayList();
+		display.frameScheduler.requestRedraw(this, x, y, width, height, all, this::redrawNow);
+	}
+
+	/**
+	 * Requests a redraw which keeps the retained rendering, which is merged with
+	 * the other redraws of this frame.
+	 */
+	private void scheduleRedraw() {
+		display.frameScheduler.requestRedraw(this, this::redrawNow);
+	}
+
+	private void redrawNow(Rectangle area, boolean all) {
+		LightweightComposite host = getHost();
+		if (host != null) {
+			Rectangle bounds = new Rectangle(0, 0, width, height);
+			if (area != null) {
+				bounds = bounds.intersection(area);
+			}
+			host.redraw(x + bounds.x, y + bounds.y, bounds.width, bounds.height, false);
+		} else if (area == null) {
+			super.redraw();
+		} else {
+			super.redraw(area.x, area.y, area.width, area.height, all);
+		}
+	}
+
+	@Override
+	public void update() {
+		checkWidget();
+		display.frameScheduler.flush(this);
+		LightweightComposite host = getHost();
+		if (host != null) {
+			host.update();
+		} else {
+			super.update();
+		}
+	}
+
+	@Override
+	public void setVisible(boolean visible) {
+		boolean changed = visible != getVisible();
+		super.setVisible(visible);
+		if (changed && getHost() != null) {
+			scheduleRedraw();
+		}
+	}
+
+	@Override
+	public Point toDisplay(int x, int y) {
+		LightweightComposite host = getHost();
+		if (host != null) {
+			checkWidget();
+			return host.toDisplay(this.x + x, this.y + y);
+		}
+		return super.toDisplay(x, y);
+	}
+
+	@Override
+	public Point toControl(int x, int y) {
+		LightweightComposite host = getHost();
+		if (host != null) {
+			checkWidget();
+			Point point = host.toControl(x, y);
+			return new Point(point.x - this.x, point.y - this.y);
+		}
+		return super.toControl(x, y);
+	}
+
+	@Override
+	public void setFont(Font font) {
+		invalidateDisplayList();
+		super.setFont(font);
+	}
+
+	@Override
+	void releaseWidget() {
+		LightweightComposite host = getHost();
+		if (host != null && !host.isDisposed()) {
+			host.redraw(x, y, width, height, false);
+		}
+		super.releaseWidget();
+		displayList.dispose();
+		Drawing.releaseResources(this);
+	}
+
 	@Override
 	public Point getSize() {
 		return new Point(width, height);
@@ -48,10 +224,17 @@ public abstract class CustomControl extends NativeBasedCustomControl {
 			return;
 		}
 
+		Rectangle oldBounds = getBounds();
 		this.width = width;
 		this.height = height;
-		super.setSize(this.width, this.height);
-		redraw();
+		LightweightComposite host = getHost();
+		if (host != null) {
+			boundsChanged(host, oldBounds);
+		} else {
+			super.setSize(this.width, this.height);
+		}
+		// a recording of the old size is not replayed, see DisplayList
+		scheduleRedraw();
 	}
 
 	@Override
@@ -75,10 +258,16 @@ public abstract class CustomControl extends NativeBasedCustomControl {
 			return;
 		}
 
+		Rectangle oldBounds = getBounds();
 		this.x = x;
 		this.y = y;
-		super.setLocation(x, y);
-		redraw();
+		LightweightComposite host = getHost();
+		if (host != null) {
+			boundsChanged(host, oldBounds);
+		} else {
+			super.setLocation(x, y);
+		}
+		scheduleRedraw();
 	}
 
 	@Override
@@ -101,12 +290,18 @@ public abstract class CustomControl extends NativeBasedCustomControl {
 			return;
 		}
 
+		Rectangle oldBounds = getBounds();
 		this.x = rect.x;
 		this.y = rect.y;
 		this.width = rect.width;
 		this.height = rect.height;
-		super.setBounds(rect);
-		redraw();
+		LightweightComposite host = getHost();
+		if (host != null) {
+			boundsChanged(host, oldBounds);
+		} else {
+			super.setBounds(rect);
+		}
+		scheduleRedraw();
 	}
 
 	@Override
@@ -120,6 +315,7 @@ public abstract class CustomControl extends NativeBasedCustomControl {
 			return;
 		}
 		super.setEnabled(enabled);
+		invalidateDisplayList();
 		if (parent.isEnabled()) {
 			redraw();
 		}
@@ -134,6 +330,7 @@ public abstract class CustomControl extends NativeBasedCustomControl {
 	public void setBackground(Color color) {
 		if (color != null && color.isDisposed ()) error (SWT.ERROR_INVALID_ARGUMENT);
 		this.background = color;
+		invalidateDisplayList();
 		super.setBackground(color);
 	}
 
@@ -146,6 +343,7 @@ public abstract class CustomControl extends NativeBasedCustomControl {
 	public void setForeground(Color color) {
 		if (color != null && color.isDisposed ()) error (SWT.ERROR_INVALID_ARGUMENT);
 		this.foreground = color;
+		invalidateDisplayList();
 		super.setForeground(color);
 	}
 
@@ -5,7 +5,7 @@ import org.eclipse.swt.graphics.*;
 
 public class DefaultListRenderer extends ListRenderer {
 
-	private final static int FLAGS = SWT.DRAW_DELIMITER | SWT.DRAW_TAB;
+	final static int FLAGS = SWT.DRAW_DELIMITER | SWT.DRAW_TAB;
 
 	private int lineHeight = -1;
 
@@ -32,8 +32,11 @@ public class DefaultListRenderer extends ListRenderer {
 		this.lineHeight = gc.getFontMetrics().getHeight();
 		int x = clientArea.x;
 		int y = clientArea.y;
+		int bottom = clientArea.y + clientArea.height;
+		int itemCount = list.getItemCount();
 
-		for (int i = list.getTopIndex(); i < list.getItems().length; i++) {
+		// only the items within the client area are painted
+		for (int i = list.getTopIndex(); i < itemCount && y < bottom; i++) {
 			drawTextLine(i, x, y, gc, clientArea);
 			y += lineHeight;
 		}
@@ -55,28 +58,27 @@ public class DefaultListRenderer extends ListRenderer {
 		}
 	}
 
-	private int calculateHorizontalAlignment(int x, Point textExtent, Rectangle clientArea) {
+	private int calculateHorizontalAlignment(int lineNumber, int x, Rectangle clientArea) {
 		if ((list.getStyle() & SWT.CENTER) != 0) {
-			return (clientArea.width - textExtent.x) / 2;
+			return (clientArea.width - list.getItemWidths().getWidth(lineNumber)) / 2;
 		}
 		if ((list.getStyle() & SWT.RIGHT) != 0) {
-			return clientArea.width - textExtent.x;
+			return clientArea.width - list.getItemWidths().getWidth(lineNumber);
 		}
 		return x;
 	}
 
 	private void drawTextLine(int lineNumber, int x, int y, GC gc, Rectangle clientArea) {
-		String text = list.getItems()[lineNumber];
-		Point textExtent = gc.textExtent(text);
+		String text = list.getItem(lineNumber);
 
-		int _x = calculateHorizontalAlignment(x, textExtent, clientArea);
+		int _x = calculateHorizontalAlignment(lineNumber, x, clientArea);
 		if (list.getHorizontalBar() != null) {
 			_x -= list.getHorizontalBar().getSelection();
 		}
 
 		if (list.isEnabled()) {
 			if (list.isSelected(lineNumber)) {
-				drawSelectedText(text, gc, _x, y, clientArea, textExtent);
+				drawSelectedText(text, gc, _x, y, clientArea);
 			} else {
 				gc.drawText(text, _x, y, true);
 
@@ -90,12 +92,12 @@ public class DefaultListRenderer extends ListRenderer {
 		}
 	}
 
-	private void drawSelectedText(String text, GC gc, int _x, int _y, Rectangle clientArea, Point textExtent) {
+	private void drawSelectedText(String text, GC gc, int _x, int _y, Rectangle clientArea) {
 		Color background = gc.getBackground();
 		Color foreground = gc.getForeground();
 		gc.setForeground(getColor(COLOR_SELECTION_FOREGROUND));
 		gc.setBackground(getColor(COLOR_SELECTION_BACKGROUND));
-		gc.fillRectangle(0, _y, clientArea.width, textExtent.y);
+		gc.fillRectangle(0, _y, clientArea.width, lineHeight);
 		gc.drawText(text, _x, _y);
 
 		gc.setForeground(foreground);
@@ -121,13 +123,9 @@ public class DefaultListRenderer extends ListRenderer {
 	}
 
 	public Point computeTextSize() {
-		int width = 0;
-		Point size = null;
-		for (String line : list.getItems()) {
-			size = getTextExtent(line);
-			width = Math.max(width, size.x);
-		}
-		int height = size != null ? size.y * list.getItemCount() : 0;
+		int itemCount = list.getItemCount();
+		int width = list.getItemWidths().getMaxWidth();
+		int height = itemCount > 0 ? getTextExtent(list.getItem(itemCount - 1)).y * itemCount : 0;
 		if (list.getHorizontalBar() != null) {
 			height += list.getHorizontalBar().getSize().y;
 		}
@@ -34,18 +34,18 @@ public class DefaultTextRenderer extends TextRenderer {
 
 		final Rectangle visibleArea = getVisibleArea();
 		final Rectangle clientArea = text.getClientArea();
+		final Rectangle damagedArea = getDamagedArea(gc, visibleArea, clientArea);
 
 		drawBackground(gc, clientArea, style, editable && enabled);
 
-		String[] lines = text.getDisplayLines();
-		boolean isTextEmpty = lines.length == 1 && lines[0].isEmpty();
+		boolean isTextEmpty = model.getCharCount() == 0;
 		String message = text.getMessage();
 		if (isTextEmpty && !text.isFocusControl() && message != null && !message.isEmpty()) {
 			drawPlaceholderMessage(gc);
 		} else {
-			drawText(visibleArea, clientArea, style, gc);
+			drawText(visibleArea, damagedArea, clientArea, style, gc);
 			if (text.isFocusControl()) {
-				drawSelection(gc, visibleArea);
+				drawSelection(gc, visibleArea, damagedArea);
 				drawCaret(gc, visibleArea);
 			}
 		}
@@ -84,24 +84,14 @@ public class DefaultTextRenderer extends TextRenderer {
 
 	@Override
 	protected Point getLocationByTextLocation(TextLocation textLocation, GC gc) {
-		String completeText = text.getDisplayLines()[textLocation.line];
+		String completeText = text.getDisplayLine(textLocation.line);
 		String beforeSelection = completeText.substring(0, textLocation.column);
 		gc.setFont(text.getFont());
-		Point completeTextExtent = gc.textExtent(completeText);
 		Point textExtent = gc.textExtent(beforeSelection);
-		int x;
-		Rectangle clientArea = text.getClientArea();
-		final int style = text.getStyle();
-		if ((style & SWT.CENTER) != 0) {
-			x = (clientArea.width - completeTextExtent.x) / 2;
-		} else if ((style & SWT.RIGHT) != 0) {
-			x = clientArea.width - completeTextExtent.x;
-		} else { // ((style & SWT.LEFT) != 0)
-			x = 0;
-		}
+		int x = getLineX(textLocation.line, text.getClientArea(), gc);
 		x += textExtent.x;
 		int y = textLocation.line * textExtent.y;
-		if ((style & SWT.BORDER) != 0) {
+		if ((text.getStyle() & SWT.BORDER) != 0) {
 			final int borderWidth = text.getBorderWidth();
 			x += borderWidth;
 			y += borderWidth;
@@ -111,7 +101,7 @@ public class DefaultTextRenderer extends TextRenderer {
 
 	@Override
 	protected int getLineHeight(GC gc) {
-		String str = text.getDisplayLines()[0];
+		String str = text.getDisplayLine(0);
 		return gc.textExtent(str).y;
 	}
 
@@ -130,25 +120,61 @@ public class DefaultTextRenderer extends TextRenderer {
 		}
 	}
 
-	private void drawText(Rectangle visibleArea, Rectangle clientArea, int style, GC gc) {
-		String[] lines = text.getDisplayLines();
-		for (int i = 0; i < lines.length; i++) {
-			String line = lines[i];
-			drawTextLine(line, i, visibleArea, clientArea, style, gc);
+	/**
+	 * Returns the x coordinate of the start of the given line depending on the
+	 * alignment, excluding the border.
+	 */
+	private int getLineX(int line, Rectangle clientArea, GC gc) {
+		final int style = text.getStyle();
+		if ((style & SWT.CENTER) != 0) {
+			return (clientArea.width - text.getLineWidths().getWidth(line, gc)) / 2;
+		} else if ((style & SWT.RIGHT) != 0) {
+			return clientArea.width - text.getLineWidths().getWidth(line, gc);
 		}
+		return 0;
 	}
 
-	private void drawTextLine(String text, int lineNumber, Rectangle visibleArea,
-							  Rectangle clientArea, int style, GC gc) {
-		Point completeTextExtent = gc.textExtent(text);
-		int _x = 0;
-		if ((style & SWT.CENTER) != 0) {
-			_x = (clientArea.width - completeTextExtent.x) / 2;
-		} else if ((style & SWT.RIGHT) != 0) {
-			_x = clientArea.width - completeTextExtent.x;
+	/**
+	 * Returns the part of the visible area which has to be painted, in the same
+	 * coordinates as the visible area. When only the caret blinks, this is just
+	 * the caret's bounds, so only the line of the caret is drawn again.
+	 */
+	private Rectangle getDamagedArea(GC gc, Rectangle visibleArea, Rectangle clientArea) {
+		Rectangle clipping = gc.getClipping();
+		Rectangle damagedArea = new Rectangle(visibleArea.x + clipping.x - clientArea.x,
+				visibleArea.y + clipping.y - clientArea.y, clipping.width, clipping.height);
+		return damagedArea.intersection(visibleArea);
+	}
+
+	/**
+	 * Returns the first and the last line which intersect the given area.
+	 */
+	private Point getVisibleLines(Rectangle visibleArea, int lineHeight) {
+		int top = visibleArea.y;
+		if ((text.getStyle() & SWT.BORDER) != 0) {
+			top -= text.getBorderWidth();
 		}
-		_x -= visibleArea.x;
-		int _y = lineNumber * completeTextExtent.y - visibleArea.y;
+		int lastLine = model.getLineCount() - 1;
+		int first = Math.min(Math.max(top / lineHeight, 0), lastLine);
+		int last = Math.min(Math.max((top + visibleArea.height - 1) / lineHeight, 0), lastLine);
+		return new Point(first, last);
+	}
+
+	private void drawText(Rectangle visibleArea, Rectangle damagedArea, Rectangle clientArea, int style, GC gc) {
+		if (damagedArea.isEmpty()) {
+			return;
+		}
+		int lineHeight = Math.max(getLineHeight(gc), 1);
+		Point lines = getVisibleLines(damagedArea, lineHeight);
+		for (int i = lines.x; i <= lines.y; i++) {
+			drawTextLine(text.getDisplayLine(i), i, lineHeight, visibleArea, clientArea, style, gc);
+		}
+	}
+
+	private void drawTextLine(String text, int lineNumber, int lineHeight, Rectangle visibleArea,
+							  Rectangle clientArea, int style, GC gc) {
+		int _x = getLineX(lineNumber, clientArea, gc) - visibleArea.x;
+		int _y = lineNumber * lineHeight - visibleArea.y;
 		if ((style & SWT.BORDER) != 0) {
 			final int borderWidth = this.text.getBorderWidth();
 			_x += borderWidth;
@@ -157,23 +183,25 @@ public class DefaultTextRenderer extends TextRenderer {
 		gc.drawText(text, _x, _y, true);
 	}
 
-	private void drawSelection(GC gc, Rectangle visibleArea) {
+	private void drawSelection(GC gc, Rectangle visibleArea, Rectangle damagedArea) {
 		int textLength = text.getDisplayText().length();
 		int start = Math.min(Math.max(model.getSelectionStart(), 0), textLength);
 		int end = Math.min(Math.max(model.getSelectionEnd(), 0), textLength);
 
-		if (model.getSelectionStart() >= 0) {
+		if (model.getSelectionStart() >= 0 && !damagedArea.isEmpty()) {
 			TextLocation startLocation = model.getLocation(start);
 			TextLocation endLocation = model.getLocation(end);
-			String[] textLines = text.getDisplayLines();
+			Point visibleLines = getVisibleLines(damagedArea, Math.max(getLineHeight(gc), 1));
+			int firstLine = Math.max(startLocation.line, visibleLines.x);
+			int lastLine = Math.min(endLocation.line, visibleLines.y);
 
 			Color oldForeground = gc.getForeground();
 			Color oldBackground = gc.getBackground();
 			gc.setForeground(getColor(COLOR_SELECTION_FOREGROUND));
 			gc.setBackground(getColor(COLOR_SELECTION_BACKGROUND));
-			for (int i = startLocation.line; i <= endLocation.line; i++) {
+			for (int i = firstLine; i <= lastLine; i++) {
 				TextLocation location = new TextLocation(i, 0);
-				String text = textLines[i];
+				String text = this.text.getDisplayLine(i);
 				if (i == endLocation.line) {
 					text = text.substring(0, endLocation.column);
 				}
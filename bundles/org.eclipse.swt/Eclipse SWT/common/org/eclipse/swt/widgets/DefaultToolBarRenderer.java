@@ -16,7 +16,6 @@ package org.eclipse.swt.widgets;
 import java.util.*;
 import java.util.List;
 
-import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.widgets.*;
 import org.eclipse.swt.widgets.ToolBarLayout.*;
@@ -33,7 +32,9 @@ class DefaultToolBarRenderer extends ToolBarRenderer {
 	public static final String COLOR_SELECTION_BACKGROUND = "toolbar.background.selection"; //$NON-NLS-1$
 	public static final String COLOR_SELECTION_BORDER = "toolbar.selection.border"; //$NON-NLS-1$
 
-	private int rowCount = SWT.DEFAULT;
+	/** the layout of the last painted size, <code>null</code> if it is not valid */
+	private ToolBarLayout layout;
+	private Point layoutSize;
 
 	public DefaultToolBarRenderer(ToolBar toolbar) {
 		super(toolbar);
@@ -42,10 +43,25 @@ class DefaultToolBarRenderer extends ToolBarRenderer {
 	@Override
 	public void paint(GC gc, int width, int height) {
 		Point size = new Point(width, height);
-		ToolBarLayout layout = computeLayout(size);
-		rowCount = layout.rows().size();
+		render(gc, size, getLayout(size).rows());
+	}
+
+	/**
+	 * Returns the layout for the given size, which is only computed again if the
+	 * size changed or the layout was invalidated.
+	 */
+	private ToolBarLayout getLayout(Point size) {
+		if (layout == null || !size.equals(layoutSize)) {
+			layout = computeLayout(size);
+			layoutSize = size;
+		}
+		return layout;
+	}
 
-		render(gc, size, layout.rows());
+	@Override
+	void invalidateLayout() {
+		layout = null;
+		layoutSize = null;
 	}
 
 	private void render(GC gc, Point size, List<Row> rows) {
@@ -58,10 +74,14 @@ class DefaultToolBarRenderer extends ToolBarRenderer {
 			gc.drawLine(0, 0, size.x, 0);
 		}
 
+		// a redraw of single items only needs these items to be rendered
+		final Rectangle clipping = gc.getClipping();
 		for (Row row : rows) {
 			for (ItemRecord itemRecord : row.items) {
 				final ToolItem item = toolBar.getItem(itemRecord.index());
-				item.render(gc, itemRecord.bounds());
+				if (item.isSeparator() || clipping.intersects(itemRecord.bounds())) {
+					item.render(gc, itemRecord.bounds());
+				}
 			}
 			if (row.hasRowSeparator) {
 				drawHorizontalSeparator(gc, row, colorProvider);
@@ -118,10 +138,6 @@ class DefaultToolBarRenderer extends ToolBarRenderer {
 
 	@Override
 	public int rowCount() {
-		if (rowCount == SWT.DEFAULT) {
-			Point size = toolBar.getSize();
-			rowCount = computeLayout(size).rows().size();
-		}
-		return rowCount;
+		return getLayout(toolBar.getSize()).rows().size();
 	}
 }
@@ -13,14 +13,22 @@
  *******************************************************************************/
 package org.eclipse.swt.widgets;
 
+import java.util.function.*;
+
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.DeviceData;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Point;
 
 public abstract class DisplayCommon extends Device {
 
 	private ColorProvider colorProvider;
 	private RendererFactory rendererFactory;
+	final FrameScheduler frameScheduler = new FrameScheduler();
+	/** the GC shared by the measurements of custom-drawn controls, created on first use */
+	GC measureGC;
+	boolean measureGCInUse;
 
 	public DisplayCommon(DeviceData data) {
 		super(data);
@@ -61,6 +69,76 @@ public abstract class DisplayCommon extends Device {
 	public final void setColorProvider(ColorProvider colorProvider) {
 		if (colorProvider == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
 		this.colorProvider = colorProvider;
-		// todo: redraw all (custom-drawn) widgets
+		for (Shell shell : ((Display) this).getShells()) {
+			CustomControl.invalidateDisplayLists(shell);
+			Point size = shell.getSize();
+			shell.redraw(0, 0, size.x, size.y, true);
+		}
+	}
+
+	/**
+	 * Applies the given measuring operation to a GC which is shared by all
+	 * custom-drawn controls of this display. The GC is created with the given
+	 * factory on first use and disposed with the display. Nested measurements get
+	 * a GC of their own, which is disposed afterwards.
+	 * @param <T> the type of result of the operation
+	 * @param factory creates a measuring GC
+	 * @param operation the operation to apply
+	 * @return the result of the operation
+	 * @noreference this is still experimental API and might be removed
+	 */
+	public final <T> T applyToMeasureGC(Supplier<GC> factory, Function<GC, T> operation) {
+		if (measureGCInUse) {
+			// nested measurement, e.g. from within a renderer's measure operation
+			GC gc = factory.get();
+			try {
+				return operation.apply(gc);
+			} finally {
+				gc.dispose();
+			}
+		}
+		if (measureGC == null) {
+			measureGC = factory.get();
+			((Display) this).disposeExec(measureGC::dispose);
+		}
+		measureGCInUse = true;
+		try {
+			return operation.apply(measureGC);
+		} finally {
+			measureGCInUse = false;
+		}
+	}
+
+	/**
+	 * Issues all redraws which custom-drawn controls requested and which are
+	 * still pending, and paints these controls immediately. Redraws of
+	 * custom-drawn controls are merged and issued once per frame otherwise.
+	 * @noreference this is still experimental API and might be removed
+	 */
+	public final void flushRedraws() {
+		for (Control control : frameScheduler.flush()) {
+			if (!control.isDisposed()) {
+				control.update();
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of redraws custom-drawn controls requested.
+	 * @return the number of requested redraws
+	 * @noreference this is still experimental API and might be removed
+	 */
+	public final long getRequestedRedrawCount() {
+		return frameScheduler.getRequestedCount();
+	}
+
+	/**
+	 * Returns the number of redraws which were actually issued for custom-drawn
+	 * controls after merging the requested ones.
+	 * @return the number of issued redraws
+	 * @noreference this is still experimental API and might be removed
+	 */
+	public final long getExecutedRedrawCount() {
+		return frameScheduler.getExecutedCount();
 	}
 }
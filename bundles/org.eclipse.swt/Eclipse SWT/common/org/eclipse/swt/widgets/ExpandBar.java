@@ -379,6 +379,12 @@ public void removeExpandListener (ExpandListener listener) {
 	eventTable.unhook (SWT.Collapse, listener);
 }
 
+@Override
+void releaseWidget () {
+	super.releaseWidget ();
+	Drawing.releaseResources (this);
+}
+
 @Override
 void reskinChildren (int flags) {
 	if (items != null) {
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import java.util.*;
+import java.util.List;
+
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Collects the redraw requests of the custom-drawn controls of a display and
+ * issues them once per frame. Custom controls request redraws very liberally,
+ * e.g. once per added list item or per moved control during a layout. The
+ * requested areas of each control are merged into their union and redrawn when
+ * the frame is flushed.
+ * <p>
+ * By default a frame ends when the event loop processes the next runnable, so
+ * all redraws requested while handling one event result in one redraw per
+ * control. The system property
+ * <code>org.eclipse.swt.widgets.Display.frameInterval</code> sets a fixed frame
+ * interval in milliseconds instead, a negative value issues every redraw
+ * immediately. {@link Control#update()} of a custom control flushes its pending
+ * redraw first, {@link Composite#update()} also flushes the ones of its
+ * descendants and {@link Display#update()} flushes all of them.
+ * </p>
+ */
+final class FrameScheduler {
+
+	static final String INTERVAL_PROPERTY = "org.eclipse.swt.widgets.Display.frameInterval"; //$NON-NLS-1$
+
+	/**
+	 * Issues the redraw of a control, of the whole control if the area is
+	 * <code>null</code>.
+	 */
+	@FunctionalInterface
+	interface Redraw {
+		void redraw(Rectangle area, boolean all);
+	}
+
+	private static final class DirtyArea {
+		final Redraw redraw;
+		/** the union of the requested areas, <code>null</code> for the whole control */
+		Rectangle area;
+		boolean all;
+
+		DirtyArea(Redraw redraw, Rectangle area, boolean all) {
+			this.redraw = redraw;
+			this.area = area;
+			this.all = all;
+		}
+	}
+
+	private final int interval = Integer.getInteger(INTERVAL_PROPERTY, 0);
+	private final Map<Control, DirtyArea> dirtyAreas = new LinkedHashMap<>();
+	private boolean scheduled;
+
+	private long requestedCount;
+	private long executedCount;
+
+	/**
+	 * Requests a redraw of the whole control.
+	 */
+	void requestRedraw(Control control, Redraw redraw) {
+		request(control, null, false, redraw);
+	}
+
+	/**
+	 * Requests a redraw of the given area of the control.
+	 */
+	void requestRedraw(Control control, int x, int y, int width, int height, boolean all, Redraw redraw) {
+		request(control, new Rectangle(x, y, width, height), all, redraw);
+	}
+
+	private void request(Control control, Rectangle area, boolean all, Redraw redraw) {
+		requestedCount++;
+		if (interval < 0) {
+			executedCount++;
+			redraw.redraw(area, all);
+			return;
+		}
+
+		DirtyArea dirtyArea = dirtyAreas.get(control);
+		if (dirtyArea == null) {
+			dirtyAreas.put(control, new DirtyArea(redraw, area, all));
+		} else {
+			dirtyArea.area = dirtyArea.area == null || area == null ? null : dirtyArea.area.union(area);
+			dirtyArea.all |= all;
+		}
+		schedule(control.getDisplay());
+	}
+
+	private void schedule(Display display) {
+		if (scheduled || display.isDisposed()) {
+			return;
+		}
+		scheduled = true;
+		if (interval == 0) {
+			display.asyncExec(this::flush);
+		} else {
+			display.timerExec(interval, this::flush);
+		}
+	}
+
+	/**
+	 * Issues the pending redraw of the given control, if any.
+	 */
+	void flush(Control control) {
+		DirtyArea dirtyArea = dirtyAreas.remove(control);
+		if (dirtyArea != null) {
+			execute(control, dirtyArea);
+		}
+	}
+
+	/**
+	 * Issues the pending redraws of the given control and of all its descendants.
+	 */
+	void flushTree(Control root) {
+		if (dirtyAreas.isEmpty()) {
+			return;
+		}
+		List<Control> controls = new ArrayList<>();
+		for (Control control : dirtyAreas.keySet()) {
+			if (isInTree(root, control)) {
+				controls.add(control);
+			}
+		}
+		for (Control control : controls) {
+			flush(control);
+		}
+	}
+
+	private static boolean isInTree(Control root, Control control) {
+		for (Control ancestor = control; ancestor != null; ancestor = ancestor.parent) {
+			if (ancestor == root) {
+				return true;
+			}
+			if (ancestor instanceof Shell) {
+				// the controls of child shells are not painted by their parent shell
+				break;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Issues all pending redraws and returns the controls they were issued for.
+	 */
+	List<Control> flush() {
+		scheduled = false;
+		if (dirtyAreas.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		List<Control> controls = new ArrayList<>(dirtyAreas.keySet());
+		List<DirtyArea> areas = new ArrayList<>(dirtyAreas.values());
+		dirtyAreas.clear();
+		for (int i = 0; i < controls.size(); i++) {
+			execute(controls.get(i), areas.get(i));
+		}
+		return controls;
+	}
+
+	private void execute(Control control, DirtyArea dirtyArea) {
+		if (control.isDisposed()) {
+			return;
+		}
+		executedCount++;
+		Rectangle area = dirtyArea.area;
+		if (area == null && dirtyArea.all) {
+			// a redraw of the whole control does not include its children
+			Point size = control.getSize();
+			area = new Rectangle(0, 0, size.x, size.y);
+		}
+		dirtyArea.redraw.redraw(area, dirtyArea.all);
+	}
+
+	/**
+	 * Returns the number of redraws requested by custom controls.
+	 */
+	long getRequestedCount() {
+		return requestedCount;
+	}
+
+	/**
+	 * Returns the number of redraws issued after merging the requests.
+	 */
+	long getExecutedCount() {
+		return executedCount;
+	}
+}
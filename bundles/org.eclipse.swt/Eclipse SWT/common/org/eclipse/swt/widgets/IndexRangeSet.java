@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import java.util.*;
+
+/**
+ * A set of non negative indices, e.g. the selected rows of a {@link Table},
+ * kept as disjoint ranges of consecutive indices. The ranges are stored in a
+ * balanced tree by their start, so selecting all rows or a range of rows
+ * results in a single range, and the time of all operations depends on the
+ * number of ranges, not on the number of indices.
+ */
+class IndexRangeSet {
+
+	/** the start of each range mapped to its exclusive end */
+	private final TreeMap<Integer, Integer> ranges = new TreeMap<>();
+	private int size;
+
+	/**
+	 * Returns the number of indices.
+	 */
+	int size() {
+		return size;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	void clear() {
+		ranges.clear();
+		size = 0;
+	}
+
+	boolean contains(int index) {
+		Map.Entry<Integer, Integer> range = ranges.floorEntry(index);
+		return range != null && index < range.getValue();
+	}
+
+	/**
+	 * Returns the smallest index or -1 if the set is empty.
+	 */
+	int first() {
+		return ranges.isEmpty() ? -1 : ranges.firstKey();
+	}
+
+	/**
+	 * Adds the indices from start to end, both inclusive.
+	 */
+	void add(int start, int end) {
+		if (start > end) {
+			return;
+		}
+		remove(start, end);
+		size += end + 1 - start;
+
+		int limit = end + 1;
+		Map.Entry<Integer, Integer> previous = ranges.lowerEntry(start);
+		if (previous != null && previous.getValue() == start) {
+			start = previous.getKey();
+		}
+		Integer nextEnd = ranges.remove(limit);
+		if (nextEnd != null) {
+			limit = nextEnd;
+		}
+		ranges.put(start, limit);
+	}
+
+	void add(int index) {
+		add(index, index);
+	}
+
+	/**
+	 * Removes the indices from start to end, both inclusive.
+	 */
+	void remove(int start, int end) {
+		if (start > end || ranges.isEmpty()) {
+			return;
+		}
+		int limit = end + 1;
+
+		Map.Entry<Integer, Integer> first = ranges.lowerEntry(start);
+		if (first != null && first.getValue() > start) {
+			ranges.put(first.getKey(), start);
+			if (first.getValue() > limit) {
+				ranges.put(limit, first.getValue());
+			}
+			size -= Math.min(first.getValue(), limit) - start;
+		}
+
+		Iterator<Map.Entry<Integer, Integer>> iterator = ranges.subMap(start, true, limit, false).entrySet().iterator();
+		int lastEnd = limit;
+		while (iterator.hasNext()) {
+			Map.Entry<Integer, Integer> range = iterator.next();
+			int rangeEnd = range.getValue();
+			size -= Math.min(rangeEnd, limit) - range.getKey();
+			lastEnd = Math.max(lastEnd, rangeEnd);
+			iterator.remove();
+		}
+		if (lastEnd > limit) {
+			ranges.put(limit, lastEnd);
+		}
+	}
+
+	void remove(int index) {
+		remove(index, index);
+	}
+
+	/**
+	 * Replaces the set by its complement within the indices from 0 to
+	 * <code>count - 1</code>.
+	 */
+	void invert(int count) {
+		TreeMap<Integer, Integer> inverted = new TreeMap<>();
+		int start = 0;
+		for (Map.Entry<Integer, Integer> range : ranges.headMap(count, false).entrySet()) {
+			if (range.getKey() > start) {
+				inverted.put(start, range.getKey());
+			}
+			start = range.getValue();
+		}
+		if (start < count) {
+			inverted.put(start, count);
+		}
+		ranges.clear();
+		ranges.putAll(inverted);
+		recount();
+	}
+
+	/**
+	 * Has to be called after an index was inserted before the given index, moves
+	 * all indices starting at it by one. The inserted index is not contained.
+	 */
+	void insert(int index) {
+		shift(index, 1);
+	}
+
+	/**
+	 * Has to be called after the given index was deleted, removes it and moves
+	 * all indices after it back by one.
+	 */
+	void delete(int index) {
+		remove(index);
+		shift(index + 1, -1);
+	}
+
+	/**
+	 * Removes all indices from the given one on, e.g. after the number of rows
+	 * was reduced.
+	 */
+	void truncate(int count) {
+		if (!ranges.isEmpty()) {
+			remove(count, ranges.lastEntry().getValue() - 1);
+		}
+	}
+
+	private void shift(int from, int offset) {
+		if (ranges.isEmpty() || ranges.lastEntry().getValue() <= from) {
+			return;
+		}
+
+		Map.Entry<Integer, Integer> split = ranges.lowerEntry(from);
+		if (split != null && split.getValue() > from) {
+			ranges.put(split.getKey(), from);
+			ranges.put(from, split.getValue());
+		}
+
+		SortedMap<Integer, Integer> moved = ranges.tailMap(from);
+		int[] starts = new int[moved.size()];
+		int[] ends = new int[starts.length];
+		int i = 0;
+		for (Map.Entry<Integer, Integer> range : moved.entrySet()) {
+			starts[i] = range.getKey();
+			ends[i++] = range.getValue();
+		}
+		moved.clear();
+		for (i = 0; i < starts.length; i++) {
+			ranges.put(starts[i] + offset, ends[i] + offset);
+		}
+		normalize();
+	}
+
+	/**
+	 * Merges adjacent ranges after they were moved.
+	 */
+	private void normalize() {
+		Iterator<Map.Entry<Integer, Integer>> iterator = ranges.entrySet().iterator();
+		Map.Entry<Integer, Integer> previous = null;
+		while (iterator.hasNext()) {
+			Map.Entry<Integer, Integer> range = iterator.next();
+			if (previous != null && previous.getValue() >= range.getKey()) {
+				previous.setValue(Math.max(previous.getValue(), range.getValue()));
+				iterator.remove();
+			} else {
+				previous = range;
+			}
+		}
+	}
+
+	private void recount() {
+		int count = 0;
+		for (Map.Entry<Integer, Integer> range : ranges.entrySet()) {
+			count += range.getValue() - range.getKey();
+		}
+		size = count;
+	}
+
+	/**
+	 * Returns the indices in ascending order.
+	 */
+	int[] toArray() {
+		int[] indices = new int[size];
+		int i = 0;
+		for (Map.Entry<Integer, Integer> range : ranges.entrySet()) {
+			for (int index = range.getKey(); index < range.getValue(); index++) {
+				indices[i++] = index;
+			}
+		}
+		return indices;
+	}
+}
@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import java.util.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+
+/**
+ * A composite which paints its custom-drawn children, like labels and buttons,
+ * itself. All children are painted in one pass onto the drawing surface of the
+ * composite, which is transferred to the screen once, instead of every child
+ * painting and transferring its own surface. The mouse events over a child are
+ * hit tested in Java and sent to the topmost visible and enabled child at the
+ * pointer, which also gets the mouse enter and exit events.
+ * <p>
+ * On GTK the lightweight children have no native handle at all. The composite
+ * keeps the keyboard focus for them, forwards the focus, key and traverse
+ * events to the focused child, moves the focus between the children on tab
+ * traversal and shows the cursor of the child under the pointer. Their
+ * accessibles are children of the composite's accessible. Tool tips, drag and
+ * drop and creating a GC on a lightweight child are not supported. On the
+ * other platforms the children keep a native handle for the keyboard focus and
+ * accessibility, which is neither moved nor resized, so it is never shown.
+ * </p>
+ * <p>
+ * Children which are not {@link CustomControl custom controls} are not hosted
+ * and keep painting and receiving events themselves. Lightweight children are
+ * only hosted when rendering with Skija.
+ * </p>
+ *
+ * @since 3.130
+ * @noreference this is still experimental API and might be removed
+ */
+public class LightweightComposite extends Composite {
+
+	/** the child which got the last mouse enter event */
+	private CustomControl hoverChild;
+	/** the child which got the last mouse down event and gets all mouse events until the button is released */
+	private CustomControl captureChild;
+	/** the children without a native handle from top to bottom, null if there are none */
+	private ArrayList<Control> lightweightChildren;
+	/** the lightweight child which gets the focus and key events while this composite has the focus */
+	private Control focusChild;
+
+	public LightweightComposite(Composite parent, int style) {
+		super(parent, style);
+
+		Listener listener = event -> {
+			switch (event.type) {
+			case SWT.Paint -> onPaint(event);
+			case SWT.MouseDown, SWT.MouseUp, SWT.MouseMove, SWT.MouseDoubleClick -> onMouse(event);
+			case SWT.MouseExit -> onMouseExit(event);
+			case SWT.FocusIn -> onFocusIn();
+			case SWT.FocusOut -> onFocusOut();
+			case SWT.KeyDown, SWT.KeyUp -> onKey(event);
+			case SWT.Traverse -> onTraverse(event);
+			}
+		};
+		addListener(SWT.Paint, listener);
+		addListener(SWT.MouseDown, listener);
+		addListener(SWT.MouseUp, listener);
+		addListener(SWT.MouseMove, listener);
+		addListener(SWT.MouseDoubleClick, listener);
+		addListener(SWT.MouseExit, listener);
+		addListener(SWT.FocusIn, listener);
+		addListener(SWT.FocusOut, listener);
+		addListener(SWT.KeyDown, listener);
+		addListener(SWT.KeyUp, listener);
+		addListener(SWT.Traverse, listener);
+	}
+
+	@Override
+	Control[] _getChildren() {
+		Control[] children = super._getChildren();
+		if (lightweightChildren == null || lightweightChildren.isEmpty()) {
+			return children;
+		}
+		// the native children are shown above the lightweight ones painted by this composite
+		Control[] allChildren = Arrays.copyOf(children, children.length + lightweightChildren.size());
+		for (int i = 0; i < lightweightChildren.size(); i++) {
+			allChildren[children.length + i] = lightweightChildren.get(i);
+		}
+		return allChildren;
+	}
+
+	/**
+	 * Adds a child without a native handle, which is below all other children.
+	 */
+	void addLightweightChild(Control child) {
+		if (lightweightChildren == null) {
+			lightweightChildren = new ArrayList<>();
+		}
+		lightweightChildren.add(child);
+	}
+
+	void removeLightweightChild(Control child) {
+		if (lightweightChildren != null) {
+			lightweightChildren.remove(child);
+		}
+		if (child == hoverChild) {
+			hoverChild = null;
+		}
+		if (child == captureChild) {
+			captureChild = null;
+		}
+		if (child == focusChild) {
+			focusChild = null;
+		}
+	}
+
+	/**
+	 * Moves a child without a native handle above or below the given sibling, or
+	 * to the top or bottom of the lightweight children if the sibling is
+	 * <code>null</code> or has a native handle.
+	 */
+	void moveLightweightChild(Control child, Control sibling, boolean above) {
+		lightweightChildren.remove(child);
+		int index = sibling != null ? lightweightChildren.indexOf(sibling) : -1;
+		if (index < 0) {
+			index = above ? 0 : lightweightChildren.size();
+		} else if (!above) {
+			index++;
+		}
+		lightweightChildren.add(index, child);
+		redraw();
+	}
+
+	/**
+	 * Makes the given lightweight child the one which gets the focus and key
+	 * events, and takes the focus if this composite does not have it yet.
+	 *
+	 * @return whether the child has the focus now
+	 */
+	boolean setFocusChild(Control child) {
+		if (!isFocusControl()) {
+			focusChild = child;
+			// the focus in event is forwarded to the child
+			return forceFocus();
+		}
+		if (child != focusChild) {
+			Control oldChild = focusChild;
+			focusChild = child;
+			if (oldChild != null && !oldChild.isDisposed()) {
+				oldChild.sendEvent(SWT.FocusOut);
+			}
+			if (!child.isDisposed()) {
+				child.sendEvent(SWT.FocusIn);
+			}
+		}
+		return true;
+	}
+
+	boolean isFocusChild(Control child) {
+		return child == focusChild && isFocusControl();
+	}
+
+	boolean isHoverChild(Control child) {
+		return child == hoverChild;
+	}
+
+	/**
+	 * Moves the focus away from a lightweight child that was hidden or disabled,
+	 * and stops sending it the mouse events.
+	 */
+	void lightweightChildDeactivated(Control child) {
+		if (child == captureChild) {
+			captureChild = null;
+		}
+		if (child == focusChild) {
+			if (isFocusControl()) {
+				Control next = findFocusCandidate();
+				if (next != null) {
+					setFocusChild(next);
+				} else {
+					focusChild = null;
+					child.sendEvent(SWT.FocusOut);
+				}
+			} else {
+				focusChild = null;
+			}
+		}
+	}
+
+	private void onPaint(Event event) {
+		if (!SWT.USE_SKIJA) {
+			return;
+		}
+		Control[] children = _getChildren();
+		Drawing.drawWithGC(this, event.gc, gc -> {
+			Rectangle clipping = gc.getClipping();
+			// the children are ordered from top to bottom
+			for (int i = children.length - 1; i >= 0; i--) {
+				if (children[i] instanceof CustomControl child && child.getVisible()
+						&& child.getBounds().intersects(clipping)) {
+					Drawing.drawChild(child, gc, child::paintLightweight);
+				}
+			}
+		});
+	}
+
+	private void onMouse(Event event) {
+		if (!SWT.USE_SKIJA) {
+			return;
+		}
+		CustomControl child = findChild(event.x, event.y);
+		if (captureChild != null && captureChild.isDisposed()) {
+			captureChild = null;
+		}
+		CustomControl target = captureChild != null ? captureChild : child;
+		switch (event.type) {
+		case SWT.MouseMove -> {
+			if (captureChild == null) {
+				setHoverChild(child, event);
+			}
+		}
+		case SWT.MouseDown -> captureChild = child;
+		case SWT.MouseUp -> captureChild = null;
+		}
+		if (target != null) {
+			sendMouseEvent(target, event.type, event);
+		}
+		if (event.type == SWT.MouseUp) {
+			setHoverChild(child, event);
+		}
+	}
+
+	private void onMouseExit(Event event) {
+		if (captureChild == null) {
+			setHoverChild(null, event);
+		}
+	}
+
+	private void setHoverChild(CustomControl child, Event event) {
+		if (child == hoverChild) {
+			return;
+		}
+		if (hoverChild != null && !hoverChild.isDisposed()) {
+			sendMouseEvent(hoverChild, SWT.MouseExit, event);
+		}
+		boolean hadHoverChild = hoverChild != null;
+		hoverChild = child;
+		if (hadHoverChild) {
+			// shows the cursor of this composite again
+			setCursor(getCursor());
+		}
+		if (child != null) {
+			sendMouseEvent(child, SWT.MouseEnter, event);
+			if (!child.isDisposed() && child.getCursor() != null) {
+				// a lightweight child shows its cursor on this composite once it is hovered
+				child.setCursor(child.getCursor());
+			}
+		}
+	}
+
+	private void onFocusIn() {
+		if (focusChild == null || focusChild.isDisposed() || !canFocus(focusChild)) {
+			focusChild = findFocusCandidate();
+		}
+		if (focusChild != null) {
+			focusChild.sendEvent(SWT.FocusIn);
+		}
+	}
+
+	private void onFocusOut() {
+		if (focusChild != null && !focusChild.isDisposed()) {
+			focusChild.sendEvent(SWT.FocusOut);
+		}
+	}
+
+	private void onKey(Event event) {
+		if (focusChild == null || focusChild.isDisposed()) {
+			return;
+		}
+		Event childEvent = keyEvent(event);
+		focusChild.sendEvent(event.type, childEvent);
+		event.doit = childEvent.doit;
+	}
+
+	private void onTraverse(Event event) {
+		// this composite hooks the keys, which turns its traversal off, so it is allowed here
+		boolean traversal = switch (event.detail) {
+		case SWT.TRAVERSE_TAB_NEXT, SWT.TRAVERSE_TAB_PREVIOUS, SWT.TRAVERSE_RETURN, SWT.TRAVERSE_PAGE_NEXT,
+				SWT.TRAVERSE_PAGE_PREVIOUS ->
+			true;
+		default -> false;
+		};
+		if (focusChild == null || focusChild.isDisposed()) {
+			event.doit |= traversal;
+			return;
+		}
+		Event childEvent = keyEvent(event);
+		childEvent.detail = event.detail;
+		childEvent.doit |= traversal;
+		focusChild.sendEvent(SWT.Traverse, childEvent);
+		if (isDisposed()) {
+			return;
+		}
+		event.detail = childEvent.detail;
+		event.doit = childEvent.doit;
+		if (event.doit && (event.detail == SWT.TRAVERSE_TAB_NEXT || event.detail == SWT.TRAVERSE_TAB_PREVIOUS)
+				&& moveFocus(event.detail == SWT.TRAVERSE_TAB_NEXT)) {
+			// the focus stays in this composite, otherwise it traverses to the next control
+			event.detail = SWT.TRAVERSE_NONE;
+		}
+	}
+
+	/**
+	 * Moves the focus to the next or previous lightweight child which takes it.
+	 *
+	 * @return whether the focus moved
+	 */
+	private boolean moveFocus(boolean next) {
+		int index = lightweightChildren.indexOf(focusChild);
+		int offset = next ? 1 : -1;
+		for (int i = index + offset; i >= 0 && i < lightweightChildren.size(); i += offset) {
+			Control child = lightweightChildren.get(i);
+			if (canFocus(child) && child.setFocus()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Control findFocusCandidate() {
+		if (lightweightChildren != null) {
+			for (Control child : lightweightChildren) {
+				if (canFocus(child)) {
+					return child;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static boolean canFocus(Control child) {
+		return (child.getStyle() & SWT.NO_FOCUS) == 0 && child.getVisible() && child.getEnabled();
+	}
+
+	private static Event keyEvent(Event event) {
+		Event childEvent = new Event();
+		childEvent.character = event.character;
+		childEvent.keyCode = event.keyCode;
+		childEvent.keyLocation = event.keyLocation;
+		childEvent.stateMask = event.stateMask;
+		childEvent.time = event.time;
+		childEvent.doit = event.doit;
+		return childEvent;
+	}
+
+	/**
+	 * Returns the topmost visible and enabled custom control at the given point,
+	 * or <code>null</code> if there is none.
+	 */
+	private CustomControl findChild(int x, int y) {
+		for (Control child : _getChildren()) {
+			if (child instanceof CustomControl customControl && customControl.getVisible()
+					&& customControl.getEnabled() && customControl.getBounds().contains(x, y)) {
+				return customControl;
+			}
+		}
+		return null;
+	}
+
+	private static void sendMouseEvent(CustomControl child, int type, Event event) {
+		Rectangle bounds = child.getBounds();
+		Event childEvent = new Event();
+		childEvent.x = event.x - bounds.x;
+		childEvent.y = event.y - bounds.y;
+		childEvent.button = event.button;
+		childEvent.count = event.count;
+		childEvent.stateMask = event.stateMask;
+		childEvent.time = event.time;
+		child.sendEvent(type, childEvent);
+	}
+}
@@ -12,7 +12,8 @@ public class List extends NativeBasedCustomScrollable {
 	static final int INSET = 3;
 
 	private final java.util.List<String> items = new ArrayList<>();
-	private final java.util.List<Integer> selectedItems = new ArrayList<>();
+	private final BitSet selection = new BitSet();
+	private final ListItemWidths itemWidths;
 
 	private int topIndex;
 	private Integer lastSelectedItem = 0;
@@ -25,6 +26,8 @@ public class List extends NativeBasedCustomScrollable {
 	public List(Composite parent, int style) {
 		super(parent, checkStyle(style));
 		this.renderer = new DefaultListRenderer(this);
+		this.itemWidths = new ListItemWidths(items,
+				text -> Drawing.getTextExtent(this, text, DefaultListRenderer.FLAGS).x);
 		addListeners();
 	}
 
@@ -89,9 +92,37 @@ public class List extends NativeBasedCustomScrollable {
 		}
 	}
 
+	@Override
+	void releaseWidget() {
+		super.releaseWidget();
+		Drawing.releaseResources(this);
+	}
+
 	@Override
 	public void redraw() {
-		super.redraw();
+		checkWidget();
+		display.frameScheduler.requestRedraw(this, this::redrawNow);
+	}
+
+	@Override
+	public void redraw(int x, int y, int width, int height, boolean all) {
+		checkWidget();
+		display.frameScheduler.requestRedraw(this, x, y, width, height, all, this::redrawNow);
+	}
+
+	private void redrawNow(Rectangle area, boolean all) {
+		if (area == null) {
+			super.redraw();
+		} else {
+			super.redraw(area.x, area.y, area.width, area.height, all);
+		}
+	}
+
+	@Override
+	public void update() {
+		checkWidget();
+		display.frameScheduler.flush(this);
+		super.update();
 	}
 
 	private int getVisibleLineCount() {
@@ -128,19 +159,22 @@ public class List extends NativeBasedCustomScrollable {
 
 	private void extendSelectionRange(int offset) {
 		int newIndex = calculateNewIndex(this.lastSelectedItem, offset);
-		if (this.selectedItems.contains(newIndex)) {
-			this.selectedItems.remove(Integer.valueOf(newIndex - offset));
+		if (this.selection.get(newIndex)) {
+			int previousIndex = newIndex - offset;
+			if (previousIndex >= 0) {
+				this.selection.clear(previousIndex);
+			}
 		} else {
-			this.selectedItems.add(newIndex);
+			this.selection.set(newIndex);
 		}
 		this.lastSelectedItem = newIndex;
 	}
 
 	private void moveSelection(int offset) {
-		if (this.selectedItems.size() == 1) {
-			int currentIndex = selectedItems.iterator().next();
-			selectedItems.clear();
-			selectedItems.add(calculateNewIndex(currentIndex, offset));
+		if (this.selection.cardinality() == 1) {
+			int currentIndex = selection.nextSetBit(0);
+			selection.clear();
+			selection.set(calculateNewIndex(currentIndex, offset));
 		}
 	}
 
@@ -170,44 +204,40 @@ public class List extends NativeBasedCustomScrollable {
 		int clickedLine = getTextLocation(e.y);
 
 		if (e.type == SWT.MouseMove && this.leftMousePressed && (style & SWT.MULTI) != 0) {
-			java.util.List<Integer> selected = new ArrayList<>();
-
-			if (clickedLine < this.leftMouseDownStartSelection) {
-				for (int i = this.leftMouseDownStartSelection; i >= clickedLine; i--) {
-					selected.add(i);
-				}
-			} else {
-				for (int i = this.leftMouseDownStartSelection; i <= clickedLine; i++) {
-					selected.add(i);
-				}
+			int start = Math.min(clickedLine, this.leftMouseDownStartSelection);
+			int end = Math.max(clickedLine, this.leftMouseDownStartSelection);
+			if (start < 0) {
+				return;
 			}
-
-			if (this.selectedItems.equals(selected)) {
+			if (this.selection.nextSetBit(0) == start && this.selection.nextClearBit(start) == end + 1
+					&& this.selection.nextSetBit(end + 1) < 0) {
 				return;
 			}
 
-			this.selectedItems.clear();
-			this.selectedItems.addAll(selected);
+			this.selection.clear();
+			this.selection.set(start, end + 1);
 
 		} else if (e.type == SWT.MouseMove && this.leftMousePressed && (style & SWT.MULTI) == 0) {
-			if (this.selectedItems.contains(clickedLine)) {
+			if (clickedLine < 0 || this.selection.get(clickedLine)) {
 				return;
 			}
 
-			this.selectedItems.clear();
-			this.selectedItems.add(clickedLine);
+			this.selection.clear();
+			this.selection.set(clickedLine);
 		} else {
+			if (clickedLine < 0) {
+				return;
+			}
 			if ((e.stateMask & SWT.CTRL) != 0) {
-				if (this.selectedItems.contains(clickedLine)) {
-					// remove the object not the index.
-					this.selectedItems.remove(Integer.valueOf(clickedLine));
+				if (this.selection.get(clickedLine)) {
+					this.selection.clear(clickedLine);
 				} else {
-					this.selectedItems.add(clickedLine);
+					this.selection.set(clickedLine);
 					this.lastSelectedItem = clickedLine;
 				}
 			} else {
-				this.selectedItems.clear();
-				this.selectedItems.add(clickedLine);
+				this.selection.clear();
+				this.selection.set(clickedLine);
 				this.lastSelectedItem = clickedLine;
 			}
 		}
@@ -238,6 +268,7 @@ public class List extends NativeBasedCustomScrollable {
 		if (string == null) error(SWT.ERROR_NULL_ARGUMENT);
 
 		this.items.add(string);
+		this.itemWidths.itemAdded(this.items.size() - 1);
 		updateScrollBarWithTextSize();
 		redraw();
 	}
@@ -292,6 +323,8 @@ public class List extends NativeBasedCustomScrollable {
 			error(SWT.ERROR_INVALID_RANGE);
 		}
 		this.items.add(index, string);
+		this.itemWidths.itemAdded(index);
+		shiftSelection(index, 1);
 		updateScrollBarWithTextSize();
 		redraw();
 	}
@@ -320,23 +353,21 @@ public class List extends NativeBasedCustomScrollable {
 
 	public void deselect(int index) {
 		checkWidget();
-		if (index != -1) {
-			this.selectedItems.remove(Integer.valueOf(index));
+		if (index >= 0) {
+			this.selection.clear(index);
 		}
 	}
 
 	public void deselect(int start, int end) {
 		checkWidget();
 		if (start >= 0 && end >= 0 && start <= end && start < items.size()) {
-			for (int i = start; i <= end; i++) {
-				deselect(i);
-			}
+			this.selection.clear(start, end + 1);
 		}
 	}
 
 	public void deselectAll() {
 		checkWidget();
-		this.selectedItems.clear();
+		this.selection.clear();
 	}
 
 	public int getFocusIndex() {
@@ -344,10 +375,7 @@ public class List extends NativeBasedCustomScrollable {
 		if (this.items.isEmpty()) {
 			return -1;
 		}
-		if (this.selectedItems.isEmpty()) {
-			return -1;
-		}
-		return this.selectedItems.get(0);
+		return this.selection.nextSetBit(0);
 	}
 
 	public String getItem(int index) {
@@ -402,17 +430,17 @@ public class List extends NativeBasedCustomScrollable {
 
 	public int getSelectionCount() {
 		checkWidget();
-		return this.selectedItems.size();
+		return this.selection.cardinality();
 	}
 
 	public int getSelectionIndex() {
 		checkWidget();
-		return (getSelectionIndices().length > 0) ? getSelectionIndices()[0] : -1;
+		return this.selection.nextSetBit(0);
 	}
 
 	public int[] getSelectionIndices() {
 		checkWidget();
-		return this.selectedItems.stream().mapToInt(Integer::intValue).toArray();
+		return this.selection.stream().toArray();
 	}
 
 	public int getTopIndex() {
@@ -439,7 +467,7 @@ public class List extends NativeBasedCustomScrollable {
 
 	public boolean isSelected(int index) {
 		checkWidget();
-		return selectedItems.contains(index);
+		return index >= 0 && selection.get(index);
 	}
 
 	public void remove(int[] indices) {
@@ -458,7 +486,10 @@ public class List extends NativeBasedCustomScrollable {
 
 		for (int index : uniqueSortedIndices) {
 			this.items.remove(index);
+			this.itemWidths.itemRemoved(index);
+			shiftSelection(index + 1, -1);
 		}
+		updateScrollBarWithTextSize();
 		redraw();
 	}
 
@@ -468,6 +499,9 @@ public class List extends NativeBasedCustomScrollable {
 			error(SWT.ERROR_INVALID_ARGUMENT);
 		}
 		this.items.remove(index);
+		this.itemWidths.itemRemoved(index);
+		shiftSelection(index + 1, -1);
+		updateScrollBarWithTextSize();
 		redraw();
 	}
 
@@ -500,7 +534,9 @@ public class List extends NativeBasedCustomScrollable {
 	public void removeAll() {
 		checkWidget();
 		this.items.clear();
-		this.selectedItems.clear();
+		this.itemWidths.reset();
+		this.selection.clear();
+		updateScrollBarWithTextSize();
 		redraw();
 	}
 
@@ -545,15 +581,9 @@ public class List extends NativeBasedCustomScrollable {
 		if (index < 0 || index >= this.items.size()) return;
 
 		if ((this.style & SWT.SINGLE) != 0) {
-			this.selectedItems.clear();
-			this.selectedItems.add(index);
-		} else {
-			if (!this.selectedItems.contains(index)) {
-				int insertPos = 0;
-				while (insertPos < this.selectedItems.size() && this.selectedItems.get(insertPos) < index) insertPos++;
-				this.selectedItems.add(insertPos, index);
-			}
+			this.selection.clear();
 		}
+		this.selection.set(index);
 
 		this.lastSelectedItem = index;
 		redraw();
@@ -582,9 +612,9 @@ public class List extends NativeBasedCustomScrollable {
 			select(start, scroll);
 			return;
 		}
-		for (int i = start; i <= end; i++) {
-			select(i, scroll);
-		}
+		this.selection.set(start, end + 1);
+		this.lastSelectedItem = end;
+		redraw();
 
 		if (scroll) {
 			showSelection();
@@ -595,10 +625,11 @@ public class List extends NativeBasedCustomScrollable {
 		if ((style & SWT.SINGLE) != 0) {
 			return;
 		}
-		this.selectedItems.clear();
-		for (int i = 0; i < this.items.size(); i++) {
-			this.selectedItems.add(i);
-			this.lastSelectedItem = i;
+		int count = this.items.size();
+		this.selection.clear();
+		if (count > 0) {
+			this.selection.set(0, count);
+			this.lastSelectedItem = count - 1;
 		}
 	}
 
@@ -606,6 +637,7 @@ public class List extends NativeBasedCustomScrollable {
 	public void setFont(Font font) {
 		checkWidget();
 		super.setFont(font);
+		this.itemWidths.reset();
 		if ((style & SWT.H_SCROLL) != 0) {
 			setScrollWidth();
 		}
@@ -618,6 +650,7 @@ public class List extends NativeBasedCustomScrollable {
 		}
 		if (string == null) error(SWT.ERROR_NULL_ARGUMENT);
 		this.items.set(index, string);
+		this.itemWidths.itemChanged(index);
 		redraw();
 	}
 
@@ -629,24 +662,40 @@ public class List extends NativeBasedCustomScrollable {
 		}
 		this.items.clear();
 		this.items.addAll(Arrays.asList(items));
+		this.itemWidths.reset();
+		this.selection.clear();
+		updateScrollBarWithTextSize();
 		redraw();
 	}
 
-	private int getTextWidth(String text) {
-		GC gc = new GC(this);
-		int width = gc.textExtent(text).x;
-		gc.dispose();
-		return width;
+	/**
+	 * Moves the selection of all items from the given index on by the given
+	 * number of items, after items were inserted or removed.
+	 */
+	private void shiftSelection(int fromIndex, int offset) {
+		if (this.selection.nextSetBit(Math.min(fromIndex + offset, fromIndex)) < 0) {
+			return;
+		}
+		BitSet moved = this.selection.get(fromIndex, Math.max(fromIndex, this.selection.length()));
+		this.selection.clear(Math.min(fromIndex + offset, fromIndex), this.selection.length());
+		for (int i = moved.nextSetBit(0); i >= 0; i = moved.nextSetBit(i + 1)) {
+			this.selection.set(fromIndex + offset + i);
+		}
+	}
+
+	/**
+	 * Returns the widths of the items, which are kept up to date incrementally
+	 * when items are added, removed or changed.
+	 */
+	ListItemWidths getItemWidths() {
+		return this.itemWidths;
 	}
 
 	/**
 	 * Calculates the scroll width depending on the item with the highest width
 	 */
 	void setScrollWidth() {
-		int newWidth = 0;
-		for (String line : this.items) {
-			newWidth = Math.max(newWidth, getTextWidth(line));
-		}
+		int newWidth = this.itemWidths.getMaxWidth();
 		if (horizontalBar != null) {
 			horizontalBar.setMaximum(newWidth + INSET);
 		}
@@ -708,11 +757,11 @@ public class List extends NativeBasedCustomScrollable {
 	}
 
 	public void showSelection() {
-		if (this.selectedItems.isEmpty() || this.items.isEmpty()) {
+		if (this.selection.isEmpty() || this.items.isEmpty()) {
 			return;
 		}
 
-		int selectedIndex = this.selectedItems.get(0);
+		int selectedIndex = this.selection.nextSetBit(0);
 
 		if (selectedIndex < 0 || selectedIndex >= this.items.size()) {
 			return;
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Keeps the text widths of the items of a {@link List} and the maximum of
+ * them. Once the maximum is known, added and changed items are measured
+ * right away and the maximum is updated incrementally, so adding items one by
+ * one only measures the new items. The maximum is only recomputed from the
+ * cached widths if the widest item was removed or changed.
+ */
+class ListItemWidths {
+
+	private final java.util.List<String> items;
+	private final ToIntFunction<String> measurer;
+
+	/** the widths of the items, -1 if unknown */
+	private int[] widths = new int[16];
+	private int count;
+	/** the maximum width, -1 if unknown. If known, all widths are known. */
+	private int maxWidth = -1;
+
+	ListItemWidths(java.util.List<String> items, ToIntFunction<String> measurer) {
+		this.items = items;
+		this.measurer = measurer;
+	}
+
+	/**
+	 * Forgets all widths, has to be called if the font changed or all items were
+	 * replaced.
+	 */
+	void reset() {
+		count = items.size();
+		if (widths.length < count) {
+			widths = new int[count];
+		}
+		Arrays.fill(widths, 0, count, -1);
+		maxWidth = -1;
+	}
+
+	/**
+	 * Has to be called after an item was inserted at the given index.
+	 */
+	void itemAdded(int index) {
+		if (count == widths.length) {
+			widths = Arrays.copyOf(widths, Math.max(16, count * 2));
+		}
+		System.arraycopy(widths, index, widths, index + 1, count - index);
+		count++;
+		widths[index] = -1;
+		if (maxWidth >= 0) {
+			maxWidth = Math.max(maxWidth, measure(index));
+		}
+	}
+
+	/**
+	 * Has to be called after the item at the given index was removed.
+	 */
+	void itemRemoved(int index) {
+		int width = widths[index];
+		System.arraycopy(widths, index + 1, widths, index, count - index - 1);
+		count--;
+		if (width == maxWidth) {
+			maxWidth = -1;
+		}
+	}
+
+	/**
+	 * Has to be called after the text of the item at the given index changed.
+	 */
+	void itemChanged(int index) {
+		int width = widths[index];
+		widths[index] = -1;
+		if (maxWidth < 0) {
+			return;
+		}
+		if (width == maxWidth) {
+			maxWidth = -1;
+		} else {
+			maxWidth = Math.max(maxWidth, measure(index));
+		}
+	}
+
+	private int measure(int index) {
+		int width = widths[index];
+		if (width < 0) {
+			width = measurer.applyAsInt(items.get(index));
+			widths[index] = width;
+		}
+		return width;
+	}
+
+	/**
+	 * Returns the width of the widest item or 0 if there are no items.
+	 */
+	int getMaxWidth() {
+		if (count != items.size()) {
+			reset();
+		}
+		if (maxWidth < 0) {
+			int max = 0;
+			for (int i = 0; i < count; i++) {
+				max = Math.max(max, measure(i));
+			}
+			maxWidth = max;
+		}
+		return maxWidth;
+	}
+
+	/**
+	 * Returns the width of the item at the given index.
+	 */
+	int getWidth(int index) {
+		if (count != items.size()) {
+			reset();
+		}
+		return measure(index);
+	}
+}
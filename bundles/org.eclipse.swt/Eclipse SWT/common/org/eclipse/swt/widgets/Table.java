@@ -17,6 +17,7 @@ package org.eclipse.swt.widgets;
 
 import java.util.*;
 import java.util.List;
+import java.util.function.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.accessibility.*;
@@ -115,8 +116,8 @@ public class Table extends CustomComposite {
 
 	private java.util.List<TableItem> itemsList = new ArrayList<>();
 	private TreeMap<Integer, TableItem> virtualItemsList = new TreeMap<>();
-	TreeSet<TableItem> selectedTableItems = new TreeSet<>(
-			(o1, o2) -> Integer.compare(indexOf(o1), indexOf(o2)));
+	/** the indices of the selected items, so that virtual items are only created when they are requested */
+	final IndexRangeSet selection = new IndexRangeSet();
 	// TODO implement focusHandling
 	private TableItem focusItem;
 	Item mouseHoverElement;
@@ -124,6 +125,10 @@ public class Table extends CustomComposite {
 
 	private TableColumnsHandler columnsHandler = new TableColumnsHandler(this);
 	private TableItemsHandler itemsHandler = new TableItemsHandler(this);
+	private final TableRowGeometry rowGeometry = new TableRowGeometry(this);
+	final CellLayouts.Cache cellLayoutCache = new CellLayouts.Cache(CellLayouts.MAX_CACHED_ROWS);
+	/** the texts, images, fonts and colors of the cells of all items */
+	final CellStore cells = new CellStore();
 
 	int customCount;
 	TableItem currentItem;
@@ -153,6 +158,14 @@ public class Table extends CustomComposite {
 
 	static boolean COMPRESS_ITEMS = true;
 
+	/**
+	 * Key of the widget data for the number of rows above and below the viewport
+	 * for which the items of a virtual table are kept. Defaults to
+	 * {@link #DEFAULT_VIRTUAL_LOOK_AHEAD}.
+	 */
+	static final String VIRTUAL_LOOK_AHEAD_KEY = "org.eclipse.swt.widgets.Table.virtualLookAhead";
+	static final int DEFAULT_VIRTUAL_LOOK_AHEAD = 64;
+
 	private Accessible acc;
 	private AccessibleAdapter accAdapter;
 	private int topIndex;
@@ -418,6 +431,7 @@ public class Table extends CustomComposite {
 		itemsList.clear();
 		columnsList.clear();
 		virtualItemsList.clear();
+		selection.clear();
 		virtualItemCount = 0;
 
 		for (var c : columnsSet) {
@@ -437,19 +451,20 @@ public class Table extends CustomComposite {
 		if (columnsHandler.getColumnsBounds().contains(e.x, e.y)) {
 			columnsHandler.handleMouseDown(e);
 		} else if (itemsHandler.getItemsClientArea().contains(e.x, e.y)) {
-			for (int i = getTopIndex(); i <= itemsHandler.getLastVisibleElementIndex(); i++) {
-				var it = getItem(i);
+			int index = rowGeometry.getItemIndexAt(e.y);
+			if (index >= getTopIndex()) {
+				var it = getItem(index);
 
 				Rectangle b = it.getBounds();
 				if (b.contains(p)) {
 					if ((style & SWT.MULTI) == 0 || !this.ctrlPressed) {
-						selectedTableItems.clear();
-						selectedTableItems.add(it);
+						selection.clear();
+						selection.add(index);
 					} else {
-						if (selectedTableItems.contains(it)) {
-							selectedTableItems.remove(it);
+						if (selection.contains(index)) {
+							selection.remove(index);
 						} else {
-							selectedTableItems.add(it);
+							selection.add(index);
 						}
 					}
 				} else {
@@ -814,7 +829,10 @@ public class Table extends CustomComposite {
 
 		int index = columnsList.indexOf(column);
 		columnsList.remove(column);
-		moveTextsItemsToLeft(index);
+		if (!columnsList.isEmpty()) {
+			// the cells of the last column remain as the cells of the table without columns
+			cells.removeColumn(index);
+		}
 
 		if (this.columnOrder != null) {
 			int[] newColOrder = new int[columnsList.size()];
@@ -838,8 +856,10 @@ public class Table extends CustomComposite {
 
 	void createItem(TableColumn column, int index) {
 		columnsList.add(index, column);
-
-		moveTextsItemsToRight(index);
+		if (columnsList.size() > 1) {
+			// the first column takes over the cells of the table without columns
+			cells.insertColumn(index);
+		}
 
 		if (getItems() != null) {
 			for (var it : getItems()) {
@@ -868,18 +888,6 @@ public class Table extends CustomComposite {
 		redraw();
 	}
 
-	private void moveTextsItemsToRight(int index) {
-		for (var i : itemsList) {
-			i.moveTextToRightAt(index);
-		}
-	}
-
-	private void moveTextsItemsToLeft(int index) {
-		for (var i : itemsList) {
-			i.moveTextsItemsToLeft(index);
-		}
-	}
-
 	protected int getTotalColumnWidth() {
 		return columnsHandler.getSize().x;
 	}
@@ -896,27 +904,25 @@ public class Table extends CustomComposite {
 			var previous = virtualItemsList.get(index);
 			if (previous != null) {
 				virtualItemsList.remove(index);
+				previous.virtualIndex = -1;
 				previous.dispose();
 			}
 
+			item.virtualIndex = index;
 			virtualItemsList.put(index, item);
 		} else {
-			if (index < itemsList.size() - 1) {
+			rowGeometry.invalidateRows();
+
+			if (index < itemsList.size()) {
 				itemsList.add(index, item);
+				selection.insert(index);
 			} else {
 				itemsList.add(item);
 			}
 
-			if (index < topIndex) {
-				for (int i = 0; i < index; i++) {
-					itemsList.get(i).clearCache();
-				}
-			}
-
-			if (index >= topIndex) {
-				for (int i = index; i < itemsList.size(); i++) {
-					itemsList.get(i).clearCache();
-				}
+			// the items from the insertion point on have moved down by one row
+			for (int i = index; i < itemsList.size(); i++) {
+				itemsList.get(i).clearCache();
 			}
 		}
 
@@ -957,17 +963,11 @@ public class Table extends CustomComposite {
 	public void deselect(int[] indices) {
 		checkWidget();
 
-		if (itemsList.isEmpty()) return;
 		if (indices == null) error(SWT.ERROR_NULL_ARGUMENT);
-		if (indices.length == 0) return;
 
-		var s = new HashSet<TableItem>();
 		for (int i : indices) {
-			if (i >= 0 && i < itemsList.size()) {
-				s.add(itemsList.get(i));
-			}
+			selection.remove(i);
 		}
-		selectedTableItems.removeAll(s);
 	}
 
 	/**
@@ -1014,19 +1014,7 @@ public class Table extends CustomComposite {
 
 		if (start > end) return;
 
-		if (start < 0) {
-			start = 0;
-		}
-		if (end >= itemsList.size()) {
-			end = itemsList.size() - 1;
-		}
-
-		int[] arr = new int[end - start + 1];
-		for (int s = start; s <= end; s++) {
-			arr[s - start] = s;
-		}
-
-		deselect(arr);
+		selection.remove(Math.max(0, start), end);
 	}
 
 	/**
@@ -1043,13 +1031,21 @@ public class Table extends CustomComposite {
 	public void deselectAll() {
 		checkWidget();
 
-		selectedTableItems.clear();
+		selection.clear();
 		redraw();
 	}
 
 	void destroyItem(TableItem item) {
 		if (!isVirtual()) {
-			itemsList.remove(item);
+			int index = itemsList.indexOf(item);
+			if (index >= 0) {
+				itemsList.remove(index);
+				selection.delete(index);
+				for (int i = index; i < itemsList.size(); i++) {
+					itemsList.get(i).clearCache();
+				}
+			}
+			rowGeometry.invalidateRows();
 		}
 		// for virtual items, we have to take care, that these are not in
 		// virtualItemsList
@@ -1380,14 +1376,7 @@ public class Table extends CustomComposite {
 	public TableItem getItem(Point point) {
 		checkWidget();
 		if (point == null) error(SWT.ERROR_NULL_ARGUMENT);
-		final int max = Math.min(getItemCount(), itemsHandler.getLastVisibleElementIndex() + 1);
-		for (int i = getTopIndex(); i < max; i++) {
-			TableItem it = getItem(i);
-			if (it != null && it.getBounds().contains(point)) {
-				return it;
-			}
-		}
-		return null;
+		return itemsHandler.getItemAt(point);
 	}
 
 	/**
@@ -1434,11 +1423,7 @@ public class Table extends CustomComposite {
 	public int getItemHeight() {
 		checkWidget();
 
-		if (!itemsList.isEmpty()) {
-			return itemsList.get(getTopIndex()).getBounds().height;
-		}
-
-		return TableItemRenderer.guessItemHeight(this);
+		return rowGeometry.getDefaultItemHeight();
 	}
 
 	/**
@@ -1519,7 +1504,12 @@ public class Table extends CustomComposite {
 	 */
 	public TableItem[] getSelection() {
 		checkWidget();
-		return selectedTableItems.toArray(new TableItem[0]);
+		int[] indices = selection.toArray();
+		TableItem[] items = new TableItem[indices.length];
+		for (int i = 0; i < indices.length; i++) {
+			items[i] = _getItem(indices[i]);
+		}
+		return items;
 	}
 
 	/**
@@ -1537,7 +1527,7 @@ public class Table extends CustomComposite {
 	 */
 	public int getSelectionCount() {
 		checkWidget();
-		return selectedTableItems.size();
+		return selection.size();
 	}
 
 	/**
@@ -1557,8 +1547,7 @@ public class Table extends CustomComposite {
 	public int getSelectionIndex() {
 		checkWidget();
 
-		if (selectedTableItems.isEmpty()) return -1;
-		return indexOf(selectedTableItems.first());
+		return selection.first();
 	}
 
 	/**
@@ -1596,7 +1585,7 @@ public class Table extends CustomComposite {
 	 */
 	public int[] getSelectionIndices() {
 		checkWidget();
-		return indicesOf(selectedTableItems.toArray(new TableItem[0]));
+		return selection.toArray();
 	}
 
 	/**
@@ -1735,10 +1724,9 @@ public class Table extends CustomComposite {
 
 		if (item == null) error(SWT.ERROR_NULL_ARGUMENT);
 		if (isVirtual()) {
-			for (var e : virtualItemsList.entrySet()) {
-				if (item.equals(e.getValue())) {
-					return e.getKey();
-				}
+			int index = item.virtualIndex;
+			if (index >= 0 && virtualItemsList.get(index) == item) {
+				return index;
 			}
 			return -1;
 		}
@@ -1783,12 +1771,8 @@ public class Table extends CustomComposite {
 	 *                         </ul>
 	 */
 	public boolean isSelected(int index) {
-		for (var it : selectedTableItems) {
-			if (indexOf(it) == index) {
-				return true;
-			}
-		}
-		return false;
+		checkWidget();
+		return selection.contains(index);
 	}
 
 	/**
@@ -1912,6 +1896,8 @@ public class Table extends CustomComposite {
 			var s = new HashSet<>(virtualItemsList.values());
 			virtualItemsList.clear();
 			virtualItemCount = 0;
+			rowGeometry.invalidateRows();
+			selection.clear();
 			s.forEach(Widget::dispose);
 			return;
 		}
@@ -1985,21 +1971,18 @@ public class Table extends CustomComposite {
 
 		if ((style & SWT.SINGLE) != 0) {
 			if (indices.length > 1) return;
-			selectedTableItems.clear();
+			selection.clear();
 		}
 
+		int count = getItemCount();
 		for (int index : indices) {
-			if (index < 0 || index >= getItemCount()) {
+			if (index < 0 || index >= count) {
 				continue;
 			}
 
-			var it = getItem(index);
-			if (it != null) {
-				selectedTableItems.add(it);
-
-				if ((style & SWT.SINGLE) != 0) {
-					break;
-				}
+			selection.add(index);
+			if ((style & SWT.SINGLE) != 0) {
+				break;
 			}
 		}
 
@@ -2064,13 +2047,10 @@ public class Table extends CustomComposite {
 		if (index < 0 || index >= getItemCount()) return;
 
 		if ((style & SWT.SINGLE) != 0) {
-			selectedTableItems.clear();
+			selection.clear();
 		}
 
-		var selected = getItem(index);
-		if (selectedTableItems.contains(selected)) return;
-
-		selectedTableItems.add(getItem(index));
+		selection.add(index);
 	}
 
 	/**
@@ -2101,7 +2081,8 @@ public class Table extends CustomComposite {
 	public void select(int start, int end) {
 		checkWidget();
 
-		if (itemsList.isEmpty()) return;
+		int count = getItemCount();
+		if (count == 0) return;
 		if ((SWT.SINGLE & style) != 0 && start != end) return;
 		if (end < start) return;
 		if (end < 0) return;
@@ -2110,24 +2091,16 @@ public class Table extends CustomComposite {
 			start = 0;
 		}
 
-		if (start > itemsList.size() - 1) return;
-
-		if (end > itemsList.size() - 1) {
-			end = itemsList.size() - 1;
-		}
+		if (start > count - 1) return;
 
-		int[] indices = new int[end - start + 1];
-		for (int i = start; i <= end; i++) {
-			indices[i - start] = i;
+		if (end > count - 1) {
+			end = count - 1;
 		}
 
 		if ((style & SWT.SINGLE) != 0) {
-			selectedTableItems.clear();
-			selectedTableItems.add(itemsList.get(indices[0]));
-			return;
+			selection.clear();
 		}
-
-		select(indices);
+		selection.add(start, end);
 	}
 
 	/**
@@ -2148,9 +2121,9 @@ public class Table extends CustomComposite {
 		checkWidget();
 
 		if ((style & SWT.SINGLE) != 0) return;
-		if (itemsList.isEmpty()) return;
+		if (getItemCount() == 0) return;
 
-		select(0, itemsList.size() - 1);
+		select(0, getItemCount() - 1);
 	}
 
 	void setBackgroundTransparent(boolean transparent) {
@@ -2385,11 +2358,13 @@ public class Table extends CustomComposite {
 		if (isVirtual()) {
 			boolean redraw = count > this.virtualItemCount;
 			this.virtualItemCount = count;
+			rowGeometry.invalidateRows();
+			selection.truncate(count);
 
 			while (!virtualItemsList.isEmpty()) {
 				var key = virtualItemsList.lastKey();
 				if (key >= count) {
-					virtualItemsList.remove(key);
+					virtualItemsList.remove(key).virtualIndex = -1;
 				} else {
 					break;
 				}
@@ -2478,9 +2453,18 @@ public class Table extends CustomComposite {
 	public void setLinesVisible(boolean show) {
 		checkWidget();
 		this.linesVisible = show;
+		rowGeometry.invalidate();
 		logNotImplemented();
 	}
 
+	@Override
+	public void setFont(Font font) {
+		checkWidget();
+		super.setFont(font);
+		rowGeometry.invalidate();
+		redraw();
+	}
+
 	Point getTopIndexItemPosition() {
 		var columns = getColumnsArea();
 		int gridLineSize = TableItemsHandler.getGridSize(this);
@@ -2543,8 +2527,9 @@ public class Table extends CustomComposite {
 
 		var set = new TreeSet<Integer>((o1, o2) -> o2 - o1);
 
+		int count = getItemCount();
 		Arrays.stream(indices).forEach(i -> {
-			if (i >= 0 && i < itemsList.size()) {
+			if (i >= 0 && i < count) {
 				set.add(i);
 			}
 		});
@@ -2937,14 +2922,11 @@ public class Table extends CustomComposite {
 	public void showSelection() {
 		checkWidget();
 
-		if (selectedTableItems.isEmpty()) return;
+		if (selection.isEmpty()) return;
 		// TODO: check whether it is always the first selected element, which should be
 		// visible.
 
-		TableItem first = selectedTableItems.first();
-
-		var index = indexOf(first);
-		showItem(index);
+		showItem(selection.first());
 	}
 
 	/* public */ void sort() {
@@ -2990,4 +2972,69 @@ public class Table extends CustomComposite {
 	TableItemsHandler getItemsHandler() {
 		return itemsHandler;
 	}
+
+	TableRowGeometry getRowGeometry() {
+		return rowGeometry;
+	}
+
+	/**
+	 * Releases the items of a virtual table which are further than the look-ahead
+	 * away from the given visible rows, so that the number of items is bounded by
+	 * the viewport instead of the item count. Released items are disposed, so an
+	 * item never moves to another row; when the rows become visible again, new
+	 * items are created and their data is requested via {@link SWT#SetData}.
+	 * <p>
+	 * Items are only released if there is a <code>SetData</code> listener to
+	 * restore them and if they are not focused or hovered and carry no listeners
+	 * or data of their own.
+	 * </p>
+	 */
+	void releaseInvisibleVirtualItems(int firstVisible, int lastVisible) {
+		if (!isVirtual() || !hooks(SWT.SetData)) return;
+
+		int lookAhead = getVirtualLookAhead();
+		int first = firstVisible - lookAhead;
+		int last = lastVisible + lookAhead;
+		if (virtualItemsList.size() <= last - first + 1) return;
+
+		releaseVirtualItems(virtualItemsList.headMap(first, false));
+		releaseVirtualItems(virtualItemsList.tailMap(last, false));
+	}
+
+	private void releaseVirtualItems(SortedMap<Integer, TableItem> items) {
+		var iterator = items.values().iterator();
+		while (iterator.hasNext()) {
+			TableItem item = iterator.next();
+			if (item == focusItem || item == mouseHoverElement || item == currentItem || item.eventTable != null
+					|| item.data != null) {
+				continue;
+			}
+
+			iterator.remove();
+			item.virtualIndex = -1;
+			item.dispose();
+		}
+	}
+
+	private int getVirtualLookAhead() {
+		if (getData(VIRTUAL_LOOK_AHEAD_KEY) instanceof Integer lookAhead) {
+			return Math.max(0, lookAhead);
+		}
+		return DEFAULT_VIRTUAL_LOOK_AHEAD;
+	}
+
+	/**
+	 * Calls the consumer for each item which has been created so far, together
+	 * with its index. For virtual tables these are only the materialized items.
+	 */
+	void forEachCreatedItem(ObjIntConsumer<TableItem> consumer) {
+		if (isVirtual()) {
+			virtualItemsList.forEach((index, item) -> consumer.accept(item, index));
+			return;
+		}
+
+		for (int i = 0; i < itemsList.size(); i++) {
+			consumer.accept(itemsList.get(i), i);
+		}
+	}
 }
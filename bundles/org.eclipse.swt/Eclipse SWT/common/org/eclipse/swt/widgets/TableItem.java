@@ -13,9 +13,6 @@
  *******************************************************************************/
 package org.eclipse.swt.widgets;
 
-import java.util.*;
-import java.util.stream.*;
-
 import org.eclipse.swt.*;
 import org.eclipse.swt.accessibility.*;
 import org.eclipse.swt.events.*;
@@ -47,15 +44,13 @@ public class TableItem extends Item {
 	static final int DEFAULT_BORDER_WIDTH = 1;
 
 	Table parent;
-	String[] strings;
-	Image[] images;
+	/** the id of the row which holds the cells of this item in the table's {@link CellStore} */
+	final int row;
 	Font font;
-	Font[] cellFont;
 	boolean checked, grayed, cached;
 	int imageIndent;
 	Color background;
 	Color foreground;
-	Color[] cellBackground, cellForeground;
 	private int topIndexAtCalculation = -1;
 
 	private Point location;
@@ -72,6 +67,9 @@ public class TableItem extends Item {
 
 	private int itemIndex = -2;
 
+	/** the index of the item in a virtual table, -1 if it is not part of the table */
+	int virtualIndex = -1;
+
 	private final TableItemRenderer renderer = new TableItemRenderer(this);
 
 	/**
@@ -310,6 +308,7 @@ public class TableItem extends Item {
 		if (index < 0 || index > parent.getItemCount()) error(SWT.ERROR_INVALID_RANGE);
 
 		this.parent = parent;
+		row = parent.cells.addRow(this);
 		if (create) {
 			parent.createItem(this, index);
 		}
@@ -328,17 +327,17 @@ public class TableItem extends Item {
 
 	void clear() {
 		clearCache();
+		if (image != null || parent.cells.hasImages(row)) {
+			parent.getRowGeometry().invalidateRows();
+		}
 		text = "";
 		image = null;
-		strings = null;
-		images = null;
+		parent.cells.clearRow(row);
 		imageIndent = 0;
 		checked = grayed = false;
 		font = null;
 		background = null;
 		foreground = null;
-		cellFont = null;
-		cellBackground = cellForeground = null;
 		if ((parent.style & SWT.VIRTUAL) != 0) {
 			cached = false;
 		}
@@ -398,7 +397,7 @@ public class TableItem extends Item {
 		if (0 > index || index > count - 1) {
 			return getBackground();
 		}
-		Color cell = cellBackground != null ? cellBackground[index] : null;
+		Color cell = parent.cells.getBackground(row, index);
 		return cell == null ? getBackground() : cell;
 	}
 
@@ -442,7 +441,7 @@ public class TableItem extends Item {
 		return new Rectangle(x, full.y, width, full.height);
 	}
 
-	private int getItemIndex() {
+	int getItemIndex() {
 		if (this.itemIndex == -2) {
 			this.itemIndex = parent.indexOf(this);
 		}
@@ -487,32 +486,8 @@ public class TableItem extends Item {
 	}
 
 	private void calculateLocation() {
-		int index = getItemIndex();
-
 		final int topIndex = getParent().getTopIndex();
-		if (topIndex == index) {
-			setLocation(getParent().getTopIndexItemPosition());
-		} else if (topIndex < index) {
-			for (int i = topIndex; i < index; i = Math.min(i + 1000, index)) {
-				var it = getParent()._getItem(i, false);
-				it.getLocation();
-			}
-
-			var prevItem = getParent().getItem(index - 1);
-			var prevBounds = prevItem.getLocation();
-			int fullHeightDiff = TableItemsHandler.getItemsHeight(prevItem);
-			setLocation(new Point(prevBounds.x, prevBounds.y + fullHeightDiff));
-		} else {
-			for (int i = topIndex; i > index; i = Math.max(i - 1000, index)) {
-				var it = getParent().getItem(i);
-				it.getLocation();
-			}
-
-			var prevItem = getParent().getItem(index + 1);
-			var prevBounds = prevItem.getLocation();
-			int fullHeightDiff = TableItemsHandler.getItemsHeight(this);
-			setLocation(new Point(prevBounds.x, prevBounds.y - fullHeightDiff));
-		}
+		setLocation(getParent().getRowGeometry().getItemLocation(getItemIndex()));
 		topIndexAtCalculation = topIndex;
 	}
 
@@ -648,10 +623,8 @@ public class TableItem extends Item {
 		if (0 > index || index > count - 1) {
 			return getFont();
 		}
-		if (cellFont == null || cellFont[index] == null) {
-			return getFont();
-		}
-		return cellFont[index];
+		Font cellFont = parent.cells.getFont(row, index);
+		return cellFont == null ? getFont() : cellFont;
 	}
 
 	/**
@@ -702,7 +675,7 @@ public class TableItem extends Item {
 		if (0 > index || index > count - 1) {
 			return getForeground();
 		}
-		Color cellColor = cellForeground != null ? cellForeground[index] : null;
+		Color cellColor = parent.cells.getForeground(row, index);
 		return cellColor == null ? getForeground() : cellColor;
 	}
 
@@ -754,10 +727,7 @@ public class TableItem extends Item {
 		if (index == 0) {
 			return getImage();
 		}
-		if (images != null && 0 <= index && index < images.length) {
-			return images[index];
-		}
-		return null;
+		return parent.cells.getImage(row, index);
 	}
 
 	/**
@@ -865,13 +835,8 @@ public class TableItem extends Item {
 		if (index == 0) {
 			return getText();
 		}
-		if (strings != null) {
-			if (0 <= index && index < strings.length) {
-				String string = strings[index];
-				return string != null ? string : "";
-			}
-		}
-		return "";
+		String string = parent.cells.getText(row, index);
+		return string != null ? string : "";
 	}
 
 	/**
@@ -951,10 +916,8 @@ public class TableItem extends Item {
 	@Override
 	void releaseWidget() {
 		super.releaseWidget();
-		strings = null;
-		images = null;
-		cellFont = null;
-		cellBackground = cellForeground = null;
+		parent.cells.removeRow(row);
+		renderer.clearCache();
 	}
 
 	/**
@@ -1029,16 +992,10 @@ public class TableItem extends Item {
 			parent.setCustomDraw(true);
 			cellColor = color;
 		}
-		if (cellBackground == null) {
-			cellBackground = new Color[count];
-			for (int i = 0; i < count; i++) {
-				cellBackground[i] = null;
-			}
-		}
-		if (cellBackground[index] == cellColor) {
+		if (parent.cells.getBackground(row, index) == cellColor) {
 			return;
 		}
-		cellBackground[index] = cellColor;
+		parent.cells.setBackground(row, index, cellColor);
 		if ((parent.style & SWT.VIRTUAL) != 0) {
 			cached = true;
 		}
@@ -1161,13 +1118,9 @@ public class TableItem extends Item {
 		if (font != null && font.isDisposed()) error(SWT.ERROR_INVALID_ARGUMENT);
 		int count = Math.max(1, parent.getColumnCount());
 		if (0 > index || index > count - 1) return;
-		if (cellFont == null) {
-			if (font == null) return;
-			cellFont = new Font[count];
-		}
-		Font oldFont = cellFont[index];
+		Font oldFont = parent.cells.getFont(row, index);
 		if (oldFont == font) return;
-		cellFont[index] = font;
+		parent.cells.setFont(row, index, font);
 		if (oldFont != null && oldFont.equals(font)) return;
 		if (font != null) {
 			parent.setCustomDraw(true);
@@ -1248,14 +1201,8 @@ public class TableItem extends Item {
 			parent.setCustomDraw(true);
 			pixel = color;
 		}
-		if (cellForeground == null) {
-			cellForeground = new Color[count];
-			for (int i = 0; i < count; i++) {
-				cellForeground[i] = null;
-			}
-		}
-		if (cellForeground[index] == pixel) return;
-		cellForeground[index] = pixel;
+		if (parent.cells.getForeground(row, index) == pixel) return;
+		parent.cells.setForeground(row, index, pixel);
 		if ((parent.style & SWT.VIRTUAL) != 0) {
 			cached = true;
 		}
@@ -1349,18 +1296,18 @@ public class TableItem extends Item {
 		}
 		int count = Math.max(1, parent.getColumnCount());
 		if (0 > index || index > count - 1) return;
-		if (images == null && index != 0) {
-			images = new Image[count];
-			images[0] = image;
-		}
-		if (images != null) {
-			if (image != null && image.type == SWT.ICON && image.equals(images[index])) return;
-			oldImage = images[index];
-			images[index] = image;
+		if (index != 0) {
+			Image cellImage = parent.cells.getImage(row, index);
+			if (image != null && image.type == SWT.ICON && image.equals(cellImage)) return;
+			oldImage = cellImage;
+			parent.cells.setImage(row, index, image);
 		}
 		if ((parent.style & SWT.VIRTUAL) != 0) {
 			cached = true;
 		}
+		if (image != oldImage) {
+			parent.getRowGeometry().invalidateRows();
+		}
 
 		if (index == 0) {
 			parent.setScrollWidth(this, false);
@@ -1490,17 +1437,9 @@ public class TableItem extends Item {
 			}
 			int count = Math.max(1, parent.getColumnCount());
 			if (0 > index || index > count - 1) return;
-			if (strings == null && index != 0) {
-				strings = new String[count];
-				strings[0] = text;
-			} else if (strings != null && strings.length < count) {
-				String[] newStrings = new String[count];
-				System.arraycopy(strings, 0, newStrings, 0, strings.length);
-				strings = newStrings;
-			}
-			if (strings != null) {
-				if (string.equals(strings[index])) return;
-				strings[index] = string;
+			if (index != 0) {
+				if (string.equals(parent.cells.getText(row, index))) return;
+				parent.cells.setText(row, index, string);
 			}
 		} finally {
 			clearCache();
@@ -1525,48 +1464,6 @@ public class TableItem extends Item {
 		return location;
 	}
 
-	void moveTextToRightAt(int index) {
-		if (strings == null && images == null) return;
-
-		java.util.List<String> newTexts = new ArrayList<>();
-		java.util.List<Image> newImages = new ArrayList<>();
-
-		for (int i = 0; i < index && i < strings.length; i++) {
-			newTexts.add(strings[i]);
-			newImages.add(getImage(i));
-		}
-		newTexts.add("");
-		newImages.add(null);
-
-		if (strings.length >= index) {
-			for (int k = index; k < strings.length; k++) {
-				newTexts.add(strings[k]);
-				newImages.add(getImage(k));
-			}
-		}
-
-		strings = newTexts.toArray(new String[0]);
-		images = newImages.toArray(new Image[0]);
-	}
-
-	void moveTextsItemsToLeft(int index) {
-		if (strings == null && images == null) return;
-
-		if (strings != null && index > 0 && index < strings.length) {
-			java.util.List<String> newTexts = new ArrayList<>();
-			newTexts.addAll(Arrays.stream(strings).collect(Collectors.toList()));
-			newTexts.remove(index);
-			strings = newTexts.toArray(new String[0]);
-		}
-
-		if (images != null && index > 0 && index < images.length) {
-			java.util.List<Image> newImages = new ArrayList<>();
-			newImages.addAll(Arrays.stream(images).collect(Collectors.toList()));
-			newImages.remove(index);
-			images = newImages.toArray(new Image[0]);
-		}
-	}
-
 	boolean isInCheckArea(Point p) {
 		return renderer.checkboxBounds != null && renderer.checkboxBounds.contains(p);
 	}
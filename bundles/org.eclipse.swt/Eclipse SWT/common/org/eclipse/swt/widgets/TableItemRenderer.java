@@ -1,7 +1,5 @@
 package org.eclipse.swt.widgets;
 
-import java.util.*;
-
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 
@@ -26,9 +24,8 @@ public class TableItemRenderer {
 	private boolean hovered;
 	Rectangle checkboxBounds;
 
-	private final Map<Integer, Point> computedCellSizes = new HashMap<>();
-	private final Map<Integer, Rectangle> internalComputedCellTextBounds = new HashMap<>();
-	private Map<Integer, Rectangle> internalComputedCellImage = new HashMap<>();
+	/** the layouts of the cells, created when a cell is laid out the first time */
+	private CellLayouts cellLayouts;
 	private Point computedSize;
 
 	public TableItemRenderer(TableItem tableItem) {
@@ -42,7 +39,7 @@ public class TableItemRenderer {
 		Table parent = getParent();
 		final boolean paintItemEvent = parent.hooks(SWT.PaintItem);
 
-		if (getParent().selectedTableItems.contains(item)) {
+		if (parent.selection.contains(item.getItemIndex())) {
 			this.selected = true;
 
 			gc.setBackground(Table.SELECTION_COLOR);
@@ -262,8 +259,16 @@ public class TableItemRenderer {
 		return item.getBounds();
 	}
 
+	private CellLayouts getCellLayouts() {
+		if (cellLayouts == null) {
+			cellLayouts = new CellLayouts(getParent().cellLayoutCache);
+		}
+		return cellLayouts;
+	}
+
 	public Point computeCellSize(int colIndex) {
-		final Point cellSize = computedCellSizes.get(colIndex);
+		final CellLayouts layouts = getCellLayouts();
+		final Point cellSize = layouts.getCellSize(colIndex);
 		if (cellSize != null) {
 			return cellSize;
 		}
@@ -276,7 +281,7 @@ public class TableItemRenderer {
 		if (image != null) {
 			final Rectangle bounds = image.getBounds();
 			var rec = new Rectangle(width, topMargin, bounds.width, bounds.height);
-			internalComputedCellImage.put(colIndex, rec);
+			layouts.setImageBounds(colIndex, rec);
 			height += bounds.height;
 			width += bounds.width;
 		}
@@ -286,12 +291,12 @@ public class TableItemRenderer {
 			var size = getParent().computeTextExtent(text);
 
 			var rec = new Rectangle(width, topMargin, size.x, size.y);
-			internalComputedCellTextBounds.put(colIndex, rec);
+			layouts.setTextBounds(colIndex, rec);
 
 			width += size.x;
 			height += size.y;
 		} else {
-			internalComputedCellTextBounds.put(colIndex, new Rectangle(width, height, 0, 0));
+			layouts.setTextBounds(colIndex, new Rectangle(width, height, 0, 0));
 		}
 
 		if (image != null && text != null) {
@@ -300,7 +305,7 @@ public class TableItemRenderer {
 
 		var p = new Point(width, height);
 
-		computedCellSizes.put(colIndex, p);
+		layouts.setCellSize(colIndex, p);
 
 		return p;
 	}
@@ -324,7 +329,7 @@ public class TableItemRenderer {
 
 		// guess the line height for the text. Currently only support for one line
 
-		lineHeight = guessItemHeight(getParent());
+		lineHeight = getParent().getRowGeometry().getLineHeight();
 
 //		if (text != null && !text.isEmpty()) {
 //			Point textExtent = computeTextExtent();
@@ -339,18 +344,11 @@ public class TableItemRenderer {
 //			}
 //		}
 
-		if (item.images != null) {
-			for (var i : item.images) {
-				if (i == null) {
-					continue;
-				}
-				Rectangle imageBounds = i.getBounds();
-				imageHeight = Math.max(imageBounds.height, imageHeight);
-//				width += imageBounds.width;
-//
-//				if (text != null)
-//					width += GAP;
-
+		int cellImageHeight = getParent().cells.getImageHeight(item.row);
+		if (cellImageHeight >= 0) {
+			imageHeight = Math.max(cellImageHeight, imageHeight);
+			if (item.image != null) {
+				imageHeight = Math.max(item.image.getBounds().height, imageHeight);
 			}
 		} else if (item.image != null) {
 			Rectangle imageBounds = item.image.getBounds();
@@ -361,7 +359,7 @@ public class TableItemRenderer {
 			}
 		}
 
-		int height = topMargin + Math.max(lineHeight, imageHeight) + bottomMargin;
+		int height = computeItemHeight(lineHeight, imageHeight);
 
 		if (getParent().getColumnCount() > 0) {
 			width = getParent().getTotalColumnWidth();
@@ -377,9 +375,9 @@ public class TableItemRenderer {
 	}
 
 	public void clearCache() {
-		this.computedCellSizes.clear();
-		this.internalComputedCellTextBounds.clear();
-		this.internalComputedCellImage.clear();
+		if (cellLayouts != null) {
+			cellLayouts.clear();
+		}
 		computedSize = null;
 	}
 
@@ -388,12 +386,17 @@ public class TableItemRenderer {
 		return textHeight + topMargin + bottomMargin;
 	}
 
+	static int computeItemHeight(int lineHeight, int imageHeight) {
+		return topMargin + Math.max(lineHeight, imageHeight) + bottomMargin;
+	}
+
 	public Rectangle getTextBounds(int index) {
 
-		if (internalComputedCellTextBounds.get(index) == null)
+		var internal = getCellLayouts().getTextBounds(index);
+		if (internal == null) {
 			computeCellSize(index);
-
-		var internal = internalComputedCellTextBounds.get(index);
+			internal = cellLayouts.getTextBounds(index);
+		}
 
 		var outer = getBounds(index);
 
@@ -406,10 +409,11 @@ public class TableItemRenderer {
 		if (item.getImage(index) == null)
 			return new Rectangle(0, 0, 0, 0);
 
-		if (internalComputedCellImage.get(index) == null)
+		var internal = getCellLayouts().getImageBounds(index);
+		if (internal == null) {
 			computeCellSize(index);
-
-		var internal = internalComputedCellImage.get(index);
+			internal = cellLayouts.getImageBounds(index);
+		}
 
 		var outer = getBounds(index);
 
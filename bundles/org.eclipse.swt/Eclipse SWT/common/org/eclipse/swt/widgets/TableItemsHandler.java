@@ -10,8 +10,6 @@ class TableItemsHandler {
 	private int lastVisibleElementIndex;
 	private int itemsCountAtCalculation;
 
-	final static int ITEMS_OVERLAY = 5;
-
 	public TableItemsHandler(Table table) {
 		this.table = table;
 	}
@@ -72,9 +70,9 @@ class TableItemsHandler {
 
 		var fgBef = gc.getForeground();
 
-		this.lastVisibleElementIndex = -1;
+		this.lastVisibleElementIndex = table.getRowGeometry().getLastVisibleIndex(itemsArea);
 
-		for (int i = table.getTopIndex(); i < table.getItemCount(); i++) {
+		for (int i = table.getTopIndex(); i <= this.lastVisibleElementIndex; i++) {
 			var item = table.getItem(i);
 
 			if (table.isVirtual()) {
@@ -82,17 +80,8 @@ class TableItemsHandler {
 			}
 
 			item.doPaint(gc);
-
-			final Rectangle bounds = item.getFullBounds();
-			if (bounds.y + bounds.height > itemsArea.y + itemsArea.height) {
-				this.lastVisibleElementIndex = i;
-				break;
-			}
-		}
-
-		if (this.lastVisibleElementIndex == -1) {
-			this.lastVisibleElementIndex = table.getItemCount() - 1;
 		}
+		table.releaseInvisibleVirtualItems(table.getTopIndex(), this.lastVisibleElementIndex);
 
 		gc.setForeground(fgBef);
 	}
@@ -137,20 +126,28 @@ class TableItemsHandler {
 			item.redraw();
 		}
 
-		var items = table.getItems();
-		int topIndex = table.getTopIndex();
-		if (items != null) {
-			for (int i = topIndex; i < Math.min(this.lastVisibleElementIndex + ITEMS_OVERLAY,
-					table.getItemCount()); i++) {
-				var item = table.getItem(i);
-				if (item.getBounds().contains(p)) {
-					table.mouseHoverElement = item;
-					item.redraw();
-					return;
-				}
+		var item = getItemAt(p);
+		if (item != null) {
+			table.mouseHoverElement = item;
+			item.redraw();
+		}
+	}
 
-			}
+	/**
+	 * Returns the visible item whose bounds contain the given point or
+	 * <code>null</code> if there is no such item.
+	 */
+	TableItem getItemAt(Point p) {
+		int index = table.getRowGeometry().getItemIndexAt(p.y);
+		if (index < table.getTopIndex()) {
+			return null;
 		}
+
+		var item = table.getItem(index);
+		if (item.getBounds().contains(p)) {
+			return item;
+		}
+		return null;
 	}
 
 	public int getLastVisibleElementIndex() {
@@ -167,24 +164,20 @@ class TableItemsHandler {
 
 		Point p = new Point(event.x, event.y);
 		if (ica.contains(p)) {
-			for (int i = table.getTopIndex(); i < Math.min(this.lastVisibleElementIndex + ITEMS_OVERLAY,
-					table.getItemCount()); i++) {
-				var it = table.getItem(i);
-				if (it.getBounds().contains(p)) {
-					Event e = new Event();
-					e.item = it;
-					e.type = SWT.DefaultSelection;
-					e.count = event.count;
-					e.button = event.button;
-					e.doit = event.doit;
-					e.stateMask = event.stateMask;
-					e.time = event.time;
-					e.x = event.x;
-					e.y = event.y;
-
-					table.postEvent(SWT.DefaultSelection, e);
-					return;
-				}
+			var it = getItemAt(p);
+			if (it != null) {
+				Event e = new Event();
+				e.item = it;
+				e.type = SWT.DefaultSelection;
+				e.count = event.count;
+				e.button = event.button;
+				e.doit = event.doit;
+				e.stateMask = event.stateMask;
+				e.time = event.time;
+				e.x = event.x;
+				e.y = event.y;
+
+				table.postEvent(SWT.DefaultSelection, e);
 			}
 		}
 	}
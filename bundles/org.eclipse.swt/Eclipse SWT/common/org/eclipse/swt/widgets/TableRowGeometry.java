@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import java.util.*;
+
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Maps the rows of a {@link Table} to vertical positions and back. All rows
+ * without images have the same height, so as long as no image makes a row
+ * taller, positions are computed arithmetically. Otherwise the row offsets are
+ * kept as prefix sums, which are rebuilt lazily after the rows changed and
+ * searched binary for hit testing.
+ * <p>
+ * Row positions are relative to the top of the first row and include the grid
+ * line below each row. The item positions are in the coordinates of the table,
+ * i.e. they take the header and the top index into account.
+ * </p>
+ */
+class TableRowGeometry {
+
+	private final Table table;
+
+	private int lineHeight = -1;
+	private boolean valid;
+	private int rowCount;
+	private int rowHeight;
+	/** offsets of the rows and the total height, <code>null</code> if all rows have the same height */
+	private int[] rowOffsets;
+
+	TableRowGeometry(Table table) {
+		this.table = table;
+	}
+
+	/**
+	 * Invalidates everything, has to be called if the font or the grid lines of
+	 * the table changed.
+	 */
+	void invalidate() {
+		lineHeight = -1;
+		invalidateRows();
+	}
+
+	/**
+	 * Invalidates the row offsets, has to be called if rows were added or removed
+	 * or the images of an item changed.
+	 */
+	void invalidateRows() {
+		valid = false;
+		rowOffsets = null;
+	}
+
+	/**
+	 * Returns the height of a text line including the margins, which is the
+	 * minimal height of the content of each item.
+	 */
+	int getLineHeight() {
+		if (lineHeight < 0) {
+			lineHeight = TableItemRenderer.guessItemHeight(table);
+		}
+		return lineHeight;
+	}
+
+	/**
+	 * Returns the height of an item without images, excluding the grid line.
+	 */
+	int getDefaultItemHeight() {
+		return TableItemRenderer.computeItemHeight(getLineHeight(), 0);
+	}
+
+	private void update() {
+		int count = table.getItemCount();
+		if (valid && rowCount == count) {
+			return;
+		}
+
+		valid = true;
+		rowCount = count;
+		rowHeight = getDefaultItemHeight() + TableItemsHandler.getGridSize(table);
+		rowOffsets = null;
+
+		var tallRows = new TreeMap<Integer, Integer>();
+		table.forEachCreatedItem((item, index) -> {
+			if (item.image == null && !table.cells.hasImages(item.row)) {
+				return;
+			}
+			int height = TableItemsHandler.getItemsHeight(item);
+			if (height != rowHeight) {
+				tallRows.put(index, height);
+			}
+		});
+		if (tallRows.isEmpty()) {
+			return;
+		}
+
+		int[] offsets = new int[count + 1];
+		int index = 0;
+		int y = 0;
+		for (var e : tallRows.entrySet()) {
+			for (; index < e.getKey(); index++) {
+				offsets[index] = y;
+				y += rowHeight;
+			}
+			offsets[index++] = y;
+			y += e.getValue();
+		}
+		for (; index < count; index++) {
+			offsets[index] = y;
+			y += rowHeight;
+		}
+		offsets[count] = y;
+		rowOffsets = offsets;
+	}
+
+	/**
+	 * Returns the offset of the row with the given index from the top of the first
+	 * row.
+	 */
+	int getRowY(int index) {
+		update();
+		index = Math.max(0, Math.min(index, rowCount));
+		if (rowOffsets == null) {
+			return index * rowHeight;
+		}
+		return rowOffsets[index];
+	}
+
+	/**
+	 * Returns the height of all rows.
+	 */
+	int getTotalHeight() {
+		update();
+		return getRowY(rowCount);
+	}
+
+	/**
+	 * Returns the index of the row at the given offset from the top of the first
+	 * row or -1 if there is no such row.
+	 */
+	int getRowIndex(int y) {
+		update();
+		if (y < 0) {
+			return -1;
+		}
+
+		int index;
+		if (rowOffsets == null) {
+			index = y / rowHeight;
+		} else {
+			int i = Arrays.binarySearch(rowOffsets, y);
+			index = i >= 0 ? i : -i - 2;
+		}
+		return index < rowCount ? index : -1;
+	}
+
+	/**
+	 * Returns the location of the item with the given index in the coordinates of
+	 * the table.
+	 */
+	Point getItemLocation(int index) {
+		Point topItemPosition = table.getTopIndexItemPosition();
+		int y = topItemPosition.y + getRowY(index) - getRowY(table.getTopIndex());
+		return new Point(topItemPosition.x, y);
+	}
+
+	/**
+	 * Returns the index of the row at the given y coordinate of the table or -1
+	 * if there is no such row.
+	 */
+	int getItemIndexAt(int y) {
+		Point topItemPosition = table.getTopIndexItemPosition();
+		return getRowIndex(y - topItemPosition.y + getRowY(table.getTopIndex()));
+	}
+
+	/**
+	 * Returns the index of the last row which is at least partially visible in the
+	 * given items area or -1 if the table is empty.
+	 */
+	int getLastVisibleIndex(Rectangle itemsArea) {
+		update();
+		if (rowCount == 0) {
+			return -1;
+		}
+
+		int index = getItemIndexAt(itemsArea.y + itemsArea.height - 1);
+		if (index == -1) {
+			return rowCount - 1;
+		}
+		return Math.max(index, table.getTopIndex());
+	}
+}
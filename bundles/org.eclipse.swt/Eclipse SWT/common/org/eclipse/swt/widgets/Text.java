@@ -71,6 +71,7 @@ public class Text extends NativeBasedCustomScrollable {
 
 	private int tabs = 8;
 	private final TextModel model;
+	private final TextLineWidths lineWidths;
 	private String message;
 	private char echoChar;
 
@@ -79,6 +80,8 @@ public class Text extends NativeBasedCustomScrollable {
 	private boolean doubleClick = true;
 	private Point doubleClickStartRange;
 	private TextCaret caret;
+	/** whether the last paint showed selected text */
+	private boolean selectionPainted;
 
 	private final TextRenderer renderer;
 
@@ -129,6 +132,7 @@ public class Text extends NativeBasedCustomScrollable {
 	public Text(Composite parent, int style) {
 		super(parent, checkStyle(style) & ~SWT.BORDER);
 		model = new TextModel();
+		lineWidths = new TextLineWidths(this, model);
 		message = "";
 
 		setCaret(new TextCaret(this, SWT.NONE));
@@ -145,6 +149,18 @@ public class Text extends NativeBasedCustomScrollable {
 		return renderer;
 	}
 
+	TextLineWidths getLineWidths() {
+		return lineWidths;
+	}
+
+	@Override
+	public void setFont(Font font) {
+		checkWidget();
+		super.setFont(font);
+		lineWidths.invalidate();
+		redraw();
+	}
+
 	static int checkStyle(int style) {
 		if ((style & SWT.SEARCH) != 0) {
 			style |= SWT.SINGLE | SWT.BORDER;
@@ -230,6 +246,11 @@ public class Text extends NativeBasedCustomScrollable {
 			public void selectionChanged() {
 				Text.this.selectionChanged();
 			}
+
+			@Override
+			public void linesChanged(int line, int removedLines, int insertedLines) {
+				lineWidths.linesChanged(line, removedLines, insertedLines);
+			}
 		});
 	}
 
@@ -284,6 +305,39 @@ public class Text extends NativeBasedCustomScrollable {
 		}
 	}
 
+	@Override
+	void releaseWidget() {
+		super.releaseWidget();
+		Drawing.releaseResources(this);
+	}
+
+	@Override
+	public void redraw() {
+		checkWidget();
+		display.frameScheduler.requestRedraw(this, this::redrawNow);
+	}
+
+	@Override
+	public void redraw(int x, int y, int width, int height, boolean all) {
+		checkWidget();
+		display.frameScheduler.requestRedraw(this, x, y, width, height, all, this::redrawNow);
+	}
+
+	private void redrawNow(Rectangle area, boolean all) {
+		if (area == null) {
+			super.redraw();
+		} else {
+			super.redraw(area.x, area.y, area.width, area.height, all);
+		}
+	}
+
+	@Override
+	public void update() {
+		checkWidget();
+		display.frameScheduler.flush(this);
+		super.update();
+	}
+
 	@Override
 	public Point computeSize(int wHint, int hHint, boolean changed) {
 		checkWidget();
@@ -306,19 +360,15 @@ public class Text extends NativeBasedCustomScrollable {
 			gc.setFont(getFont());
 			int width = 0, height = 0;
 			if ((style & SWT.SINGLE) != 0) {
-				String str = model.getLines()[0];
+				String str = model.getLine(0);
 				Point size = gc.textExtent(str);
 				if (str.length() > 0) {
 					width = (int)Math.ceil(size.x);
 				}
 				height = (int)Math.ceil(size.y);
 			} else {
-				Point size = null;
-				for (String line : model.getLines()) {
-					size = gc.textExtent(line);
-					width = Math.max(width, size.x);
-				}
-				height = size.y * model.getLineCount();
+				width = lineWidths.getMaxWidth(gc);
+				height = renderer.getLineHeight(gc) * model.getLineCount();
 				if (horizontalBar != null) {
 					height += horizontalBar.getSize().y;
 				}
@@ -331,11 +381,38 @@ public class Text extends NativeBasedCustomScrollable {
 	}
 
 	private void selectionChanged() {
-		keepCaretInVisibleArea();
-		redraw();
+		boolean scrolled = keepCaretInVisibleArea();
+		boolean textSelected = model.isTextSelected();
+		if (scrolled || textSelected || selectionPainted) {
+			redraw();
+		} else {
+			// only the caret moved, which just repaints its old and its new bounds
+			updateCaretBounds();
+		}
+		selectionPainted = textSelected;
 	}
 
-	private void keepCaretInVisibleArea() {
+	private void updateCaretBounds() {
+		if (caret == null) {
+			return;
+		}
+		Drawing.measure(this, gc -> {
+			gc.setFont(getFont());
+			Point caretLocation = getLocationByOffset(model.getCaretOffset(), gc);
+			Rectangle visibleArea = renderer.getVisibleArea();
+			caret.setBounds(caretLocation.x - visibleArea.x, caretLocation.y - visibleArea.y, 1,
+					renderer.getLineHeight(gc));
+			return null;
+		});
+	}
+
+	/**
+	 * Scrolls the caret into the visible area and returns whether the text was
+	 * scrolled.
+	 */
+	private boolean keepCaretInVisibleArea() {
+		int hSelection = horizontalBar != null ? horizontalBar.getSelection() : 0;
+		int vSelection = verticalBar != null ? verticalBar.getSelection() : 0;
 		Drawing.measure(this, gc -> {
 			Point caretLocation = getLocationByOffset(model.getCaretOffset(), gc);
 			Rectangle visibleArea = renderer.getVisibleArea();
@@ -363,6 +440,8 @@ public class Text extends NativeBasedCustomScrollable {
 			}
 			return null;
 		});
+		return (horizontalBar != null && horizontalBar.getSelection() != hSelection)
+				|| (verticalBar != null && verticalBar.getSelection() != vSelection);
 	}
 
 	protected void focusLost(Event e) {
@@ -481,13 +560,13 @@ public class Text extends NativeBasedCustomScrollable {
 		int y = Math.max(selectedY + visibleArea.y, 0);
 
 		return Drawing.measure(this, gc -> {
-			String[] textLines = model.getLines();
-			int clickedLine = Math.min(y / renderer.getLineHeight(gc), textLines.length - 1);
-			int selectedLine = Math.min(clickedLine, textLines.length - 1);
-			String text = textLines[selectedLine];
-			if (clickedLine == selectedLine && text.length() > 0) {
+			int lineCount = model.getLineCount();
+			int clickedLine = Math.min(y / renderer.getLineHeight(gc), lineCount - 1);
+			int selectedLine = Math.min(clickedLine, lineCount - 1);
+			int lineLength = model.getLineLength(selectedLine);
+			if (clickedLine == selectedLine && lineLength > 0) {
 				int before = 0;
-				int after = text.length();
+				int after = lineLength;
 				while (true) {
 					int middle = (before + after) / 2;
 					final int middleX = renderer.getLocationByTextLocation(new TextLocation(selectedLine, middle), gc).x;
@@ -509,7 +588,7 @@ public class Text extends NativeBasedCustomScrollable {
 					before = middle;
 				}
 			}
-			return new TextLocation(clickedLine, text.length());
+			return new TextLocation(clickedLine, lineLength);
 		});
 	}
 
@@ -879,6 +958,7 @@ public class Text extends NativeBasedCustomScrollable {
 
 	public void setEchoChar(char echoChar) {
 		this.echoChar = echoChar;
+		lineWidths.invalidate();
 	}
 
 	public int getLineCount() {
@@ -960,16 +1040,10 @@ public class Text extends NativeBasedCustomScrollable {
 		return model.getText();
 	}
 
-	String[] getDisplayLines() {
+	String getDisplayLine(int line) {
 		if (isPasswordMode()) {
-			char echo = getEffectiveEchoChar();
-			String[] lines = model.getLines();
-			String[] masked = new String[lines.length];
-			for (int i = 0; i < lines.length; i++) {
-				masked[i] = maskText(lines[i].length(), echo);
-			}
-			return masked;
+			return maskText(model.getLineLength(line), getEffectiveEchoChar());
 		}
-		return model.getLines();
+		return model.getLine(line);
 	}
 }
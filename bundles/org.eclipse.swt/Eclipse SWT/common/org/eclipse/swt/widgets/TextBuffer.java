@@ -0,0 +1,269 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import java.util.*;
+
+/**
+ * Stores the characters of a {@link TextModel} in a gap buffer together with
+ * the start offsets of its lines.
+ * <p>
+ * The characters are kept in an array with a gap at the position of the last
+ * edit, so typing, deleting and pasting at the caret only moves the characters
+ * between two consecutive edit positions. The line starts are kept the same
+ * way: starts before the gap are stored as offsets from the beginning of the
+ * text and starts after the gap as distances from the end of the text, so an
+ * edit only touches the line starts of the replaced range and its inserted
+ * lines. Offsets are mapped to lines by searching the line starts binary.
+ * </p>
+ * <p>
+ * Lines are separated by {@link TextModel#DELIMITER}, the delimiter belongs to
+ * the line it terminates but is not part of the line's text.
+ * </p>
+ */
+class TextBuffer {
+
+	private static final char DELIMITER = TextModel.DELIMITER.charAt(0);
+	private static final int MIN_GAP = 64;
+
+	private char[] chars = new char[MIN_GAP];
+	private int gapStart;
+	private int gapEnd = MIN_GAP;
+
+	/** the line starts, the first line always starts at 0 */
+	private int[] lineStarts = new int[MIN_GAP];
+	private int lineGapStart = 1;
+	private int lineGapEnd = MIN_GAP;
+
+	/** the text as string, <code>null</code> if outdated */
+	private String text = "";
+
+	/**
+	 * Returns the number of characters.
+	 */
+	int length() {
+		return chars.length - (gapEnd - gapStart);
+	}
+
+	char charAt(int offset) {
+		if (offset < 0 || offset >= length()) {
+			throw new IndexOutOfBoundsException(offset);
+		}
+		return offset < gapStart ? chars[offset] : chars[offset + gapEnd - gapStart];
+	}
+
+	/**
+	 * Returns the complete text. The string is cached until the next edit.
+	 */
+	String getText() {
+		if (text == null) {
+			text = getText(0, length());
+		}
+		return text;
+	}
+
+	/**
+	 * Returns the characters from <code>start</code> (inclusive) to
+	 * <code>end</code> (exclusive).
+	 */
+	String getText(int start, int end) {
+		if (start < 0 || end > length() || start > end) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (text != null) {
+			return text.substring(start, end);
+		}
+		if (end <= gapStart) {
+			return new String(chars, start, end - start);
+		}
+		int gap = gapEnd - gapStart;
+		if (start >= gapStart) {
+			return new String(chars, start + gap, end - start);
+		}
+		StringBuilder sb = new StringBuilder(end - start);
+		sb.append(chars, start, gapStart - start);
+		sb.append(chars, gapEnd, end - gapStart);
+		return sb.toString();
+	}
+
+	/**
+	 * Replaces the whole content with the given text.
+	 */
+	void setText(String string) {
+		int length = string.length();
+		chars = new char[length + MIN_GAP];
+		string.getChars(0, length, chars, 0);
+		gapStart = length;
+		gapEnd = chars.length;
+
+		int count = 1;
+		for (int i = 0; i < length; i++) {
+			if (chars[i] == DELIMITER) {
+				count++;
+			}
+		}
+		lineStarts = new int[count + MIN_GAP];
+		lineGapStart = 1;
+		for (int i = 0; i < length; i++) {
+			if (chars[i] == DELIMITER) {
+				lineStarts[lineGapStart++] = i + 1;
+			}
+		}
+		lineGapEnd = lineStarts.length;
+		text = string;
+	}
+
+	/**
+	 * Replaces the characters from <code>start</code> (inclusive) to
+	 * <code>end</code> (exclusive) with the given string.
+	 */
+	void replace(int start, int end, String string) {
+		if (start < 0 || end > length() || start > end) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (start == end && string.isEmpty()) {
+			return;
+		}
+
+		// line starts within (start, end] belong to removed delimiters
+		int firstLine = getLineAtOffset(start);
+		int removedLines = getLineAtOffset(end) - firstLine;
+		moveLineGap(firstLine + 1);
+		lineGapEnd += removedLines;
+
+		moveGap(start);
+		gapEnd += end - start;
+		int length = string.length();
+		ensureGap(length);
+		string.getChars(0, length, chars, gapStart);
+		gapStart += length;
+
+		for (int i = 0; i < length; i++) {
+			if (string.charAt(i) == DELIMITER) {
+				ensureLineGap(1);
+				lineStarts[lineGapStart++] = start + i + 1;
+			}
+		}
+		text = null;
+	}
+
+	/**
+	 * Returns the number of lines, which is one more than the number of line
+	 * delimiters.
+	 */
+	int getLineCount() {
+		return lineStarts.length - (lineGapEnd - lineGapStart);
+	}
+
+	/**
+	 * Returns the offset of the first character of the given line.
+	 */
+	int getLineStart(int line) {
+		if (line < lineGapStart) {
+			return lineStarts[line];
+		}
+		return length() - lineStarts[line + lineGapEnd - lineGapStart];
+	}
+
+	/**
+	 * Returns the offset after the last character of the given line, excluding
+	 * the line delimiter.
+	 */
+	int getLineEnd(int line) {
+		return line + 1 < getLineCount() ? getLineStart(line + 1) - 1 : length();
+	}
+
+	int getLineLength(int line) {
+		return getLineEnd(line) - getLineStart(line);
+	}
+
+	/**
+	 * Returns the text of the given line without its delimiter.
+	 */
+	String getLine(int line) {
+		if (line < 0 || line >= getLineCount()) {
+			throw new IndexOutOfBoundsException(line);
+		}
+		return getText(getLineStart(line), getLineEnd(line));
+	}
+
+	/**
+	 * Returns the line which contains the given offset. An offset directly after
+	 * a delimiter belongs to the following line.
+	 */
+	int getLineAtOffset(int offset) {
+		int low = 0;
+		int high = getLineCount() - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (getLineStart(mid) <= offset) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+	private void moveGap(int offset) {
+		if (offset < gapStart) {
+			int count = gapStart - offset;
+			System.arraycopy(chars, offset, chars, gapEnd - count, count);
+			gapStart -= count;
+			gapEnd -= count;
+		} else if (offset > gapStart) {
+			int count = offset - gapStart;
+			System.arraycopy(chars, gapEnd, chars, gapStart, count);
+			gapStart += count;
+			gapEnd += count;
+		}
+	}
+
+	private void ensureGap(int size) {
+		if (gapEnd - gapStart >= size) {
+			return;
+		}
+		int length = length();
+		int capacity = Math.max(length + size + MIN_GAP, chars.length * 2);
+		char[] newChars = new char[capacity];
+		int tail = chars.length - gapEnd;
+		System.arraycopy(chars, 0, newChars, 0, gapStart);
+		System.arraycopy(chars, gapEnd, newChars, capacity - tail, tail);
+		chars = newChars;
+		gapEnd = capacity - tail;
+	}
+
+	/**
+	 * Moves the gap of the line starts before the given line. Moved starts are
+	 * converted between offsets from the beginning and distances from the end.
+	 */
+	private void moveLineGap(int line) {
+		int length = length();
+		while (lineGapStart > line) {
+			lineStarts[--lineGapEnd] = length - lineStarts[--lineGapStart];
+		}
+		while (lineGapStart < line) {
+			lineStarts[lineGapStart++] = length - lineStarts[lineGapEnd++];
+		}
+	}
+
+	private void ensureLineGap(int size) {
+		if (lineGapEnd - lineGapStart >= size) {
+			return;
+		}
+		int capacity = Math.max(getLineCount() + size + MIN_GAP, lineStarts.length * 2);
+		int tail = lineStarts.length - lineGapEnd;
+		int[] newStarts = Arrays.copyOf(lineStarts, capacity);
+		System.arraycopy(lineStarts, lineGapEnd, newStarts, capacity - tail, tail);
+		lineStarts = newStarts;
+		lineGapEnd = capacity - tail;
+	}
+}
@@ -136,7 +136,9 @@ class TextCaret extends Widget {
 			nWidth = DEFAULT_WIDTH;
 		}
 		setBounds(x, y, nWidth, nHeight);
-		parent.redraw();
+		// only the caret's area is painted again, the text around it is unchanged
+		Rectangle bounds = getBounds();
+		parent.redraw(bounds.x, bounds.y, bounds.width, bounds.height, false);
 		return true;
 	}
 
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import java.util.*;
+
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Caches the widths of the display lines of a {@link Text}. Lines are measured
+ * lazily and only the lines touched by an edit are measured again, so neither
+ * painting nor computing the text size measures the whole document after each
+ * keystroke.
+ * <p>
+ * The widths are measured with the font of the given {@link GC}, which has to
+ * be the font of the text.
+ * </p>
+ */
+class TextLineWidths {
+
+	private final Text text;
+	private final TextModel model;
+
+	/** the widths of the lines, -1 if unknown */
+	private int[] widths = { -1 };
+	private int count = 1;
+	private int maxWidth = -1;
+
+	TextLineWidths(Text text, TextModel model) {
+		this.text = text;
+		this.model = model;
+	}
+
+	/**
+	 * Invalidates all widths, has to be called if the font or the echo character
+	 * of the text changed.
+	 */
+	void invalidate() {
+		Arrays.fill(widths, 0, count, -1);
+		maxWidth = -1;
+	}
+
+	/**
+	 * Has to be called after the given line was modified and
+	 * <code>removedLines</code> lines following it were replaced by
+	 * <code>insertedLines</code> lines.
+	 */
+	void linesChanged(int line, int removedLines, int insertedLines) {
+		maxWidth = -1;
+		if (line + removedLines >= count) {
+			// out of sync, remeasure everything on the next access
+			count = 0;
+			return;
+		}
+
+		int newCount = count - removedLines + insertedLines;
+		if (newCount > widths.length) {
+			widths = Arrays.copyOf(widths, Math.max(newCount, widths.length * 2));
+		}
+		int tail = count - line - 1 - removedLines;
+		System.arraycopy(widths, line + 1 + removedLines, widths, line + 1 + insertedLines, tail);
+		Arrays.fill(widths, line, line + 1 + insertedLines, -1);
+		count = newCount;
+	}
+
+	private void checkCount() {
+		int lineCount = model.getLineCount();
+		if (count != lineCount) {
+			widths = new int[lineCount];
+			count = lineCount;
+			Arrays.fill(widths, -1);
+			maxWidth = -1;
+		}
+	}
+
+	/**
+	 * Returns the width of the given display line.
+	 */
+	int getWidth(int line, GC gc) {
+		checkCount();
+		int width = widths[line];
+		if (width < 0) {
+			width = gc.textExtent(text.getDisplayLine(line)).x;
+			widths[line] = width;
+		}
+		return width;
+	}
+
+	/**
+	 * Returns the width of the widest display line.
+	 */
+	int getMaxWidth(GC gc) {
+		checkCount();
+		if (maxWidth < 0) {
+			int max = 0;
+			for (int i = 0; i < count; i++) {
+				max = Math.max(max, getWidth(i, gc));
+			}
+			maxWidth = max;
+		}
+		return maxWidth;
+	}
+}
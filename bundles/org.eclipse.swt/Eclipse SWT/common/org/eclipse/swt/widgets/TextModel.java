@@ -20,7 +20,7 @@ import org.eclipse.swt.graphics.Point;
 class TextModel {
 	static final String DELIMITER = "\n";
 
-	private String text = "";
+	private final TextBuffer content = new TextBuffer();
 
 	private int selectionStart, selectionEnd;
 	private int caretOffset;
@@ -30,7 +30,7 @@ class TextModel {
 	private String[] textLines;
 
 	String getText() {
-		return text;
+		return content.getText();
 	}
 
 	String getText(int start, int end) {
@@ -40,7 +40,7 @@ class TextModel {
 
 		int textLength = getCharCount();
 
-		return getText().substring(Math.min(Math.max(start, 0), textLength), Math.min(Math.max(0, end), textLength));
+		return content.getText(Math.min(Math.max(start, 0), textLength), Math.min(Math.max(0, end), textLength));
 	}
 
 	void replaceSelectedTextWith(String string) {
@@ -59,11 +59,7 @@ class TextModel {
 			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 		}
 
-		StringBuilder sb = new StringBuilder(text.substring(0, start));
-		sb.append(string);
-		sb.append(text.substring(end));
-
-		text = sb.toString();
+		replaceContent(start, end, string);
 		caretOffset = start + string.length();
 		sendTextModified();
 		clearSelection();
@@ -80,26 +76,22 @@ class TextModel {
 	void removeCharacterAfterCaret() {
 		if (isTextSelected()) {
 			replaceSelectedTextWith("");
-		} else if (getCaretOffset() < text.length()) {
+		} else if (getCaretOffset() < getCharCount()) {
 			replaceWith("", getCaretOffset(), getCaretOffset() + 1);
 		}
 	}
 
 	int getOffset(TextLocation location) {
-		String[] lines = getLines();
-		int offset = 0;
-		for (int i = 0; i < location.line; i++) {
-			offset += lines[i].length() + 1; // add 1 for line break
-		}
-		offset += Math.min(location.column, lines[location.line].length());
-		return offset;
+		return content.getLineStart(location.line) + Math.min(location.column, content.getLineLength(location.line));
 	}
 
 	void setText(String text) {
 		if (text == null) {
 			SWT.error(SWT.ERROR_NULL_ARGUMENT);
 		}
-		this.text = text;
+		int lineCount = content.getLineCount();
+		content.setText(text);
+		sendLinesChanged(0, lineCount - 1, content.getLineCount() - 1);
 		caretOffset = 0;
 		clearSelection();
 		sendTextModified();
@@ -109,26 +101,45 @@ class TextModel {
 		if (string == null) {
 			SWT.error(SWT.ERROR_NULL_ARGUMENT);
 		}
-		text = text + string;
+		replaceContent(getCharCount(), getCharCount(), string);
 		caretOffset = getCharCount();
 		if (string.length() != 0) {
 			sendTextModified();
 		}
 	}
 
+	/**
+	 * Returns all lines. Prefer {@link #getLine(int)} to access single lines, the
+	 * array is only cached until the next modification.
+	 */
 	String[] getLines() {
 		if (textLines == null) {
-			textLines = getLinesOf(text);
+			String[] lines = new String[getLineCount()];
+			for (int i = 0; i < lines.length; i++) {
+				lines[i] = content.getLine(i);
+			}
+			textLines = lines;
 		}
 		return textLines;
 	}
 
+	String getLine(int line) {
+		if (textLines != null) {
+			return textLines[line];
+		}
+		return content.getLine(line);
+	}
+
+	int getLineLength(int line) {
+		return content.getLineLength(line);
+	}
+
 	int getLineCount() {
-		return getLines().length;
+		return content.getLineCount();
 	}
 
 	int getCharCount() {
-		return text.length();
+		return content.length();
 	}
 
 	TextLocation getLocation(int offset) {
@@ -136,42 +147,8 @@ class TextModel {
 			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 		}
 
-		int line = 0;
-		int column = 0;
-
-		for (int i = 0; i < offset; i++) {
-			char c = text.charAt(i);
-			if (c == '\n') {
-				line++;
-				column = 0; // Reset column number after a new line
-			} else if (c == '\r') {
-				if (i + 1 < text.length() && text.charAt(i + 1) == '\n') {
-					i++; // Skip the '\n' in '\r\n' sequence
-				}
-				line++;
-				column = 0; // Reset column number after a new line
-			} else {
-				column++;
-			}
-		}
-		return new TextLocation(line, column);
-	}
-
-	private String[] getLinesOf(String string) {
-		int count = (int) string.chars().filter(c -> c == DELIMITER.toCharArray()[0]).count();
-		String[] lines = new String[count + 1];
-
-		int offset = string.indexOf(DELIMITER);
-		int i = 0;
-		while (offset >= 0) {
-			lines[i] = string.substring(0, offset);
-			string = string.substring(offset + 1);
-			offset = string.indexOf(DELIMITER);
-			i++;
-		}
-		lines[i] = string;
-
-		return lines;
+		int line = content.getLineAtOffset(offset);
+		return new TextLocation(line, offset - content.getLineStart(line));
 	}
 
 	void insert(String string) {
@@ -186,18 +163,22 @@ class TextModel {
 	}
 
 	private void insert(String string, int offset) {
-		if (text == null) {
+		if (string == null) {
 			SWT.error(SWT.ERROR_NULL_ARGUMENT);
 		}
-		StringBuilder sb = new StringBuilder(text.substring(0, offset));
-		sb.append(string);
-		sb.append(text.substring(offset));
-
-		text = sb.toString();
+		replaceContent(offset, offset, string);
 		setCaretOffset(getCaretOffset() + string.length());
 		sendTextModified();
 	}
 
+	private void replaceContent(int start, int end, String string) {
+		int line = content.getLineAtOffset(start);
+		int removedLines = content.getLineAtOffset(end) - line;
+		int lineCount = content.getLineCount();
+		content.replace(start, end, string);
+		sendLinesChanged(line, removedLines, content.getLineCount() - lineCount + removedLines);
+	}
+
 	private void setCaretOffset(int offset) {
 		caretOffset = offset;
 	}
@@ -314,7 +295,7 @@ class TextModel {
 	}
 
 	private boolean isWordCharAt(int offset) {
-		return offset >= 0 && offset < text.length() && Character.isLetterOrDigit(text.charAt(offset));
+		return offset >= 0 && offset < getCharCount() && Character.isLetterOrDigit(content.charAt(offset));
 	}
 
 	TextLocation getCaretLocation() {
@@ -355,7 +336,7 @@ class TextModel {
 
 	void moveCaretToLineEnd(boolean updateSelection) {
 		TextLocation caretLocation = getLocation(getCaretOffset());
-		caretLocation.column = getLines()[caretLocation.line].length();
+		caretLocation.column = getLineLength(caretLocation.line);
 		moveCaretTo(getOffset(caretLocation), updateSelection);
 	}
 
@@ -400,6 +381,12 @@ class TextModel {
 		}
 	}
 
+	private void sendLinesChanged(int line, int removedLines, int insertedLines) {
+		for (ITextModelChangedListener listener : modelChangedListeners) {
+			listener.linesChanged(line, removedLines, insertedLines);
+		}
+	}
+
 	private void sendSelectionChanged() {
 		for (ITextModelChangedListener listener : modelChangedListeners) {
 			listener.selectionChanged();
@@ -467,4 +454,13 @@ interface ITextModelChangedListener {
 	void textModified();
 
 	void selectionChanged();
+
+	/**
+	 * Notifies that the given line was modified and the lines below it were
+	 * replaced, i.e. <code>removedLines</code> lines following it were removed and
+	 * <code>insertedLines</code> new lines were inserted in their place. Sent
+	 * before {@link #textModified()}.
+	 */
+	default void linesChanged(int line, int removedLines, int insertedLines) {
+	}
 }
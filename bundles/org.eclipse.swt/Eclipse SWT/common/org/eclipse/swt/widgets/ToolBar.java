@@ -215,53 +215,63 @@ public class ToolBar extends CustomComposite {
 	}
 
 	private void onMouseExit(Event event) {
-		boolean paintRequested = false;
 		List<ToolItem> copy = List.copyOf(items);
 		for (ToolItem item : copy) {
-			paintRequested |= item.notifyMouseExit();
-		}
-
-		if (paintRequested) {
-			redraw();
+			if (item.notifyMouseExit()) {
+				redrawItem(item);
+			}
 		}
 	}
 
 	private void onMouseMove(Event event) {
-		boolean paintRequested = false;
 		List<ToolItem> copy = List.copyOf(items);
 		for (ToolItem item : copy) {
-			paintRequested |= item.notifyMouseMove(toPoint(event));
-		}
-
-		if (paintRequested) {
-			redraw();
+			if (item.notifyMouseMove(toPoint(event))) {
+				redrawItem(item);
+			}
 		}
 	}
 
 	private void onMouseDown(Event event) {
-		boolean paintRequested = false;
 		List<ToolItem> copy = List.copyOf(items);
 		for (ToolItem item : copy) {
-			paintRequested |= item.notifyMouseDown(toPoint(event));
-		}
-
-		if (paintRequested) {
-			redraw();
+			if (item.notifyMouseDown(toPoint(event))) {
+				redrawItem(item);
+			}
 		}
 	}
 
 	private void onMouseUp(Event event) {
-		boolean paintRequested = false;
 		List<ToolItem> copy = List.copyOf(items);
 		for (ToolItem item : copy) {
-			paintRequested |= item.notifyMouseUp(toPoint(event));
+			if (item.notifyMouseUp(toPoint(event))) {
+				redrawItem(item);
+			}
 		}
+	}
 
-		if (paintRequested) {
+	/**
+	 * Repaints only the bounds of the given item, e.g. after its hover or
+	 * selection state changed. The layout of the items is kept.
+	 */
+	void redrawItem(ToolItem item) {
+		Rectangle bounds = item.getBounds();
+		if (isRightToLeft() || bounds.isEmpty()) {
 			redraw();
+		} else {
+			redraw(bounds.x, bounds.y, bounds.width, bounds.height, false);
 		}
 	}
 
+	/**
+	 * Recomputes the layout of the items on the next paint, e.g. after the text
+	 * or image and therefore the size of an item changed.
+	 */
+	void layoutItems() {
+		renderer.invalidateLayout();
+		redraw();
+	}
+
 	private Point toPoint(Event e) {
 		Point p = e.getLocation();
 		if (isLeftToRight()) {
@@ -332,6 +342,7 @@ public class ToolBar extends CustomComposite {
 	void createItem(ToolItem item, int index) {
 		items.add(index, item);
 		itemCount = items.size();
+		layoutItems();
 	}
 
 	/**
@@ -488,6 +499,13 @@ public class ToolBar extends CustomComposite {
 		return items.indexOf(item);
 	}
 
+	@Override
+	public void setFont(Font font) {
+		checkWidget();
+		super.setFont(font);
+		layoutItems();
+	}
+
 	@Override
 	public void setEnabled(boolean enabled) {
 		super.setEnabled(enabled);
@@ -510,6 +528,7 @@ public class ToolBar extends CustomComposite {
 		for (var it : group) {
 			if (it.internalUnselect()) {
 				deselected.add(it);
+				redrawItem(it);
 			}
 		}
 
@@ -570,6 +589,9 @@ public class ToolBar extends CustomComposite {
 	void notifyItemDisposed(ToolItem toolItem) {
 		items.remove(toolItem);
 		itemCount = items.size();
+		if ((state & DISPOSE_SENT) == 0) {
+			layoutItems();
+		}
 	}
 
 	private void checkRange(int i, int size) {
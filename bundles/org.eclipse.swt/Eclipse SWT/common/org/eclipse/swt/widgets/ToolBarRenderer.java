@@ -35,6 +35,13 @@ public abstract class ToolBarRenderer extends ControlRenderer {
 	 */
 	public abstract int rowCount();
 
+	/**
+	 * Drops the cached layout of the items, has to be called when items were
+	 * added or removed or the size of an item changed.
+	 */
+	void invalidateLayout() {
+	}
+
 	protected final ToolBar toolBar;
 
 	protected ToolBarRenderer(ToolBar toolBar) {
@@ -621,6 +621,7 @@ public class ToolItem extends Item {
 	public void setBackground(Color color) {
 		checkWidget();
 		backgroundColor = color;
+		parent.redrawItem(this);
 	}
 
 	/**
@@ -671,6 +672,7 @@ public class ToolItem extends Item {
 	public void setEnabled(boolean enabled) {
 		checkWidget();
 		this.enabled = enabled;
+		parent.redrawItem(this);
 	}
 
 	/**
@@ -699,6 +701,7 @@ public class ToolItem extends Item {
 	public void setDisabledImage(Image image) {
 		checkWidget();
 		this.disabledImage = image;
+		parent.redrawItem(this);
 	}
 
 	/**
@@ -729,6 +732,7 @@ public class ToolItem extends Item {
 	public void setForeground(Color color) {
 		checkWidget();
 		foregroundColor = color;
+		parent.redrawItem(this);
 	}
 
 	/**
@@ -757,6 +761,7 @@ public class ToolItem extends Item {
 	public void setHotImage(Image image) {
 		checkWidget();
 		this.hotImage = image;
+		parent.redrawItem(this);
 	}
 
 	/**
@@ -780,6 +785,7 @@ public class ToolItem extends Item {
 	public void setSelection(boolean selected) {
 		checkWidget();
 		internalSelect(false);
+		parent.redrawItem(this);
 	}
 
 	/**
@@ -846,6 +852,19 @@ public class ToolItem extends Item {
 			return;
 		}
 		renderer.setSeparatorWidth(width);
+		parent.layoutItems();
+	}
+
+	@Override
+	public void setImage(Image image) {
+		super.setImage(image);
+		parent.layoutItems();
+	}
+
+	@Override
+	public void setText(String string) {
+		super.setText(string);
+		parent.layoutItems();
 	}
 
 
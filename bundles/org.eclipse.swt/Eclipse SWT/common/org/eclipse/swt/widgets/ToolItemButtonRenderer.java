@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.swt.widgets;
 
+import java.util.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.widgets.*;
@@ -37,6 +39,15 @@ class ToolItemButtonRenderer implements ToolItemRenderer {
 	private Image generatedDisabledImage;
 	private Rectangle bounds = new Rectangle(0, 0, 0, 0);
 
+	/** the extent of the text, measured for the cached text and font */
+	private Point textSize;
+	private String textSizeText;
+	private Font textSizeFont;
+
+	/** the highlight colors derived from the cached background color */
+	private final Map<ColorType, Color> derivedColors = new EnumMap<>(ColorType.class);
+	private Color derivedColorsBackground;
+
 	public enum ColorType {
 		BORDER_DOWN(0.4f, DefaultToolBarRenderer.COLOR_SELECTION_BORDER),
 		BORDER_HOVER(0.2f, DefaultToolBarRenderer.COLOR_HOVER_BORDER),
@@ -135,8 +146,14 @@ class ToolItemButtonRenderer implements ToolItemRenderer {
 			return bar.getDisplay().getColorProvider().getColor(type.key);
 		}
 
-		RGB set = backgroundColor.getRGB();
+		if (!backgroundColor.equals(derivedColorsBackground)) {
+			derivedColors.clear();
+			derivedColorsBackground = backgroundColor;
+		}
+		return derivedColors.computeIfAbsent(type, t -> deriveColor(backgroundColor.getRGB(), t));
+	}
 
+	private static Color deriveColor(RGB set, ColorType type) {
 		int red = Math.round(set.red - (set.red - TARGET_RGB.red) * type.ratio);
 		int green = Math.round(set.green - (set.green - TARGET_RGB.green) * type.ratio);
 		int blue = Math.round(set.blue - (set.blue - TARGET_RGB.blue) * type.ratio);
@@ -269,7 +286,14 @@ class ToolItemButtonRenderer implements ToolItemRenderer {
 	}
 
 	private Point getTextSize() {
-		return Drawing.measure(bar, this::doMesureText);
+		String text = item.getText();
+		Font font = bar.getFont();
+		if (textSize == null || !text.equals(textSizeText) || !font.equals(textSizeFont)) {
+			textSize = Drawing.measure(bar, this::doMesureText);
+			textSizeText = text;
+			textSizeFont = font;
+		}
+		return new Point(textSize.x, textSize.y);
 	}
 
 	private Point doMesureText(GC gc) {
@@ -17,6 +17,7 @@ package org.eclipse.swt.widgets;
 
 import java.util.*;
 import java.util.List;
+import java.util.function.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.accessibility.*;
@@ -120,12 +121,19 @@ public class Tree extends CustomComposite {
 
 	private final java.util.List<TreeItem> itemsList = new ArrayList<>();
 	private final TreeMap<Integer, TreeItem> virtualItemsList = new TreeMap<>();
-	TreeSet<TreeItem> selectedTreeItems = new TreeSet<>((o1, o2) -> Integer
-			.compare(arrangementIndexOf(o1), arrangementIndexOf(o2)));
+	/**
+	 * the selected items. Unlike the rows of a table, the items of a tree have no
+	 * index independent of the expanded state, so they are kept by identity and
+	 * only ordered by their rows when the selection is requested.
+	 */
+	final Set<TreeItem> selectedTreeItems = new LinkedHashSet<>();
 	// TODO implement focusHandling
 	private TreeItem focusItem;
 	Item mouseHoverElement;
-	List<TreeItem> treeItemsArrangement = new ArrayList<>();
+	final TreeVisibleRows visibleRows = new TreeVisibleRows(this);
+	final CellLayouts.Cache cellLayoutCache = new CellLayouts.Cache(CellLayouts.MAX_CACHED_ROWS);
+	/** the texts, images, fonts and colors of the cells of all items */
+	final CellStore cells = new CellStore();
 	private final java.util.List<TreeColumn> columnsList = new ArrayList<>();
 
 	private final TreeColumnsHandler columnsHandler = new TreeColumnsHandler(this);
@@ -409,6 +417,7 @@ public class Tree extends CustomComposite {
 		columnsList.clear();
 		virtualItemsList.clear();
 		virtualItemCount = 0;
+		visibleRows.childrenRemoved(null);
 
 		for (TreeColumn c : columnsSet) {
 			c.dispose();
@@ -438,14 +447,13 @@ public class Tree extends CustomComposite {
 				}
 			}
 
-			final int max = Math.min(treeItemsArrangement.size(),
+			final int max = Math.min(visibleRows.getRowCount() - 1,
 					itemsHandler.getLastVisibleElementIndex());
 			for (int i = getTopIndex(); i <= max; i++) {
 				TreeItem it = _getArrangementItem(i);
 
 				Rectangle b = it.getBounds();
 				if (it.isInArrowArea(p) && it.toggleExpand()) {
-					synchronizeArrangements(true);
 					break;
 				}
 
@@ -510,7 +518,7 @@ public class Tree extends CustomComposite {
 		return !columnsList.isEmpty();
 	}
 
-	private TreeItem _getItem(int index) {
+	TreeItem _getItem(int index) {
 		return _getItem(index, true);
 	}
 
@@ -867,7 +875,10 @@ public class Tree extends CustomComposite {
 
 		int index = columnsList.indexOf(column);
 		columnsList.remove(column);
-		moveTextsItemsToLeft(index);
+		if (!columnsList.isEmpty()) {
+			// the cells of the last column remain as the cells of the tree without columns
+			cells.removeColumn(index);
+		}
 
 		if (columnOrder != null) {
 			int[] newColOrder = new int[columnsList.size()];
@@ -900,7 +911,10 @@ public class Tree extends CustomComposite {
 			sortColumn = column;
 		}
 
-		moveTextsItemsToRight(index);
+		if (columnsList.size() > 1) {
+			// the first column takes over the cells of the tree without columns
+			cells.insertColumn(index);
+		}
 
 		final TreeItem[] items = getItems();
 		if (items != null) {
@@ -931,18 +945,6 @@ public class Tree extends CustomComposite {
 		redraw();
 	}
 
-	private void moveTextsItemsToRight(int index) {
-		for (TreeItem i : itemsList) {
-			i.moveTextToRightAt(index);
-		}
-	}
-
-	private void moveTextsItemsToLeft(int index) {
-		for (TreeItem i : itemsList) {
-			i.moveTextsItemsToLeft(index);
-		}
-	}
-
 	protected int getTotalColumnWidth() {
 		return columnsHandler.getSize().x;
 	}
@@ -955,9 +957,12 @@ public class Tree extends CustomComposite {
 	}
 
 	void createItem(TreeItem item, int index) {
+		boolean wasEmpty = visibleRows.getRowCount() == 0;
+		boolean shifted;
 		if (isVirtual()) {
 			TreeItem previous = virtualItemsList.get(index);
 			int previousIndex = index;
+			shifted = previous != null;
 
 			// move all other elements one up until an element was not yet set
 			while (previous != null) {
@@ -979,14 +984,16 @@ public class Tree extends CustomComposite {
 				virtualItemCount = index + 1;
 			}
 		} else {
-			if (index < itemsList.size()) {
+			shifted = index < itemsList.size();
+			if (shifted) {
 				itemsList.add(index, item);
 			} else {
 				itemsList.add(item);
 			}
 		}
 
-		synchronizeArrangements(true);
+		visibleRows.itemAdded(item, index, shifted);
+		notifyEmptinessChanged(wasEmpty);
 
 		if (!isVirtual()) {
 			updateScrollBarWithTextSize();
@@ -997,103 +1004,17 @@ public class Tree extends CustomComposite {
 		}
 	}
 
-	void synchronizeArrangements(boolean redraw) {
-		if (isVirtual()) {
-			Rectangle ca = getClientArea();
-			int itemHeight = TreeItemRenderer.guessItemHeight(this);
-			int visibleElements = ca.height / itemHeight + 2;
-			visibleElements += getTopIndex();
-
-			boolean treeEmpty = treeItemsArrangement.isEmpty();
-
-			for (TreeItem i : treeItemsArrangement) {
-				i.clearCache();
-			}
-			treeItemsArrangement.clear();
-
-			for (TreeItem i : getItemsUpNumber(visibleElements)) {
-				addToArrangements(i, visibleElements);
-			}
-
-			if (treeEmpty && !treeItemsArrangement.isEmpty()) {
-				notifyListeners(SWT.EmptinessChanged, new Event());
-			}
-
-			if (!treeEmpty && treeItemsArrangement.isEmpty()) {
-				Event e = new Event();
-				e.detail = 1;
-				notifyListeners(SWT.EmptinessChanged, e);
-			}
-
-			updateScrollBarWithTextSize();
-
-			if (redraw) {
-				redraw();
-			}
-
-			return;
-		}
-
-		boolean treeEmpty = treeItemsArrangement.isEmpty();
-
-		for (TreeItem i : treeItemsArrangement) {
-			i.clearCache();
-		}
-		treeItemsArrangement.clear();
-
-		for (TreeItem i : getItems()) {
-			addToArrangements(i, null);
-		}
-
-		if (treeEmpty && !treeItemsArrangement.isEmpty()) {
+	private void notifyEmptinessChanged(boolean wasEmpty) {
+		boolean empty = visibleRows.getRowCount() == 0;
+		if (wasEmpty && !empty) {
 			notifyListeners(SWT.EmptinessChanged, new Event());
 		}
 
-		if (!treeEmpty && treeItemsArrangement.isEmpty()) {
+		if (!wasEmpty && empty) {
 			Event e = new Event();
 			e.detail = 1;
 			notifyListeners(SWT.EmptinessChanged, e);
 		}
-		if (redraw) {
-			updateScrollBarWithTextSize();
-			redraw();
-		}
-	}
-
-	private TreeItem[] getItemsUpNumber(int visibleElements) {
-		checkWidget();
-
-		if (isVirtual()) {
-			int count = Math.min(getItemCount(), visibleElements);
-			TreeItem[] result = new TreeItem[count];
-			for (int i = 0; i < count; i++) {
-				result[i] = _getItem(i);
-			}
-			return result;
-		}
-
-		return itemsList.toArray(new TreeItem[0]);
-	}
-
-	private void addToArrangements(TreeItem i, Integer upToElements) {
-		if (i.isDisposed()) return;
-
-		treeItemsArrangement.add(i);
-
-		if (upToElements != null) {
-			upToElements = upToElements - 1;
-
-			if (upToElements <= 0) {
-				return;
-			}
-		}
-
-		if (i.getExpanded()) {
-			for (TreeItem it : i.getItemsUpToNumber(upToElements)) {
-				it.clearCache();
-				addToArrangements(it, upToElements);
-			}
-		}
 	}
 
 	private boolean customHeaderDrawing() {
@@ -1232,10 +1153,13 @@ public class Tree extends CustomComposite {
 		}
 
 		if (!isVirtual()) {
-			itemsList.remove(item);
-			selectedTreeItems.remove(item);
-
-			synchronizeArrangements(true);
+			boolean wasEmpty = visibleRows.getRowCount() == 0;
+			if (itemsList.remove(item)) {
+				visibleRows.itemRemoved(item);
+				notifyEmptinessChanged(wasEmpty);
+				updateScrollBarWithTextSize();
+				redraw();
+			}
 		}
 		// for virtual items, we have to take care, that these are not in
 		// virtualItemsList
@@ -1569,14 +1493,12 @@ public class Tree extends CustomComposite {
 	}
 
 	TreeItem getItemInPixels(Point point) {
-		for (int i = getTopIndex(); i < Math.min(treeItemsArrangement.size(),
-				itemsHandler.getLastVisibleElementIndex() + 5); i++) {
-			TreeItem it = _getArrangementItem(i);
-			if (it != null && it.getBounds().contains(point)) {
-				return it;
-			}
+		int row = itemsHandler.getRowAt(point.y);
+		if (row < 0) {
+			return null;
 		}
-		return null;
+		TreeItem it = _getArrangementItem(row);
+		return it != null && it.getBounds().contains(point) ? it : null;
 	}
 
 	/**
@@ -1623,15 +1545,13 @@ public class Tree extends CustomComposite {
 	public int getItemHeight() {
 		checkWidget();
 
-		if (!itemsList.isEmpty() && !treeItemsArrangement.isEmpty()) {
+		final int rowCount = visibleRows.getRowCount();
+		if (!itemsList.isEmpty() && rowCount > 0) {
 			final int topIndex = getTopIndex();
-			if (treeItemsArrangement.size() > topIndex) {
-				return treeItemsArrangement.get(topIndex)
-						.getBounds().height;
+			if (rowCount > topIndex) {
+				return visibleRows.getItem(topIndex).getBounds().height;
 			}
-			return treeItemsArrangement
-					.get(treeItemsArrangement.size() - 1)
-					.getBounds().height;
+			return visibleRows.getItem(rowCount - 1).getBounds().height;
 		}
 
 		return TreeItemRenderer.guessItemHeight(this);
@@ -1715,7 +1635,31 @@ public class Tree extends CustomComposite {
 	 */
 	public TreeItem[] getSelection() {
 		checkWidget();
-		return selectedTreeItems.toArray(new TreeItem[0]);
+		TreeItem[] items = selectedTreeItems.toArray(new TreeItem[0]);
+		Arrays.sort(items, Comparator.comparingInt(this::getSelectionRow));
+		return items;
+	}
+
+	/**
+	 * Returns the row of the given selected item, items of collapsed subtrees
+	 * are sorted after the visible ones.
+	 */
+	private int getSelectionRow(TreeItem item) {
+		int row = arrangementIndexOf(item);
+		return row < 0 ? Integer.MAX_VALUE : row;
+	}
+
+	private TreeItem getFirstSelectedItem() {
+		TreeItem first = null;
+		int firstRow = 0;
+		for (TreeItem item : selectedTreeItems) {
+			int row = getSelectionRow(item);
+			if (first == null || row < firstRow) {
+				first = item;
+				firstRow = row;
+			}
+		}
+		return first;
 	}
 
 	/**
@@ -1755,7 +1699,7 @@ public class Tree extends CustomComposite {
 
 		if (selectedTreeItems.isEmpty())
 			return -1;
-		return indexOf(selectedTreeItems.first());
+		return indexOf(getFirstSelectedItem());
 	}
 
 	/**
@@ -1793,7 +1737,7 @@ public class Tree extends CustomComposite {
 	 */
 	public int[] getSelectionIndices() {
 		checkWidget();
-		return indicesOf(selectedTreeItems.toArray(new TreeItem[0]));
+		return indicesOf(getSelection());
 	}
 
 	/**
@@ -1945,7 +1889,7 @@ public class Tree extends CustomComposite {
 	}
 
 	int arrangementIndexOf(TreeItem item) {
-		return treeItemsArrangement.indexOf(item);
+		return visibleRows.indexOf(item);
 	}
 
 	public int[] indicesOf(TreeItem[] items) {
@@ -1992,7 +1936,7 @@ public class Tree extends CustomComposite {
 	 */
 	public boolean isSelected(int index) {
 		for (TreeItem it : selectedTreeItems) {
-			if (indexOf(it) == index) {
+			if (it.parentItem == null && visibleRows.getChildIndex(it) == index) {
 				return true;
 			}
 		}
@@ -2117,9 +2061,12 @@ public class Tree extends CustomComposite {
 	 */
 	public void removeAll() {
 		if (isVirtual()) {
+			boolean wasEmpty = visibleRows.getRowCount() == 0;
 			Set<TreeItem> s = new HashSet<>(virtualItemsList.values());
 			virtualItemsList.clear();
 			virtualItemCount = 0;
+			visibleRows.childrenRemoved(null);
+			notifyEmptinessChanged(wasEmpty);
 			s.forEach(Widget::dispose);
 			return;
 		}
@@ -2277,11 +2224,6 @@ public class Tree extends CustomComposite {
 			selectedTreeItems.clear();
 		}
 
-		TreeItem selected = getItem(index);
-		if (selectedTreeItems.contains(selected)) {
-			return;
-		}
-
 		selectedTreeItems.add(getItem(index));
 	}
 
@@ -2597,16 +2539,20 @@ public class Tree extends CustomComposite {
 		count = Math.max(0, count);
 		if (isVirtual()) {
 			boolean redraw = count > virtualItemCount;
+			boolean wasEmpty = visibleRows.getRowCount() == 0;
 			this.virtualItemCount = count;
 
 			while (!virtualItemsList.isEmpty()) {
 				int key = virtualItemsList.lastKey();
 				if (key >= count) {
-					virtualItemsList.remove(key);
+					visibleRows.itemRemoved(virtualItemsList.remove(key));
 				} else {
 					break;
 				}
 			}
+			visibleRows.itemCountChanged(null);
+			notifyEmptinessChanged(wasEmpty);
+			updateScrollBarWithTextSize();
 
 			if (redraw) {
 				redraw();
@@ -3179,9 +3125,7 @@ public class Tree extends CustomComposite {
 		// should be
 		// visible.
 
-		TreeItem first = selectedTreeItems.first();
-
-		int index = indexOf(first);
+		int index = indexOf(getFirstSelectedItem());
 		showItem(index);
 	}
 
@@ -3224,6 +3168,7 @@ public class Tree extends CustomComposite {
 		columnsList.clear();
 		virtualItemsList.clear();
 		virtualItemCount = 0;
+		visibleRows.childrenRemoved(null);
 
 		for (TreeColumn c : columnsSet) {
 			c.dispose();
@@ -3283,7 +3228,7 @@ public class Tree extends CustomComposite {
 		if (item == null) error(SWT.ERROR_NULL_ARGUMENT);
 		if (item.isDisposed()) error(SWT.ERROR_INVALID_ARGUMENT);
 
-		int index = treeItemsArrangement.indexOf(item);
+		int index = visibleRows.indexOf(item);
 
 		if (index != -1) {
 			this.topItem = item;
@@ -3306,31 +3251,27 @@ public class Tree extends CustomComposite {
 	}
 
 	public TreeItem _getArrangementItem(int i) {
-		return treeItemsArrangement.get(i);
+		return visibleRows.getItem(i);
 	}
 
 	public int getOpenedItemCount() {
-		int count;
-		if (isVirtual()) {
-			count = getItemCount();
-
-			for (Map.Entry<Integer, TreeItem> e : virtualItemsList.entrySet()) {
-				if (e.getValue() != null) {
-					var v = e.getValue();
-					count += v.computeAllExpandedChildCount();
-				}
-			}
-		} else {
-			count = getItemCount();
+		return visibleRows.getRowCount();
+	}
 
-			for (TreeItem v : itemsList) {
-				if (v != null) {
-					count += v.computeAllExpandedChildCount();
-				}
-			}
+	/**
+	 * Calls the consumer for each root item which has been created so far,
+	 * together with its index. For virtual trees these are only the materialized
+	 * items.
+	 */
+	void forEachCreatedItem(ObjIntConsumer<TreeItem> consumer) {
+		if (isVirtual()) {
+			virtualItemsList.forEach((index, item) -> consumer.accept(item, index));
+			return;
 		}
 
-		return count;
+		for (int i = 0; i < itemsList.size(); i++) {
+			consumer.accept(itemsList.get(i), i);
+		}
 	}
 
 	/**
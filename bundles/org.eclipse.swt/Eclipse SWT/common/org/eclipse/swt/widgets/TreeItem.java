@@ -14,7 +14,7 @@
 package org.eclipse.swt.widgets;
 
 import java.util.*;
-import java.util.stream.*;
+import java.util.function.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.accessibility.*;
@@ -50,15 +50,13 @@ public class TreeItem extends Item {
 	TreeItem parentItem;
 	int indents = -1;
 	private java.util.List<TreeItem> itemsList = new ArrayList<>();
-	String[] strings;
-	Image[] images;
+	/** the id of the row which holds the cells of this item in the tree's {@link CellStore} */
+	final int row;
 	Font font;
-	Font[] cellFont;
 	boolean checked, grayed, cached;
 	int imageIndent;
 	Color background;
 	Color foreground;
-	Color[] cellBackground, cellForeground;
 	private int topIndexAtCalculation = -1;
 
 	// TODO: location and size should be separated strictly. Because a repositioning
@@ -75,6 +73,15 @@ public class TreeItem extends Item {
 	private AccessibleAdapter accAdapter;
 	// -1 is also a calculated index, so the not calculated default is -2
 	private int itemIndex = -2;
+	private int rowsModificationCount = -1;
+	private int locationModificationCount = -1;
+
+	/** the state of the item in the visible rows of the tree */
+	TreeVisibleRows.Children childRows;
+	int childIndex = -1;
+	int visibleDescendants;
+	boolean rowAttached;
+	int rowWidth = -1;
 
 	private final TreeItemRenderer renderer = new TreeItemRenderer(this);
 	private boolean expanded;
@@ -316,6 +323,7 @@ public class TreeItem extends Item {
 		if (index < 0 || index > parent.getItemCount()) error(SWT.ERROR_INVALID_RANGE);
 
 		this.parent = parent;
+		row = parent.cells.addRow(this);
 		if (create) {
 			parent.createItem(this, index);
 		}
@@ -328,13 +336,16 @@ public class TreeItem extends Item {
 
 		if (index < 0 || index > parentItem.getItemCount()) error(SWT.ERROR_INVALID_RANGE);
 
+		row = parent.cells.addRow(this);
 		parentItem.createItem(this, index);
 	}
 
 	private void createItem(TreeItem item, int index) {
+		boolean shifted;
 		if (isVirtual()) {
 			TreeItem previous = virtualItemsList.get(index);
 			int previousIndex = index;
+			shifted = previous != null;
 
 			// move all other elements one up until an element was not yet set
 			while (previous != null) {
@@ -356,18 +367,22 @@ public class TreeItem extends Item {
 				virtualItemCount = index + 1;
 			}
 		} else {
-			if (index < itemsList.size()) {
+			shifted = index < itemsList.size();
+			if (shifted) {
 				itemsList.add(index, item);
 			} else {
 				itemsList.add(item);
 			}
 		}
 
-		parent.synchronizeArrangements(true);
+		parent.visibleRows.itemAdded(item, index, shifted);
 
 		if (!isVirtual()) {
 			parent.updateScrollBarWithTextSize();
 		}
+		if (expanded) {
+			parent.redraw();
+		}
 		if (index >= parent.getTopIndex() && index <= parent.getItemsHandler().getLastVisibleElementIndex()) {
 			redraw();
 		}
@@ -381,6 +396,7 @@ public class TreeItem extends Item {
 		super(rootItem, style);
 		parent = rootItem.getParent();
 		parentItem = rootItem;
+		row = parent.cells.addRow(this);
 
 		parentItem.createItem(this);
 	}
@@ -399,15 +415,12 @@ public class TreeItem extends Item {
 		clearCache();
 		text = "";
 		image = null;
-		strings = null;
-		images = null;
+		parent.cells.clearRow(row);
 		imageIndent = 0;
 		checked = grayed = false;
 		font = null;
 		background = null;
 		foreground = null;
-		cellFont = null;
-		cellBackground = cellForeground = null;
 		if ((parent.style & SWT.VIRTUAL) != 0) {
 			cached = false;
 		}
@@ -423,7 +436,11 @@ public class TreeItem extends Item {
 	}
 
 	private void destroyItem(TreeItem treeItem) {
-		itemsList.remove(treeItem);
+		if (itemsList.remove(treeItem) && parent != null) {
+			parent.visibleRows.itemRemoved(treeItem);
+			parent.updateScrollBarWithTextSize();
+			parent.redraw();
+		}
 	}
 
 	/**
@@ -474,7 +491,7 @@ public class TreeItem extends Item {
 		if (0 > index || index > count - 1) {
 			return getBackground();
 		}
-		Color cellBg = cellBackground != null ? cellBackground[index] : null;
+		Color cellBg = parent.cells.getBackground(row, index);
 		return cellBg == null ? getBackground() : cellBg;
 	}
 
@@ -535,8 +552,10 @@ public class TreeItem extends Item {
 	}
 
 	private int getItemIndex() {
-		if (this.itemIndex == -2) {
+		int modificationCount = parent.visibleRows.getModificationCount();
+		if (this.itemIndex == -2 || rowsModificationCount != modificationCount) {
 			this.itemIndex = parent.arrangementIndexOf(this);
+			this.rowsModificationCount = modificationCount;
 		}
 		return this.itemIndex;
 	}
@@ -546,7 +565,8 @@ public class TreeItem extends Item {
 	 */
 	Rectangle getFullBounds() {
 		// TODO improve cache and use a timestamp instead of calculation values.
-		if (topIndexAtCalculation == getParent().getTopIndex() && fullBounds != null && Tree.USE_CACHES) {
+		if (topIndexAtCalculation == getParent().getTopIndex() && fullBounds != null && Tree.USE_CACHES
+				&& locationModificationCount == getParent().visibleRows.getModificationCount()) {
 			return fullBounds;
 		}
 
@@ -598,6 +618,7 @@ public class TreeItem extends Item {
 			this.location = new Point(prevBounds.x, prevBounds.y - fullHeightDiff);
 		}
 		topIndexAtCalculation = topIndex;
+		locationModificationCount = tree.visibleRows.getModificationCount();
 	}
 
 	Point getSize() {
@@ -741,10 +762,8 @@ public class TreeItem extends Item {
 		if (0 > index || index > count - 1) {
 			return getFont();
 		}
-		if (cellFont == null || cellFont[index] == null) {
-			return getFont();
-		}
-		return cellFont[index];
+		Font cellFont = parent.cells.getFont(row, index);
+		return cellFont == null ? getFont() : cellFont;
 	}
 
 	/**
@@ -795,7 +814,7 @@ public class TreeItem extends Item {
 		if (0 > index || index > count - 1) {
 			return getForeground();
 		}
-		Color cellColor = cellForeground != null ? cellForeground[index] : null;
+		Color cellColor = parent.cells.getForeground(row, index);
 		return cellColor == null ? getForeground() : cellColor;
 	}
 
@@ -848,10 +867,7 @@ public class TreeItem extends Item {
 		if (index == 0) {
 			return getImage();
 		}
-		if (images != null && 0 <= index && index < images.length) {
-			return images[index];
-		}
-		return null;
+		return parent.cells.getImage(row, index);
 	}
 
 	/**
@@ -958,13 +974,8 @@ public class TreeItem extends Item {
 		if (index == 0) {
 			return getText();
 		}
-		if (strings != null) {
-			if (0 <= index && index < strings.length) {
-				String string = strings[index];
-				return string != null ? string : "";
-			}
-		}
-		return "";
+		String string = parent.cells.getText(row, index);
+		return string != null ? string : "";
 	}
 
 	/**
@@ -1038,10 +1049,8 @@ public class TreeItem extends Item {
 	@Override
 	void releaseWidget() {
 		super.releaseWidget();
-		strings = null;
-		images = null;
-		cellFont = null;
-		cellBackground = cellForeground = null;
+		parent.cells.removeRow(row);
+		renderer.clearCache();
 	}
 
 	/**
@@ -1118,16 +1127,10 @@ public class TreeItem extends Item {
 			parent.setCustomDraw(true);
 			cellColor = color;
 		}
-		if (cellBackground == null) {
-			cellBackground = new Color[count];
-			for (int i = 0; i < count; i++) {
-				cellBackground[i] = null;
-			}
-		}
-		if (cellBackground[index] == cellColor) {
+		if (parent.cells.getBackground(row, index) == cellColor) {
 			return;
 		}
-		cellBackground[index] = cellColor;
+		parent.cells.setBackground(row, index, cellColor);
 		if ((parent.style & SWT.VIRTUAL) != 0) {
 			cached = true;
 		}
@@ -1258,17 +1261,11 @@ public class TreeItem extends Item {
 		if (0 > index || index > count - 1) {
 			return;
 		}
-		if (cellFont == null) {
-			if (font == null) {
-				return;
-			}
-			cellFont = new Font[count];
-		}
-		Font oldFont = cellFont[index];
+		Font oldFont = parent.cells.getFont(row, index);
 		if (oldFont == font) {
 			return;
 		}
-		cellFont[index] = font;
+		parent.cells.setFont(row, index, font);
 		if (oldFont != null && oldFont.equals(font)) {
 			return;
 		}
@@ -1355,16 +1352,10 @@ public class TreeItem extends Item {
 			parent.setCustomDraw(true);
 			pixel = color;
 		}
-		if (cellForeground == null) {
-			cellForeground = new Color[count];
-			for (int i = 0; i < count; i++) {
-				cellForeground[i] = null;
-			}
-		}
-		if (cellForeground[index] == pixel) {
+		if (parent.cells.getForeground(row, index) == pixel) {
 			return;
 		}
-		cellForeground[index] = pixel;
+		parent.cells.setForeground(row, index, pixel);
 		if ((parent.style & SWT.VIRTUAL) != 0) {
 			cached = true;
 		}
@@ -1467,16 +1458,13 @@ public class TreeItem extends Item {
 		if (0 > index || index > count - 1) {
 			return;
 		}
-		if (images == null && index != 0) {
-			images = new Image[count];
-			images[0] = image;
-		}
-		if (images != null) {
-			if (image != null && image.type == SWT.ICON && image.equals(images[index])) {
+		if (index != 0) {
+			Image cellImage = parent.cells.getImage(row, index);
+			if (image != null && image.type == SWT.ICON && image.equals(cellImage)) {
 				return;
 			}
-			oldImage = images[index];
-			images[index] = image;
+			oldImage = cellImage;
+			parent.cells.setImage(row, index, image);
 		}
 		if ((parent.style & SWT.VIRTUAL) != 0) {
 			cached = true;
@@ -1577,6 +1565,9 @@ public class TreeItem extends Item {
 			location = null;
 			fullBounds = null;
 		}
+		if (parent != null) {
+			parent.visibleRows.itemSizeChanged(this);
+		}
 	}
 
 	/**
@@ -1618,19 +1609,11 @@ public class TreeItem extends Item {
 			if (0 > index || index > count - 1) {
 				return;
 			}
-			if (strings == null && index != 0) {
-				strings = new String[count];
-				strings[0] = text;
-			} else if (strings != null && strings.length < count) {
-				String[] newStrings = new String[count];
-				System.arraycopy(strings, 0, newStrings, 0, strings.length);
-				strings = newStrings;
-			}
-			if (strings != null) {
-				if (string.equals(strings[index])) {
+			if (index != 0) {
+				if (string.equals(parent.cells.getText(row, index))) {
 					return;
 				}
-				strings[index] = string;
+				parent.cells.setText(row, index, string);
 			}
 		} finally {
 			clearCache();
@@ -1648,7 +1631,8 @@ public class TreeItem extends Item {
 
 	Point getLocation() {
 		// TODO use a timestamp instead of specific values
-		if (getParent().getTopIndex() == topIndexAtCalculation && location != null) {
+		if (getParent().getTopIndex() == topIndexAtCalculation && location != null
+				&& locationModificationCount == getParent().visibleRows.getModificationCount()) {
 			return location;
 		}
 
@@ -1656,52 +1640,6 @@ public class TreeItem extends Item {
 		return location;
 	}
 
-	void moveTextToRightAt(int index) {
-		if (strings == null && images == null) {
-			return;
-		}
-
-		java.util.List<String> newTexts = new ArrayList<>();
-		java.util.List<Image> newImages = new ArrayList<>();
-
-		for (int i = 0; i < index && i < strings.length; i++) {
-			newTexts.add(strings[i]);
-			newImages.add(getImage(i));
-		}
-		newTexts.add("");
-		newImages.add(null);
-
-		if (strings.length >= index) {
-			for (int k = index; k < strings.length; k++) {
-				newTexts.add(strings[k]);
-				newImages.add(getImage(k));
-			}
-		}
-
-		strings = newTexts.toArray(new String[0]);
-		images = newImages.toArray(new Image[0]);
-	}
-
-	void moveTextsItemsToLeft(int index) {
-		if (strings == null && images == null) {
-			return;
-		}
-
-		if (strings != null && index > 0 && index < strings.length) {
-			java.util.List<String> newTexts = new ArrayList<>();
-			newTexts.addAll(Arrays.stream(strings).collect(Collectors.toList()));
-			newTexts.remove(index);
-			strings = newTexts.toArray(new String[0]);
-		}
-
-		if (images != null && index > 0 && index < images.length) {
-			java.util.List<Image> newImages = new ArrayList<>();
-			newImages.addAll(Arrays.stream(images).collect(Collectors.toList()));
-			newImages.remove(index);
-			images = newImages.toArray(new Image[0]);
-		}
-	}
-
 	boolean isInArrowArea(Point p) {
 		return renderer.getArrowRectangle().contains(p);
 	}
@@ -1840,14 +1778,15 @@ public class TreeItem extends Item {
 		}
 
 		this.expanded = expanded;
+		getParent().visibleRows.expandedChanged(this);
 
 		if (sendEvent) {
 			Event event = new Event();
 			event.item = this;
 			getParent().notifyListeners(this.expanded ? SWT.Expand : SWT.Collapse, event);
-			return;
 		}
-		getParent().synchronizeArrangements(true);
+		getParent().updateScrollBarWithTextSize();
+		getParent().redraw();
 	}
 
 	public void removeAll() {
@@ -1855,6 +1794,7 @@ public class TreeItem extends Item {
 		list.addAll(itemsList);
 
 		itemsList.clear();
+		parent.visibleRows.childrenRemoved(this);
 
 		list.stream().forEach(t -> t.dispose());
 	}
@@ -1870,11 +1810,15 @@ public class TreeItem extends Item {
 			while (!virtualItemsList.isEmpty()) {
 				Integer key = virtualItemsList.lastKey();
 				if (key >= count) {
-					virtualItemsList.remove(key);
+					parent.visibleRows.itemRemoved(virtualItemsList.remove(key));
 				} else {
 					break;
 				}
 			}
+			parent.visibleRows.itemCountChanged(this);
+			if (expanded) {
+				parent.updateScrollBarWithTextSize();
+			}
 
 			if (redraw) {
 				this.redraw();
@@ -1947,30 +1891,18 @@ public class TreeItem extends Item {
 		}
 	}
 
-	int computeAllExpandedChildCount() {
-		if (!getExpanded()) {
-			return 0;
-		}
-
-		int count = 0;
+	/**
+	 * Calls the consumer for each child which has been created so far, together
+	 * with its index. For virtual items these are only the materialized children.
+	 */
+	void forEachCreatedItem(ObjIntConsumer<TreeItem> consumer) {
 		if (isVirtual()) {
-			count = getItemCount();
-
-			for (Map.Entry<Integer, TreeItem> e : virtualItemsList.entrySet()) {
-				if (e.getValue() != null) {
-					TreeItem v = e.getValue();
-					count += v.computeAllExpandedChildCount();
-				}
-			}
-		} else {
-			for (var v : itemsList) {
-				if (v != null) {
-					count++;
-					count += v.computeAllExpandedChildCount();
-				}
-			}
+			virtualItemsList.forEach((index, item) -> consumer.accept(item, index));
+			return;
 		}
 
-		return count;
+		for (int i = 0; i < itemsList.size(); i++) {
+			consumer.accept(itemsList.get(i), i);
+		}
 	}
 }
@@ -1,7 +1,5 @@
 package org.eclipse.swt.widgets;
 
-import java.util.*;
-
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 
@@ -29,9 +27,8 @@ public class TreeItemRenderer {
 	private boolean selected;
 	private boolean hovered;
 
-	private final Map<Integer, Point> computedCellSizes = new HashMap<>();
-	private final Map<Integer, Rectangle> internalComputedCellTextBounds = new HashMap<>();
-	private final Map<Integer, Rectangle> internalComputedCellImage = new HashMap<>();
+	/** the layouts of the cells, created when a cell is laid out the first time */
+	private CellLayouts cellLayouts;
 
 	private Point computedSize;
 
@@ -366,14 +363,24 @@ public class TreeItemRenderer {
 		}
 	}
 
+	private CellLayouts getCellLayouts() {
+		if (cellLayouts == null) {
+			cellLayouts = new CellLayouts(getParent().cellLayoutCache);
+		}
+		return cellLayouts;
+	}
+
 	public Point computeCellSize(int colIndex) {
-		final Point cellSize = computedCellSizes.get(colIndex);
+		final CellLayouts layouts = getCellLayouts();
+		final Point cellSize = layouts.getCellSize(colIndex);
 		if (cellSize != null) {
 			return cellSize;
 		}
 
 		if (!item.getParent().columnsExist()) {
-			return computeSize(false);
+			// the layout of the only cell is computed with the size of the item, it
+			// may have been dropped while the size is still known
+			return computeSize(layouts.getTextBounds(0) == null);
 		}
 
 		Image image = item.getImage(colIndex);
@@ -384,7 +391,7 @@ public class TreeItemRenderer {
 		if (image != null) {
 			final Rectangle bounds = image.getBounds();
 			var rec = new Rectangle(width, topMargin, bounds.width, bounds.height);
-			internalComputedCellImage.put(colIndex, rec);
+			layouts.setImageBounds(colIndex, rec);
 			height += bounds.height;
 			width += bounds.width;
 		}
@@ -394,12 +401,12 @@ public class TreeItemRenderer {
 			Point size = getParent().computeTextExtent(text);
 
 			Rectangle rec = new Rectangle(width, topMargin, size.x, size.y);
-			internalComputedCellTextBounds.put(colIndex, rec);
+			layouts.setTextBounds(colIndex, rec);
 
 			width += size.x;
 			height += size.y;
 		} else {
-			internalComputedCellTextBounds.put(colIndex, new Rectangle(width, topMargin, 0, 0));
+			layouts.setTextBounds(colIndex, new Rectangle(width, topMargin, 0, 0));
 		}
 
 		if (image != null && text != null) {
@@ -407,7 +414,7 @@ public class TreeItemRenderer {
 		}
 
 		var p = new Point(width, height);
-		computedCellSizes.put(colIndex, p);
+		layouts.setCellSize(colIndex, p);
 
 		return p;
 	}
@@ -457,7 +464,7 @@ public class TreeItemRenderer {
 			Rectangle imgB = item.getImage().getBounds();
 
 			Rectangle rec = new Rectangle(currentWidth, topMargin, imgB.width, imgB.height);
-			internalComputedCellImage.put(0, rec);
+			getCellLayouts().setImageBounds(0, rec);
 
 			lineHeight = Math.max(imgB.height + topMargin + bottomMargin, lineHeight);
 
@@ -474,7 +481,7 @@ public class TreeItemRenderer {
 		Point textExtent = getParent().computeTextExtent(text);
 
 		Rectangle rec = new Rectangle(currentWidth, topMargin, textExtent.x, textExtent.y);
-		internalComputedCellTextBounds.put(0, rec);
+		getCellLayouts().setTextBounds(0, rec);
 
 		currentWidth += textExtent.x;
 
@@ -491,9 +498,9 @@ public class TreeItemRenderer {
 	}
 
 	void clearCache() {
-		this.computedCellSizes.clear();
-		this.internalComputedCellTextBounds.clear();
-		this.internalComputedCellImage.clear();
+		if (cellLayouts != null) {
+			cellLayouts.clear();
+		}
 		computedSize = null;
 	}
 
@@ -503,12 +510,12 @@ public class TreeItemRenderer {
 	}
 
 	public Rectangle getTextBounds(int index) {
-		if (internalComputedCellTextBounds.get(index) == null) {
+		Rectangle internal = getCellLayouts().getTextBounds(index);
+		if (internal == null) {
 			computeCellSize(index);
+			internal = cellLayouts.getTextBounds(index);
 		}
 
-		Rectangle internal = internalComputedCellTextBounds.get(index);
-
 		Rectangle outer = item.getParent().columnsExist() && index != 0
 				? getBounds(index)
 				: item.getFullBounds();
@@ -521,12 +528,12 @@ public class TreeItemRenderer {
 			return new Rectangle(0, 0, 0, 0);
 		}
 
-		if (internalComputedCellImage.get(index) == null) {
+		Rectangle internal = getCellLayouts().getImageBounds(index);
+		if (internal == null) {
 			computeCellSize(index);
+			internal = cellLayouts.getImageBounds(index);
 		}
 
-		Rectangle internal = internalComputedCellImage.get(index);
-
 		Rectangle outer = item.getParent().columnsExist() && index != 0
 				? getBounds(index)
 				: item.getFullBounds();
@@ -1,7 +1,5 @@
 package org.eclipse.swt.widgets;
 
-import java.util.List;
-
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 
@@ -30,7 +28,7 @@ class TreeItemsHandler {
 			return;
 		}
 
-		var items = tree.treeItemsArrangement;
+		var rows = tree.visibleRows;
 		var columns = tree.getColumnsArea();
 
 		int gridLineSize = getGridSize(tree);
@@ -41,13 +39,11 @@ class TreeItemsHandler {
 		if (tree.columnsExist()) {
 			width = columns.width;
 		} else {
-			for (int i = 0; i < items.size(); i++) {
-				var it = items.get(i);
-				if (i == 0) {
-					heightPerLine = getItemsHeight(it);
-				}
-
-				width = Math.max(width, it.getFullBounds().width);
+			// the widest row is maintained by the visible rows, so only items whose
+			// size changed since the last calculation are measured
+			width = rows.getMaxWidth();
+			if (rows.getRowCount() > 0) {
+				heightPerLine = rows.getItem(0).getSize().y + gridLineSize;
 			}
 		}
 
@@ -75,18 +71,13 @@ class TreeItemsHandler {
 		Color fgBef = gc.getForeground();
 
 		this.lastVisibleElementIndex = -1;
-		tree.synchronizeArrangements(false);
-		List<TreeItem> list = tree.treeItemsArrangement;
+		TreeVisibleRows rows = tree.visibleRows;
 
-		for (int i = tree.getTopIndex(); i < list.size(); i++) {
-			TreeItem item = list.get(i);
+		for (int i = tree.getTopIndex(); i < rows.getRowCount(); i++) {
+			TreeItem item = rows.getItem(i);
 
 			if (tree.isVirtual()) {
-				int itemIndex = item.getParentItem() != null
-						? item.getParentItem().indexOf(item)
-						: item.getParent().indexOf(item);
-
-				tree.checkData(item, itemIndex, false);
+				tree.checkData(item, rows.getChildIndex(item), false);
 			}
 
 			item.doPaint(gc);
@@ -99,7 +90,7 @@ class TreeItemsHandler {
 		}
 
 		if (this.lastVisibleElementIndex == -1) {
-			this.lastVisibleElementIndex = list.size() - 1;
+			this.lastVisibleElementIndex = rows.getRowCount() - 1;
 		}
 
 		gc.setForeground(fgBef);
@@ -107,7 +98,7 @@ class TreeItemsHandler {
 
 	public Point getSize() {
 		if (computedSize == null
-				|| this.itemsCountAtCalculation != tree.getItemCount()) {
+				|| this.itemsCountAtCalculation != tree.getOpenedItemCount()) {
 			calculateItemsBounds();
 		}
 
@@ -148,19 +139,48 @@ class TreeItemsHandler {
 			item.redraw();
 		}
 
+		int row = getRowAt(event.y);
+		if (row < 0) {
+			return;
+		}
+
+		TreeItem item = tree.visibleRows.getItem(row);
+		if (!item.isDisposed() && item.getFullBounds().contains(p)) {
+			tree.mouseHoverElement = item;
+			item.redraw();
+		}
+	}
+
+	/**
+	 * Returns the visible row at the given y coordinate or -1 if there is no
+	 * such row among the painted rows. The row is computed from the height of
+	 * the top row and only corrected with the bounds of its neighbours if the
+	 * rows have different heights, e.g. because of images, so the result is
+	 * found without iterating over the rows above it.
+	 */
+	int getRowAt(int y) {
+		TreeVisibleRows rows = tree.visibleRows;
 		int topIndex = tree.getTopIndex();
-		for (int i = topIndex; i < Math.min(this.lastVisibleElementIndex + ITEMS_OVERLAY,
-				tree.treeItemsArrangement.size()); i++) {
-			TreeItem item = tree.treeItemsArrangement.get(i);
-			if (item.isDisposed()) {
-				continue;
-			}
-			if (item.getFullBounds().contains(p)) {
-				tree.mouseHoverElement = item;
-				item.redraw();
-				return;
-			}
+		int lastRow = Math.min(rows.getRowCount(), this.lastVisibleElementIndex + ITEMS_OVERLAY) - 1;
+		if (topIndex > lastRow) {
+			return -1;
+		}
+
+		TreeItem topItem = rows.getItem(topIndex);
+		int top = topItem.getFullBounds().y;
+		if (y < top) {
+			return -1;
+		}
+
+		int rowHeight = Math.max(1, getItemsHeight(topItem));
+		int row = (int) Math.min(lastRow, topIndex + (long) (y - top) / rowHeight);
+		while (row > topIndex && rows.getItem(row).getFullBounds().y > y) {
+			row--;
 		}
+		while (row < lastRow && rows.getItem(row + 1).getFullBounds().y <= y) {
+			row++;
+		}
+		return row;
 	}
 
 	public int getLastVisibleElementIndex() {
@@ -178,11 +198,10 @@ class TreeItemsHandler {
 		}
 
 		Point p = new Point(event.x, event.y);
-		var list = tree.treeItemsArrangement;
 		if (ica.contains(p)) {
-			for (int i = tree.getTopIndex(); i < Math.min(this.lastVisibleElementIndex + ITEMS_OVERLAY,
-					list.size()); i++) {
-				TreeItem it = list.get(i);
+			int row = getRowAt(event.y);
+			if (row >= 0) {
+				TreeItem it = tree.visibleRows.getItem(row);
 				if (it.getBounds().contains(p)) {
 
 					Event e = new Event();
@@ -197,8 +216,6 @@ class TreeItemsHandler {
 					e.y = event.y;
 
 					tree.postEvent(SWT.DefaultSelection, e);
-
-					return;
 				}
 			}
 		}
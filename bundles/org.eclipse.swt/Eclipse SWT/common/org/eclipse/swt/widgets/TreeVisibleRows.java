@@ -0,0 +1,465 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import java.util.*;
+
+/**
+ * Maintains the visible rows of a {@link Tree}, i.e. its items whose ancestors
+ * are all expanded, in the order in which they are displayed.
+ * <p>
+ * Instead of a flat list of all rows, each item knows the number of visible
+ * rows below it and each parent (the tree for the root items or an item) keeps
+ * a {@link Children} node with its expanded children and the rows below them.
+ * Expanding, collapsing, inserting or removing an item therefore only updates
+ * the nodes of its ancestors. Rows are mapped to items by descending from the
+ * root items, searching binary among the expanded children on each level, so
+ * neither mapping touches collapsed subtrees or the rows above the viewport.
+ * </p>
+ * <p>
+ * Once it was requested, the widest row is maintained the same way: each
+ * {@link Children} node counts the widths of its children and the widest rows
+ * below its expanded children, so a changed item only updates the counts of its
+ * ancestors.
+ * </p>
+ */
+class TreeVisibleRows {
+
+	/**
+	 * The children of one parent together with the visible rows below its
+	 * expanded children.
+	 */
+	final class Children {
+		private final TreeItem owner;
+
+		/** the number of visible rows below the expanded children */
+		private int extraRows;
+		private final Set<TreeItem> expandedChildren = new HashSet<>();
+		private boolean indicesValid = true;
+
+		/** the expanded children sorted by index, <code>null</code> if outdated */
+		private TreeItem[] sortedExpanded;
+		private int[] sortedIndices;
+		/** the rows below the sorted expanded children preceding each of them */
+		private int[] extraRowsBefore;
+
+		/**
+		 * the number of children and expanded children by the width of their row or
+		 * of the widest row below them, <code>null</code> if not calculated yet
+		 */
+		private TreeMap<Integer, Integer> widths;
+		/** the width counted by the parent for the rows below the children, -1 if none */
+		private int countedWidth = -1;
+
+		private Children(TreeItem owner) {
+			this.owner = owner;
+		}
+
+		private int getItemCount() {
+			return owner == null ? tree.getItemCount() : owner.getItemCount();
+		}
+
+		private TreeItem getItem(int index) {
+			return owner == null ? tree._getItem(index) : owner._getItem(index);
+		}
+
+		/**
+		 * Returns the number of rows of the children including the rows below them.
+		 */
+		int getRowCount() {
+			return getItemCount() + extraRows;
+		}
+
+		private void childAdded(TreeItem child, int index, boolean shifted) {
+			if (widths != null) {
+				resizedItems.add(child);
+			}
+			if (shifted) {
+				indicesValid = false;
+				sortedExpanded = null;
+			} else {
+				child.childIndex = index;
+			}
+			if (child.visibleDescendants > 0) {
+				extraRows += child.visibleDescendants;
+				expandedChildren.add(child);
+				sortedExpanded = null;
+			}
+		}
+
+		private void childRemoved(TreeItem child) {
+			if (expandedChildren.remove(child)) {
+				extraRows -= child.visibleDescendants;
+			}
+			resizedItems.remove(child);
+			if (widths != null) {
+				removeWidth(child.rowWidth);
+				if (child.childRows != null) {
+					removeWidth(child.childRows.countedWidth);
+				}
+			}
+			child.rowWidth = -1;
+			if (child.childRows != null) {
+				child.childRows.countedWidth = -1;
+			}
+			indicesValid = false;
+			sortedExpanded = null;
+		}
+
+		private void childRowsChanged(TreeItem child, int delta) {
+			extraRows += delta;
+			if (child.visibleDescendants > 0) {
+				expandedChildren.add(child);
+			} else {
+				expandedChildren.remove(child);
+			}
+			sortedExpanded = null;
+		}
+
+		private void clear() {
+			extraRows = 0;
+			expandedChildren.clear();
+			if (widths != null) {
+				widths.clear();
+			}
+			indicesValid = false;
+			sortedExpanded = null;
+		}
+
+		private int indexOf(TreeItem child) {
+			if (!indicesValid) {
+				if (owner == null) {
+					tree.forEachCreatedItem((item, index) -> item.childIndex = index);
+				} else {
+					owner.forEachCreatedItem((item, index) -> item.childIndex = index);
+				}
+				indicesValid = true;
+			}
+			return child.rowAttached ? child.childIndex : -1;
+		}
+
+		private void ensureSorted() {
+			if (sortedExpanded != null) {
+				return;
+			}
+
+			TreeItem[] items = expandedChildren.toArray(new TreeItem[0]);
+			int[] indices = new int[items.length];
+			for (TreeItem item : items) {
+				indexOf(item);
+			}
+			Arrays.sort(items, Comparator.comparingInt(item -> item.childIndex));
+
+			int[] before = new int[items.length + 1];
+			for (int i = 0; i < items.length; i++) {
+				indices[i] = items[i].childIndex;
+				before[i + 1] = before[i] + items[i].visibleDescendants;
+			}
+
+			sortedIndices = indices;
+			extraRowsBefore = before;
+			sortedExpanded = items;
+		}
+
+		/**
+		 * Returns the row of the given child relative to the row of the first child.
+		 */
+		private int getRowOf(TreeItem child) {
+			int index = indexOf(child);
+			if (index < 0) {
+				return -1;
+			}
+
+			ensureSorted();
+			int position = Arrays.binarySearch(sortedIndices, index);
+			if (position < 0) {
+				position = -position - 1;
+			}
+			return index + extraRowsBefore[position];
+		}
+
+		/**
+		 * Returns the item at the given row relative to the row of the first child.
+		 */
+		private TreeItem getItemAtRow(int row) {
+			ensureSorted();
+
+			// find the last expanded child starting at or before the row
+			int expanded = -1;
+			int low = 0;
+			int high = sortedExpanded.length - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				if (sortedIndices[mid] + extraRowsBefore[mid] <= row) {
+					expanded = mid;
+					low = mid + 1;
+				} else {
+					high = mid - 1;
+				}
+			}
+
+			if (expanded >= 0) {
+				TreeItem item = sortedExpanded[expanded];
+				int start = sortedIndices[expanded] + extraRowsBefore[expanded];
+				if (row == start) {
+					return item;
+				}
+				if (row <= start + item.visibleDescendants) {
+					return childrenOf(item).getItemAtRow(row - start - 1);
+				}
+			}
+
+			int index = row - extraRowsBefore[expanded + 1];
+			return index < getItemCount() ? getItem(index) : null;
+		}
+
+		/**
+		 * Returns the width of the widest row of the children and the rows below
+		 * them, counting the widths of the children on the first call.
+		 */
+		private int getMaxWidth() {
+			if (widths == null) {
+				widths = new TreeMap<>();
+				for (int i = 0; i < getItemCount(); i++) {
+					TreeItem child = getItem(i);
+					child.rowWidth = child.getSize().x;
+					addWidth(child.rowWidth);
+					if (child.childRows != null) {
+						child.childRows.countedWidth = -1;
+					}
+				}
+				for (TreeItem child : expandedChildren) {
+					Children children = childrenOf(child);
+					children.countedWidth = children.getMaxWidth();
+					addWidth(children.countedWidth);
+				}
+			}
+			return widths.isEmpty() ? 0 : widths.lastKey();
+		}
+
+		private void addWidth(int width) {
+			if (width >= 0) {
+				widths.merge(width, 1, Integer::sum);
+			}
+		}
+
+		private void removeWidth(int width) {
+			if (width >= 0) {
+				widths.computeIfPresent(width, (w, count) -> count > 1 ? count - 1 : null);
+			}
+		}
+	}
+
+	private final Tree tree;
+	private final Children roots;
+	private int modificationCount;
+	/** the items whose size changed since the widest row was requested */
+	private final Set<TreeItem> resizedItems = new LinkedHashSet<>();
+
+	TreeVisibleRows(Tree tree) {
+		this.tree = tree;
+		this.roots = new Children(null);
+	}
+
+	private Children childrenOf(TreeItem item) {
+		if (item == null) {
+			return roots;
+		}
+		if (item.childRows == null) {
+			item.childRows = new Children(item);
+		}
+		return item.childRows;
+	}
+
+	/**
+	 * Returns a counter which changes whenever the visible rows change, so that
+	 * row dependent caches can be validated.
+	 */
+	int getModificationCount() {
+		return modificationCount;
+	}
+
+	/**
+	 * Returns the number of visible rows.
+	 */
+	int getRowCount() {
+		return roots.getRowCount();
+	}
+
+	/**
+	 * Returns the width of the widest visible row. The widths of the items are
+	 * measured on the first call, later calls only measure the items whose size
+	 * changed in between. Items of virtual trees are not measured.
+	 */
+	int getMaxWidth() {
+		if (!resizedItems.isEmpty()) {
+			TreeItem[] items = resizedItems.toArray(new TreeItem[0]);
+			resizedItems.clear();
+			for (TreeItem item : items) {
+				if (item.isDisposed() || !item.rowAttached) {
+					continue;
+				}
+
+				Children siblings = childrenOf(item.parentItem);
+				siblings.removeWidth(item.rowWidth);
+				item.rowWidth = item.getSize().x;
+				siblings.addWidth(item.rowWidth);
+				updateCountedWidths(siblings);
+			}
+		}
+		return roots.getMaxWidth();
+	}
+
+	/**
+	 * Has to be called after the size of the given item changed, e.g. because of
+	 * its text, image or font.
+	 */
+	void itemSizeChanged(TreeItem item) {
+		if (item.rowAttached && childrenOf(item.parentItem).widths != null) {
+			resizedItems.add(item);
+		}
+	}
+
+	/**
+	 * Returns the item at the given row or <code>null</code> if there is no such
+	 * row. Items of virtual trees are created on demand.
+	 */
+	TreeItem getItem(int row) {
+		if (row < 0 || row >= getRowCount()) {
+			return null;
+		}
+		return roots.getItemAtRow(row);
+	}
+
+	/**
+	 * Returns the row of the given item or -1 if it is not visible.
+	 */
+	int indexOf(TreeItem item) {
+		if (!item.rowAttached) {
+			return -1;
+		}
+
+		TreeItem parentItem = item.parentItem;
+		int row = childrenOf(parentItem).getRowOf(item);
+		if (row < 0 || parentItem == null) {
+			return row;
+		}
+		if (!parentItem.getExpanded()) {
+			return -1;
+		}
+
+		int parentRow = indexOf(parentItem);
+		return parentRow < 0 ? -1 : parentRow + 1 + row;
+	}
+
+	/**
+	 * Returns the index of the given item among the children of its parent item
+	 * or the root items, without searching the items of the parent.
+	 */
+	int getChildIndex(TreeItem item) {
+		return childrenOf(item.parentItem).indexOf(item);
+	}
+
+	/**
+	 * Has to be called after the given item was inserted at the given index.
+	 * <code>shifted</code> indicates whether the indices of other children of the
+	 * same parent changed.
+	 */
+	void itemAdded(TreeItem item, int index, boolean shifted) {
+		modificationCount++;
+		item.rowAttached = true;
+		childrenOf(item.parentItem).childAdded(item, index, shifted);
+		updateVisibleDescendants(item.parentItem);
+		updateCountedWidths(childrenOf(item.parentItem));
+	}
+
+	/**
+	 * Has to be called after the given item was removed from its parent.
+	 */
+	void itemRemoved(TreeItem item) {
+		if (!item.rowAttached) {
+			return;
+		}
+
+		modificationCount++;
+		item.rowAttached = false;
+		childrenOf(item.parentItem).childRemoved(item);
+		updateVisibleDescendants(item.parentItem);
+		updateCountedWidths(childrenOf(item.parentItem));
+	}
+
+	/**
+	 * Has to be called after all children of the given item or all root items if
+	 * it is <code>null</code> were removed.
+	 */
+	void childrenRemoved(TreeItem parentItem) {
+		modificationCount++;
+		childrenOf(parentItem).clear();
+		updateVisibleDescendants(parentItem);
+		updateCountedWidths(childrenOf(parentItem));
+	}
+
+	/**
+	 * Has to be called after the number of children of a virtual item changed
+	 * without creating or removing items.
+	 */
+	void itemCountChanged(TreeItem parentItem) {
+		modificationCount++;
+		updateVisibleDescendants(parentItem);
+	}
+
+	/**
+	 * Has to be called after the given item was expanded or collapsed.
+	 */
+	void expandedChanged(TreeItem item) {
+		modificationCount++;
+		updateVisibleDescendants(item);
+		updateCountedWidths(childrenOf(item));
+	}
+
+	private void updateVisibleDescendants(TreeItem item) {
+		while (item != null && item.rowAttached) {
+			int rows = item.getExpanded() ? childrenOf(item).getRowCount() : 0;
+			int delta = rows - item.visibleDescendants;
+			if (delta == 0) {
+				return;
+			}
+
+			item.visibleDescendants = rows;
+			childrenOf(item.parentItem).childRowsChanged(item, delta);
+			item = item.parentItem;
+		}
+	}
+
+	/**
+	 * Updates the widths counted by the ancestors of the given children after the
+	 * widest row below them changed or the owner was expanded or collapsed.
+	 */
+	private void updateCountedWidths(Children children) {
+		while (children.owner != null && children.owner.rowAttached) {
+			TreeItem owner = children.owner;
+			Children parent = childrenOf(owner.parentItem);
+			if (parent.widths == null) {
+				return;
+			}
+
+			int width = owner.visibleDescendants > 0 ? children.getMaxWidth() : -1;
+			if (width == children.countedWidth) {
+				return;
+			}
+
+			parent.removeWidth(children.countedWidth);
+			parent.addWidth(width);
+			children.countedWidth = width;
+			children = parent;
+		}
+	}
+}
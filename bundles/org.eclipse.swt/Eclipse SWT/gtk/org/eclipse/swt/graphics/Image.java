@@ -130,6 +130,12 @@ public final class Image extends Resource implements Drawable {
 	 */
 	NativeGC memGC;
 
+	/**
+	 * Incremented whenever the pixels of the image may have changed, e.g. after
+	 * drawing on it with a GC, so that converted copies can be validated.
+	 */
+	int modificationCount;
+
 	/**
 	 * The width of the image.
 	 */
@@ -924,6 +930,7 @@ void destroyMask() {
 
 @Override
 void destroy() {
+	if (SWT.USE_SKIJA) SkijaGC.imageDisposed(this);
 	if (memGC != null) memGC.dispose();
 	if (mask != 0) OS.g_object_unref(mask);
 	if (surface != 0) Cairo.cairo_surface_destroy(surface);
@@ -1493,6 +1500,7 @@ public long internal_new_GC (GCData data) {
  */
 @Override
 public void internal_dispose_GC (long hDC, GCData data) {
+	modificationCount++;
 	Cairo.cairo_destroy(hDC);
 }
 
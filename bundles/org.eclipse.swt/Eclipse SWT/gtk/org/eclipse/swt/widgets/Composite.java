@@ -1611,6 +1611,13 @@ void resizeHandle (int width, int height) {
 	}
 }
 
+@Override
+public void setBackground (Color color) {
+	super.setBackground (color);
+	/* Custom-drawn children may have recorded the inherited background */
+	CustomControl.invalidateDisplayLists (this);
+}
+
 /**
  * Sets the background drawing mode to the argument which should
  * be one of the following constants defined in class <code>SWT</code>:
@@ -1635,6 +1642,7 @@ public void setBackgroundMode (int mode) {
 	for (int i = 0; i < children.length; i++) {
 		children [i].updateBackgroundMode ();
 	}
+	CustomControl.invalidateDisplayLists (this);
 }
 
 @Override
@@ -1862,6 +1870,14 @@ boolean translateTraversal (long event) {
 	return super.translateTraversal (event);
 }
 
+@Override
+public void update () {
+	checkWidget ();
+	/* Issue the pending redraws of custom-drawn descendants, they are deferred to the end of the frame */
+	display.frameScheduler.flushTree (this);
+	super.update ();
+}
+
 @Override
 void updateBackgroundMode () {
 	super.updateBackgroundMode ();
@@ -6041,6 +6041,7 @@ static int untranslateKey (int key) {
  */
 public void update () {
 	checkDevice ();
+	flushRedraws ();
 	flushExposes (0, true);
 }
 
@@ -11,6 +11,7 @@
 package org.eclipse.swt.widgets;
 
 import org.eclipse.swt.*;
+import org.eclipse.swt.accessibility.*;
 import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.internal.gtk.*;
 import org.eclipse.swt.internal.gtk3.*;
@@ -19,8 +20,13 @@ import org.eclipse.swt.internal.gtk4.*;
 abstract class NativeBasedCustomControl extends Control {
 
 	long scrolledHandle;
-	long imHandle, socketHandle;
-	static final String NO_INPUT_METHOD = "org.eclipse.swt.internal.gtk.noInputMethod"; //$NON-NLS-1$
+	long socketHandle;
+	/**
+	 * whether the control is painted by its {@link LightweightComposite} parent
+	 * and has no native handle. Not initialized in the declaration, because it is
+	 * set while the superclass constructor creates the widget.
+	 */
+	boolean lightweight;
 
 	protected NativeBasedCustomControl(Composite parent, int style) {
 		super(parent, style);
@@ -30,6 +36,241 @@ abstract class NativeBasedCustomControl extends Control {
 		return (style & SWT.BORDER) != 0;
 	}
 
+	@Override
+	void createWidget(int index) {
+		if (SWT.USE_SKIJA && parent instanceof LightweightComposite host) {
+			/*
+			 * A lightweight control gets no native handle at all. Its host paints it,
+			 * hit tests the mouse events for it and forwards it the focus and key
+			 * events, so the control only keeps its state in Java.
+			 */
+			lightweight = true;
+			state |= DRAG_DETECT;
+			checkOrientation(parent);
+			host.addLightweightChild(this);
+			return;
+		}
+		super.createWidget(index);
+	}
+
+	LightweightComposite getLightweightHost() {
+		return lightweight ? (LightweightComposite) parent : null;
+	}
+
+	@Override
+	Accessible _getAccessible() {
+		if (lightweight && accessible == null) {
+			accessible = new Accessible(parent._getAccessible());
+		}
+		return super._getAccessible();
+	}
+
+	@Override
+	void releaseParent() {
+		LightweightComposite host = getLightweightHost();
+		if (host != null) {
+			host.removeLightweightChild(this);
+		}
+		super.releaseParent();
+	}
+
+	@Override
+	void releaseWidget() {
+		if (lightweight && accessible != null) {
+			// a child of the host's accessible, which is not released with this control
+			accessible.dispose();
+			accessible = null;
+		}
+		super.releaseWidget();
+	}
+
+	@Override
+	void destroyWidget() {
+		if (lightweight) {
+			releaseHandle();
+		} else {
+			super.destroyWidget();
+		}
+	}
+
+	@Override
+	Widget[] computeTabList() {
+		// the host moves the focus between its lightweight children itself
+		return lightweight ? new Widget[0] : super.computeTabList();
+	}
+
+	@Override
+	public boolean forceFocus() {
+		LightweightComposite host = getLightweightHost();
+		if (host == null) {
+			return super.forceFocus();
+		}
+		checkWidget();
+		if (display.focusEvent == SWT.FocusOut) return false;
+		if (!isEnabled() || !isVisible()) return false;
+		return host.setFocusChild(this);
+	}
+
+	@Override
+	public boolean isFocusControl() {
+		LightweightComposite host = getLightweightHost();
+		if (host == null) {
+			return super.isFocusControl();
+		}
+		checkWidget();
+		return host.isFocusChild(this);
+	}
+
+	@Override
+	boolean hasFocus() {
+		LightweightComposite host = getLightweightHost();
+		return host != null ? host.isFocusChild(this) : super.hasFocus();
+	}
+
+	@Override
+	public void setVisible(boolean visible) {
+		LightweightComposite host = getLightweightHost();
+		if (host == null) {
+			super.setVisible(visible);
+			return;
+		}
+		checkWidget();
+		if (((state & HIDDEN) == 0) == visible) return;
+		if (visible) {
+			sendEvent(SWT.Show);
+			if (isDisposed()) return;
+			state &= ~HIDDEN;
+		} else {
+			state |= HIDDEN;
+			host.lightweightChildDeactivated(this);
+			if (isDisposed()) return;
+			sendEvent(SWT.Hide);
+		}
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		LightweightComposite host = getLightweightHost();
+		if (host == null) {
+			super.setEnabled(enabled);
+			return;
+		}
+		checkWidget();
+		if (((state & DISABLED) == 0) == enabled) return;
+		if (enabled) {
+			state &= ~DISABLED;
+		} else {
+			state |= DISABLED;
+			host.lightweightChildDeactivated(this);
+		}
+	}
+
+	@Override
+	void setZOrder(Control sibling, boolean above, boolean fixRelations) {
+		LightweightComposite host = getLightweightHost();
+		if (host != null) {
+			host.moveLightweightChild(this, sibling, above);
+		} else {
+			super.setZOrder(sibling, above, fixRelations);
+		}
+	}
+
+	@Override
+	public void setRedraw(boolean redraw) {
+		if (lightweight) {
+			// the host paints the control, there is no native painting to suspend
+			checkWidget();
+			return;
+		}
+		super.setRedraw(redraw);
+	}
+
+	@Override
+	public boolean isReparentable() {
+		checkWidget();
+		return !lightweight;
+	}
+
+	@Override
+	Rectangle getBoundsInPixels() {
+		return lightweight ? getBounds() : super.getBoundsInPixels();
+	}
+
+	@Override
+	Point getLocationInPixels() {
+		return lightweight ? getLocation() : super.getLocationInPixels();
+	}
+
+	@Override
+	Point getSizeInPixels() {
+		return lightweight ? getSize() : super.getSizeInPixels();
+	}
+
+	@Override
+	void setBackground() {
+		if (!lightweight) {
+			super.setBackground();
+		}
+	}
+
+	@Override
+	void setBackgroundGdkRGBA(GdkRGBA rgba) {
+		if (!lightweight) {
+			super.setBackgroundGdkRGBA(rgba);
+		}
+	}
+
+	@Override
+	void setForegroundGdkRGBA(GdkRGBA rgba) {
+		if (!lightweight) {
+			super.setForegroundGdkRGBA(rgba);
+		}
+	}
+
+	@Override
+	void setFontDescription(long font) {
+		if (!lightweight) {
+			super.setFontDescription(font);
+		}
+	}
+
+	@Override
+	void setCursor(long cursor) {
+		LightweightComposite host = getLightweightHost();
+		if (host != null) {
+			// the host shows the cursor of the child under the pointer
+			if (host.isHoverChild(this)) {
+				Cursor hostCursor = host.cursor;
+				host.setCursor(cursor != 0 ? cursor : hostCursor != null ? hostCursor.handle : 0);
+			}
+		} else {
+			super.setCursor(cursor);
+		}
+	}
+
+	@Override
+	void fixParentGdkResource() {
+		if (!lightweight) {
+			super.fixParentGdkResource();
+		}
+	}
+
+	@Override
+	void printWidget(GC gc, long drawable, int depth, int x, int y) {
+		if (!lightweight) {
+			super.printWidget(gc, drawable, depth, x, y);
+		}
+	}
+
+	@Override
+	public long internal_new_GC(GCData data) {
+		if (lightweight) {
+			// there is no native surface to draw on, the host paints the control
+			error(SWT.ERROR_NO_HANDLES);
+		}
+		return super.internal_new_GC(data);
+	}
+
 	@Override
 	void createHandle(int index) {
 		state |= HANDLE | CANVAS | CHECK_SUBWINDOW;
@@ -84,16 +325,11 @@ abstract class NativeBasedCustomControl extends Control {
 		}
 		GTK.gtk_widget_set_can_focus(handle, true);
 
-		if ((style & SWT.EMBEDDED) == 0) {
-			if ((state & CANVAS) != 0) {
-				/* Prevent an input method context from being created for the Browser widget */
-				if (display.getData(NO_INPUT_METHOD) == null) {
-					imHandle = GTK.gtk_im_multicontext_new();
-					if (imHandle == 0)
-						error(SWT.ERROR_NO_HANDLES);
-				}
-			}
-		}
+		/*
+		 * No input method context is created: the custom controls based on this class
+		 * do not accept text input, and the context was neither connected to the key
+		 * events nor released, which cost one native object per control.
+		 */
 		if (scrolled) {
 			if (fixed) {
 				if (GTK.GTK4) {
@@ -176,6 +176,14 @@ abstract class NativeBasedCustomScrollable extends Scrollable {
 		}
 	}
 
+	@Override
+	void releaseWidget() {
+		super.releaseWidget();
+		if (imHandle != 0)
+			OS.g_object_unref(imHandle);
+		imHandle = 0;
+	}
+
 	@Override
 	public final Color getBackground() {
 		return backgroundColor != null ? backgroundColor : getRenderer().getDefaultBackground();
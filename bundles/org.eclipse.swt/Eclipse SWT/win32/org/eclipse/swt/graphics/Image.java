@@ -114,6 +114,12 @@ public final class Image extends Resource implements Drawable {
 	 */
 	GC memGC;
 
+	/**
+	 * Incremented whenever the pixels of the image may have changed, e.g. after
+	 * drawing on it with a GC, so that converted copies can be validated.
+	 */
+	int modificationCount;
+
 	/**
 	 * AbstractImageProvider to avail right ImageProvider (ImageDataProvider or ImageFileNameProvider)
 	 */
@@ -999,6 +1005,7 @@ long [] createGdipImage(Integer zoom) {
 
 @Override
 void destroy () {
+	if (SWT.USE_SKIJA) SkijaGC.imageDisposed(this);
 	device.deregisterResourceWithZoomSupport(this);
 	if (memGC != null) memGC.dispose();
 	this.isDestroyed = true;
@@ -1761,6 +1768,7 @@ private void checkImageTypeForValidCustomDrawing(int zoom) {
  */
 @Override
 public void internal_dispose_GC (long hDC, GCData data) {
+	modificationCount++;
 	OS.DeleteDC(hDC);
 }
 
@@ -1821,6 +1829,7 @@ public void setBackground(Color color) {
 	transparentColor = -1;
 	backgroundColor = color.getRGB();
 	zoomLevelToImageHandle.values().forEach(imageHandle -> imageHandle.setBackground(backgroundColor));
+	modificationCount++;
 }
 
 /**
@@ -1031,6 +1031,13 @@ void sendResize () {
 	setResizeChildren (true);
 }
 
+@Override
+public void setBackground (Color color) {
+	super.setBackground (color);
+	/* Custom-drawn children may have recorded the inherited background */
+	CustomControl.invalidateDisplayLists (this);
+}
+
 /**
  * Sets the background drawing mode to the argument which should
  * be one of the following constants defined in class <code>SWT</code>:
@@ -1054,6 +1061,7 @@ public void setBackgroundMode (int mode) {
 	for (Control element : _getChildren ()) {
 		element.updateBackgroundMode ();
 	}
+	CustomControl.invalidateDisplayLists (this);
 }
 
 @Override
@@ -1305,6 +1313,14 @@ void updateBackgroundImage () {
 	}
 }
 
+@Override
+public void update () {
+	checkWidget ();
+	/* Issue the pending redraws of custom-drawn descendants, they are deferred to the end of the frame */
+	display.frameScheduler.flushTree (this);
+	super.update ();
+}
+
 @Override
 void updateBackgroundMode () {
 	super.updateBackgroundMode ();
@@ -5052,6 +5052,7 @@ public void update() {
 		int flags = OS.PM_REMOVE | OS.PM_NOYIELD;
 		OS.PeekMessage (msg, hwndMessage, SWT_NULL, SWT_NULL, flags);
 	}
+	flushRedraws ();
 	for (Shell shell : getShells ()) {
 		if (!shell.isDisposed ()) shell.update (true);
 	}
@@ -555,6 +555,33 @@ public void test_setStyle() {
 	layout.dispose();
 }
 
+@Test
+public void test_setStyles() {
+	TextStyle s1 = new TextStyle (null, null, null);
+	TextStyle s2 = new TextStyle (null, null, null);
+	s2.rise = 1;
+
+	TextLayout layout = new TextLayout (display);
+	layout.setText("aabbccdd");
+	layout.setStyle (s1, 0, 7);
+	layout.setStyles(new TextStyle[] {s1, s2, s2}, new int[] {0, 1, 4, 4, 5, 6});
+	assertEquals(s1, layout.getStyle(1));
+	assertNull(layout.getStyle(2));
+	assertEquals(s2, layout.getStyle(4));
+	assertEquals(s2, layout.getStyle(6));
+	assertNull(layout.getStyle(7));
+	// adjacent ranges of the same style are merged
+	assertArrayEquals(new int[] {0, 1, 4, 6}, layout.getRanges());
+	assertArrayEquals(new TextStyle[] {s1, s2}, layout.getStyles());
+
+	// unsorted ranges are applied one after the other
+	layout.setStyles(new TextStyle[] {s2, s1}, new int[] {4, 7, 0, 5});
+	assertEquals(s1, layout.getStyle(5));
+	assertEquals(s2, layout.getStyle(6));
+	assertThrows(IllegalArgumentException.class, () -> layout.setStyles(new TextStyle[] {s1}, new int[] {0}));
+	layout.dispose();
+}
+
 @Test
 public void test_getAlignment() {
 	TextLayout layout = new TextLayout(display);
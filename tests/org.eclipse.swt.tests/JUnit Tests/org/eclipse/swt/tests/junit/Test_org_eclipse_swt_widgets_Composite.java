@@ -15,10 +15,13 @@ package org.eclipse.swt.tests.junit;
 
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 
+import java.util.ArrayList;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.swt.SWT;
@@ -27,6 +30,8 @@ import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.LightweightComposite;
 import org.eclipse.swt.widgets.List;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Text;
@@ -214,6 +219,74 @@ public void test_bug2162_transparentStyle() {
 	shell.open();
 }
 
+@Test
+public void test_lightweightCompositeSendsMouseEventsToChildAtPointer() {
+	assumeTrue(SWT.USE_SKIJA);
+	LightweightComposite host = new LightweightComposite(shell, SWT.NONE);
+	host.setBounds(0, 0, 200, 100);
+	Button button = new Button(host, SWT.PUSH);
+	button.setBounds(50, 20, 80, 30);
+	java.util.List<String> events = new ArrayList<>();
+	button.addListener(SWT.MouseEnter, e -> events.add("enter"));
+	button.addListener(SWT.MouseDown, e -> events.add("down " + e.x + "," + e.y));
+	button.addListener(SWT.MouseUp, e -> events.add("up " + e.x + "," + e.y));
+	button.addListener(SWT.MouseExit, e -> events.add("exit"));
+
+	host.notifyListeners(SWT.MouseMove, mouseEvent(60, 25));
+	host.notifyListeners(SWT.MouseDown, mouseEvent(60, 25));
+	// the pressed child gets the mouse events until the button is released
+	host.notifyListeners(SWT.MouseMove, mouseEvent(10, 10));
+	host.notifyListeners(SWT.MouseUp, mouseEvent(10, 10));
+
+	assertEquals(java.util.List.of("enter", "down 10,5", "up -40,-10", "exit"), events);
+	assertEquals(host.toDisplay(50, 20), button.toDisplay(0, 0));
+}
+
+@Test
+public void test_lightweightCompositeSendsFocusAndKeysToFocusedChild() {
+	assumeTrue(SWT.USE_SKIJA && SwtTestUtil.isGTK);
+	LightweightComposite host = new LightweightComposite(shell, SWT.NONE);
+	host.setBounds(0, 0, 200, 100);
+	Button first = new Button(host, SWT.PUSH);
+	first.setBounds(0, 0, 80, 30);
+	Button second = new Button(host, SWT.PUSH);
+	second.setBounds(100, 0, 80, 30);
+	assertArrayEquals(new Control[] {first, second}, host.getChildren());
+	second.moveAbove(first);
+	assertArrayEquals(new Control[] {second, first}, host.getChildren());
+	java.util.List<String> events = new ArrayList<>();
+	first.addListener(SWT.FocusIn, e -> events.add("first in"));
+	first.addListener(SWT.FocusOut, e -> events.add("first out"));
+	second.addListener(SWT.FocusIn, e -> events.add("second in"));
+	second.addListener(SWT.KeyDown, e -> events.add("second key " + e.character));
+	SwtTestUtil.waitShellActivate(shell::open, shell);
+
+	assumeTrue("the shell was not activated", second.setFocus());
+	assertTrue(second.isFocusControl());
+	assertFalse(first.isFocusControl());
+	Event key = new Event();
+	key.character = 'a';
+	host.notifyListeners(SWT.KeyDown, key);
+	// tab traversal moves the focus between the children and keeps it in the host
+	Event traverse = new Event();
+	traverse.detail = SWT.TRAVERSE_TAB_NEXT;
+	host.notifyListeners(SWT.Traverse, traverse);
+
+	assertEquals(SWT.TRAVERSE_NONE, traverse.detail);
+	assertTrue(first.isFocusControl());
+	assertEquals(java.util.List.of("second in", "second key a", "first in"), events);
+	first.dispose();
+	assertArrayEquals(new Control[] {second}, host.getChildren());
+}
+
+private static Event mouseEvent(int x, int y) {
+	Event event = new Event();
+	event.x = x;
+	event.y = y;
+	event.button = 1;
+	return event;
+}
+
 protected Composite getElementExpectedToHaveFocusAfterSetFocusOnParent(Composite visibleChild) {
 	return visibleChild;
 }
@@ -14,10 +14,12 @@
 package org.eclipse.swt.tests.junit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -116,6 +118,35 @@ public void test_setTextLjava_lang_String(){
 	}
 }
 
+@Test
+public void test_redrawsAreMergedPerFrame() {
+	Display display = shell.getDisplay();
+	display.flushRedraws();
+	long requested = display.getRequestedRedrawCount();
+	long executed = display.getExecutedRedrawCount();
+	for (int i = 0; i < 100; i++) {
+		label.redraw(i, 0, 1, 1, false);
+	}
+	display.flushRedraws();
+	assertEquals(100, display.getRequestedRedrawCount() - requested);
+	assertEquals(1, display.getExecutedRedrawCount() - executed);
+}
+
+@Test
+public void test_updateOfShellPaintsPendingRedraws() {
+	Display display = shell.getDisplay();
+	label.setText("label");
+	label.setBounds(0, 0, 50, 20);
+	shell.open();
+	while (display.readAndDispatch()) {
+	}
+	boolean[] painted = new boolean[1];
+	label.addPaintListener(e -> painted[0] = true);
+	label.redraw();
+	shell.update();
+	assertTrue(painted[0]);
+}
+
 /* custom */
 Label label;
 
@@ -2492,4 +2492,24 @@ public void test_getItemHeight_returns_inconsistent_heights () {
 
 	assertEquals(emptyListItemHeight, filledListItemHeight);
 }
+
+@Test
+public void test_selectionFollowsInsertedAndRemovedItems() {
+	list.setItems("item0", "item1", "item2", "item3", "item4");
+	list.select(1, 3);
+	assertArrayEquals(new int[] {1, 2, 3}, list.getSelectionIndices());
+
+	list.add("new", 0);
+	assertArrayEquals(new int[] {2, 3, 4}, list.getSelectionIndices());
+
+	list.remove(3);
+	assertArrayEquals(new int[] {2, 3}, list.getSelectionIndices());
+	assertArrayEquals(new String[] {"item1", "item3"}, list.getSelection());
+
+	list.remove(new int[] {0, 1});
+	assertArrayEquals(new int[] {0, 1}, list.getSelectionIndices());
+
+	list.deselect(0, 10);
+	assertEquals(0, list.getSelectionCount());
+}
 }
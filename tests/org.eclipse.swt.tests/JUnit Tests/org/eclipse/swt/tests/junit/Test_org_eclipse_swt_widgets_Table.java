@@ -1899,6 +1899,155 @@ public void test_Virtual() {
 			dataCounter[0] > visibleCount / 2 && dataCounter[0] <= visibleCount * 3);
 }
 
+@Test
+public void test_VirtualIndexOf() {
+	table.dispose();
+	table = new Table(shell, SWT.VIRTUAL | SWT.BORDER);
+	setWidget(table);
+
+	table.setItemCount(1_000_000);
+	TableItem first = table.getItem(0);
+	TableItem last = table.getItem(999_999);
+	assertEquals(0, table.indexOf(first));
+	assertEquals(999_999, table.indexOf(last));
+	assertEquals(first, table.getItem(0));
+
+	table.setItemCount(10);
+	assertEquals(0, table.indexOf(first));
+	assertEquals(-1, table.indexOf(last));
+}
+
+@Test
+public void test_VirtualItemKeepsIndexAfterScrolling() {
+	table.dispose();
+	table = new Table(shell, SWT.VIRTUAL | SWT.BORDER);
+	setWidget(table);
+	table.setData("org.eclipse.swt.widgets.Table.virtualLookAhead", 0);
+	table.addListener(SWT.SetData, event -> {
+		TableItem item = (TableItem) event.item;
+		item.setText("Item " + table.indexOf(item));
+	});
+
+	shell.setLayout(new FillLayout());
+	shell.setSize(200, table.getItemHeight() * 10);
+	shell.open();
+	table.setItemCount(100_000);
+	TableItem item = table.getItem(2);
+	SwtTestUtil.processEvents();
+
+	// items far away from the visible rows may be released, but never reused for other rows
+	table.setTopIndex(50_000);
+	table.redraw();
+	SwtTestUtil.processEvents();
+	table.setTopIndex(0);
+	table.redraw();
+	SwtTestUtil.processEvents();
+	assertTrue(item.isDisposed() || table.indexOf(item) == 2);
+	if (item.isDisposed()) {
+		assertEquals(2, table.indexOf(table.getItem(2)));
+	} else {
+		assertEquals(item, table.getItem(2));
+	}
+	assertEquals(50_000, table.indexOf(table.getItem(50_000)));
+}
+
+@Test
+public void test_VirtualSelectAll() {
+	table.dispose();
+	table = new Table(shell, SWT.VIRTUAL | SWT.MULTI | SWT.BORDER);
+	setWidget(table);
+
+	table.setItemCount(1_000_000);
+	table.selectAll();
+	assertEquals(1_000_000, table.getSelectionCount());
+	assertTrue(table.isSelected(999_999));
+	assertEquals(0, table.getSelectionIndex());
+
+	table.deselect(10, 999_989);
+	assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 999_990, 999_991, 999_992, 999_993, 999_994,
+			999_995, 999_996, 999_997, 999_998, 999_999}, table.getSelectionIndices());
+
+	table.setItemCount(5);
+	assertArrayEquals(new int[] {0, 1, 2, 3, 4}, table.getSelectionIndices());
+	assertEquals(table.getItem(4), table.getSelection()[4]);
+}
+
+@Test
+public void test_selectionFollowsInsertedAndRemovedItems() {
+	table.dispose();
+	table = new Table(shell, SWT.MULTI | SWT.BORDER);
+	setWidget(table);
+
+	TableItem[] items = new TableItem[5];
+	for (int i = 0; i < items.length; i++) {
+		items[i] = new TableItem(table, 0);
+	}
+	table.select(new int[] {1, 3});
+
+	new TableItem(table, 0, 0);
+	assertArrayEquals(new int[] {2, 4}, table.getSelectionIndices());
+	assertArrayEquals(new TableItem[] {items[1], items[3]}, table.getSelection());
+
+	items[2].dispose();
+	assertArrayEquals(new int[] {2, 3}, table.getSelectionIndices());
+	assertArrayEquals(new TableItem[] {items[1], items[3]}, table.getSelection());
+}
+
+@Test
+public void test_selectionFollowsItemsInsertedIntoScrolledTable() {
+	table.dispose();
+	table = new Table(shell, SWT.MULTI | SWT.BORDER);
+	setWidget(table);
+
+	for (int i = 0; i < 30; i++) {
+		new TableItem(table, 0);
+	}
+	table.setSize(50, 50);
+	shell.open();
+	table.setTopIndex(20);
+	table.select(new int[] {4, 29});
+	for (TableItem item : table.getItems()) {
+		item.getBounds();
+	}
+
+	new TableItem(table, 0, 2);
+	assertArrayEquals(new int[] {5, 30}, table.getSelectionIndices());
+
+	// inserting before the last item must not append
+	TableItem inserted = new TableItem(table, 0, table.getItemCount() - 1);
+	assertEquals(table.getItemCount() - 2, table.indexOf(inserted));
+	assertArrayEquals(new int[] {5, 31}, table.getSelectionIndices());
+
+	TableItem[] items = table.getItems();
+	for (int i = 1; i < items.length; i++) {
+		assertTrue(items[i - 1].getBounds().y < items[i].getBounds().y);
+	}
+}
+
+@Test
+public void test_cellsFollowInsertedAndRemovedColumns() {
+	for (int i = 0; i < 3; i++) {
+		new TableColumn(table, SWT.NONE);
+	}
+	TableItem item = new TableItem(table, SWT.NONE);
+	item.setText(new String[] {"a", "b", "c"});
+	Color red = shell.getDisplay().getSystemColor(SWT.COLOR_RED);
+	item.setBackground(2, red);
+
+	new TableColumn(table, SWT.NONE, 1);
+	assertEquals("a", item.getText(0));
+	assertEquals("", item.getText(1));
+	assertEquals("b", item.getText(2));
+	assertEquals("c", item.getText(3));
+	assertEquals(red, item.getBackground(3));
+
+	table.getColumn(0).dispose();
+	assertEquals("", item.getText(0));
+	assertEquals("b", item.getText(1));
+	assertEquals("c", item.getText(2));
+	assertEquals(red, item.getBackground(2));
+}
+
 @Test
 public void test_setTopIndex() {
 	for (int i = 0; i < 10; i++) {
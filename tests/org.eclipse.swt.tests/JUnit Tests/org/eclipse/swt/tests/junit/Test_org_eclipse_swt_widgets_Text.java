@@ -514,6 +514,34 @@ public void test_getLineCount() {
 	assertEquals(1, text.getLineCount());
 }
 
+@Test
+public void test_getLineCountAfterEdits() {
+	text.setBounds(0, 0, 500, 500);
+	StringBuilder expected = new StringBuilder();
+	for (int i = 0; i < 100; i++) {
+		text.append("Line" + i + delimiterString);
+		expected.append("Line" + i + delimiterString);
+	}
+	assertEquals(101, text.getLineCount());
+	assertEquals(100, text.getCaretLineNumber());
+
+	int offset = expected.indexOf("Line50");
+	text.setSelection(offset);
+	text.insert("a" + delimiterString + "b");
+	expected.insert(offset, "a" + delimiterString + "b");
+	assertEquals(102, text.getLineCount());
+	assertEquals(51, text.getCaretLineNumber());
+	assertEquals(expected.toString(), text.getText());
+
+	int end = expected.indexOf("Line60");
+	text.setSelection(offset, end);
+	text.insert("");
+	expected.delete(offset, end);
+	assertEquals(91, text.getLineCount());
+	assertEquals(50, text.getCaretLineNumber());
+	assertEquals(expected.toString(), text.getText());
+}
+
 @Test
 @Ignore("Not working (yet)")
 public void test_getLineDelimiter() {
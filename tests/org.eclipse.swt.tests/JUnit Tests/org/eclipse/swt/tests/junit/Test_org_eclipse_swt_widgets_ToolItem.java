@@ -15,6 +15,7 @@ package org.eclipse.swt.tests.junit;
 
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import org.eclipse.swt.SWT;
@@ -115,6 +116,17 @@ public void test_setDisabledImage() {
 public void test_setTextLjava_lang_String() {
 }
 
+@Test
+public void test_setTextUpdatesSize() {
+	toolItem.setText("a");
+	int width = toolItem.getWidth();
+	toolItem.setText("a considerably longer text");
+	assertTrue(toolItem.getWidth() > width);
+	assertTrue(toolBar.computeSize(SWT.DEFAULT, SWT.DEFAULT).x > width);
+	toolItem.setText("a");
+	assertEquals(width, toolItem.getWidth());
+}
+
 /* custom */
 ToolBar toolBar;
 ToolItem toolItem;
@@ -648,6 +648,35 @@ public void test_setTopItemLorg_eclipse_swt_widgets_TreeItem() {
 	}
 }
 
+@Test
+public void test_setTopItemInExpandedSubtree() {
+	tree.removeAll();
+	TreeItem parent = null;
+	for (int i = 0; i < 10; i++) {
+		TreeItem item = new TreeItem(tree, 0);
+		for (int j = 0; j < 10; j++) {
+			new TreeItem(item, 0);
+		}
+		if (i == 5) {
+			parent = item;
+		}
+	}
+	parent.setExpanded(true);
+	tree.setSize(50,50);
+	shell.open();
+
+	TreeItem top = parent.getItem(7);
+	tree.setTopItem(top);
+	assertEquals(top, tree.getTopItem());
+
+	parent.setExpanded(false);
+	parent.setExpanded(true);
+	top = parent.getItem(3);
+	tree.setTopItem(top);
+	assertEquals(top, tree.getTopItem());
+	shell.setVisible(false);
+}
+
 @Test
 public void test_showItemLorg_eclipse_swt_widgets_TreeItem() {
 	try {
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Drawing;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Measures the frames per second of {@link Drawing#drawWithGC} for custom
+ * drawn controls. This includes creating the Skija surface and transferring
+ * the rendered pixels to the native GC. Run it against two revisions to compare
+ * the transfer implementations.
+ */
+public class BenchmarkDrawWithGC {
+	private static final int WARMUP_FRAMES = 200;
+	private static final int FRAMES = 2_000;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		final Display display = new Display();
+		try {
+			Shell shell = new Shell(display);
+			shell.setLayout(new FillLayout(SWT.VERTICAL));
+			Button button = new Button(shell, SWT.PUSH);
+			button.setText("Button");
+			Label label = new Label(shell, SWT.NONE);
+			label.setText("Label");
+			shell.setSize(400, 200);
+			shell.open();
+			while (display.readAndDispatch()) {
+				// flush pending events before measuring
+			}
+
+			for (int runs = 0; runs < 10; runs++) {
+				System.out.println(String.format("%-8s %,10.1f fps   %-8s %,10.1f fps", //
+						"Button", measureFramesPerSecond(button), //
+						"Label", measureFramesPerSecond(label)));
+			}
+		} finally {
+			display.dispose();
+		}
+	}
+
+	private static double measureFramesPerSecond(Control control) {
+		for (int i = 0; i < WARMUP_FRAMES; i++) {
+			drawFrame(control);
+		}
+		long nanoTime = System.nanoTime();
+		for (int i = 0; i < FRAMES; i++) {
+			drawFrame(control);
+		}
+		long durationNanos = System.nanoTime() - nanoTime;
+		return FRAMES * 1_000_000_000d / durationNanos;
+	}
+
+	private static void drawFrame(Control control) {
+		Drawing.drawWithGC(control, null, gc -> {
+			var size = control.getSize();
+			gc.fillRectangle(0, 0, size.x, size.y);
+			gc.drawRectangle(0, 0, size.x - 1, size.y - 1);
+			gc.drawText("Frame", 4, 4, true);
+		});
+	}
+}
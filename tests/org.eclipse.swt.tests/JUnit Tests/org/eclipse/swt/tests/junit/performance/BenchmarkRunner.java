@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Widget;
+
+/**
+ * A minimal harness for manual benchmarks which have to run on the UI thread of
+ * a {@link Display}. Each benchmark is warmed up and then measured in several
+ * time boxed iterations, reporting the average time per operation.
+ * <p>
+ * The results can be written as JSON in the format of JMH's JSON result
+ * format (mode <code>avgt</code>), so that results of two revisions can be
+ * compared with the usual JMH tooling.
+ * </p>
+ */
+final class BenchmarkRunner {
+	private static final int WARMUP_ITERATIONS = 3;
+	private static final int MEASUREMENT_ITERATIONS = 5;
+	private static final long ITERATION_NANOS = 500_000_000L;
+	/** quantile of the normal distribution for the 99.9% confidence interval */
+	private static final double Z_999 = 3.291;
+
+	private record Result(String benchmark, Map<String, String> params, String unit, double[] scores) {
+		double score() {
+			double sum = 0;
+			for (double score : scores) {
+				sum += score;
+			}
+			return sum / scores.length;
+		}
+
+		double error() {
+			if (scores.length < 2) {
+				return Double.NaN;
+			}
+			double mean = score();
+			double sum = 0;
+			for (double score : scores) {
+				sum += (score - mean) * (score - mean);
+			}
+			return Z_999 * Math.sqrt(sum / (scores.length - 1)) / Math.sqrt(scores.length);
+		}
+	}
+
+	private final Display display;
+	private final Pattern filter;
+	private final List<Result> results = new ArrayList<>();
+
+	/**
+	 * @param display the display to process events of between operations
+	 * @param filter  a regular expression selecting the benchmarks to run by
+	 *                name, <code>null</code> to run all
+	 */
+	BenchmarkRunner(Display display, String filter) {
+		this.display = display;
+		this.filter = filter != null ? Pattern.compile(filter) : null;
+	}
+
+	/**
+	 * Measures the average time of the given operation in microseconds and prints
+	 * it.
+	 *
+	 * @param benchmark the name of the benchmark
+	 * @param params    the parameters of this run, e.g. the number of rows
+	 * @param operation the operation to measure
+	 */
+	void run(String benchmark, Map<String, String> params, Runnable operation) {
+		if (filter != null && !filter.matcher(benchmark).find()) {
+			return;
+		}
+
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			measureIteration(operation);
+		}
+		double[] scores = new double[MEASUREMENT_ITERATIONS];
+		for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+			scores[i] = measureIteration(operation);
+		}
+
+		addResult(new Result(benchmark, params, "us/op", scores));
+	}
+
+	/**
+	 * Measures the heap retained by the widget the given operation creates and
+	 * prints it in bytes per unit, e.g. per row of a table. The widget is
+	 * disposed afterwards.
+	 *
+	 * @param benchmark the name of the benchmark
+	 * @param params    the parameters of this run, e.g. the number of rows
+	 * @param unit      the name of the unit, e.g. <code>row</code>
+	 * @param units     the number of units to divide the retained bytes by
+	 * @param operation creates and populates the widget to measure
+	 */
+	void runFootprint(String benchmark, Map<String, String> params, String unit, int units,
+			Supplier<? extends Widget> operation) {
+		if (filter != null && !filter.matcher(benchmark).find()) {
+			return;
+		}
+
+		double[] scores = new double[MEASUREMENT_ITERATIONS];
+		for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+			processEvents();
+			long before = usedHeap();
+			Widget widget = operation.get();
+			processEvents();
+			long after = usedHeap();
+			widget.dispose();
+			scores[i] = (double) (after - before) / units;
+		}
+		addResult(new Result(benchmark, params, "B/" + unit, scores));
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		long used = Long.MAX_VALUE;
+		// a single request may not collect everything, take the lowest reading
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+		}
+		return used;
+	}
+
+	private void addResult(Result result) {
+		results.add(result);
+		System.out.println(String.format(Locale.ROOT, "%-40s %-20s %,14.3f +- %,10.3f %s", //
+				result.benchmark(), result.params().isEmpty() ? "" : result.params().toString(), result.score(),
+				result.error(), result.unit()));
+	}
+
+	private double measureIteration(Runnable operation) {
+		processEvents();
+		long operations = 0;
+		long start = System.nanoTime();
+		long elapsed;
+		do {
+			operation.run();
+			operations++;
+			elapsed = System.nanoTime() - start;
+		} while (elapsed < ITERATION_NANOS);
+		return elapsed / 1_000d / operations;
+	}
+
+	void processEvents() {
+		while (display.readAndDispatch()) {
+			// flush pending events before measuring
+		}
+	}
+
+	/**
+	 * Writes all results in JMH's JSON result format.
+	 */
+	void writeJson(Path file) throws IOException {
+		StringBuilder json = new StringBuilder("[\n");
+		for (int i = 0; i < results.size(); i++) {
+			Result result = results.get(i);
+			json.append("  {\n");
+			json.append("    \"benchmark\" : ").append(quote(result.benchmark())).append(",\n");
+			json.append("    \"mode\" : \"avgt\",\n");
+			json.append("    \"threads\" : 1,\n");
+			json.append("    \"forks\" : 1,\n");
+			json.append("    \"warmupIterations\" : ").append(WARMUP_ITERATIONS).append(",\n");
+			json.append("    \"measurementIterations\" : ").append(MEASUREMENT_ITERATIONS).append(",\n");
+			json.append("    \"params\" : {");
+			String separator = "";
+			for (Map.Entry<String, String> param : result.params().entrySet()) {
+				json.append(separator).append("\n      ").append(quote(param.getKey())).append(" : ")
+						.append(quote(param.getValue()));
+				separator = ",";
+			}
+			json.append(result.params().isEmpty() ? "},\n" : "\n    },\n");
+			json.append("    \"primaryMetric\" : {\n");
+			json.append("      \"score\" : ").append(number(result.score())).append(",\n");
+			json.append("      \"scoreError\" : ").append(number(result.error())).append(",\n");
+			json.append("      \"scoreUnit\" : ").append(quote(result.unit())).append(",\n");
+			json.append("      \"rawData\" : [ [ ");
+			for (int j = 0; j < result.scores().length; j++) {
+				json.append(j > 0 ? ", " : "").append(number(result.scores()[j]));
+			}
+			json.append(" ] ]\n");
+			json.append("    }\n");
+			json.append(i < results.size() - 1 ? "  },\n" : "  }\n");
+		}
+		json.append("]\n");
+		Files.writeString(file, json, StandardCharsets.UTF_8);
+	}
+
+	private static String quote(String string) {
+		return '"' + string.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+	}
+
+	private static String number(double value) {
+		return Double.isNaN(value) ? "\"NaN\"" : String.format(Locale.ROOT, "%.6f", value);
+	}
+}
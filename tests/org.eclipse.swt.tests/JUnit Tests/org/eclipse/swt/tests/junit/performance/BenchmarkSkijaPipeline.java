@@ -0,0 +1,372 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.graphics.Drawing;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.graphics.SkijaGC;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.CoolBar;
+import org.eclipse.swt.widgets.CoolItem;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.ExpandBar;
+import org.eclipse.swt.widgets.ExpandItem;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Link;
+import org.eclipse.swt.widgets.Sash;
+import org.eclipse.swt.widgets.Scale;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Slider;
+import org.eclipse.swt.widgets.TabFolder;
+import org.eclipse.swt.widgets.TabItem;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+
+/**
+ * Benchmarks the stages of the Skija rendering pipeline: the {@link GC}
+ * primitives on a Skija surface, the pixel conversions of {@link SkijaGC}, the
+ * painting of each custom drawn control, the painting of large virtual
+ * tables and trees and the heap retained per row of a large table.
+ * <p>
+ * Usage: <code>BenchmarkSkijaPipeline [result.json] [filter]</code>. The
+ * optional JSON file receives the results in JMH's result format, the optional
+ * filter is a regular expression selecting benchmarks by name. On a machine
+ * without a display run it under Xvfb, e.g. with <code>xvfb-run</code>.
+ * </p>
+ */
+public class BenchmarkSkijaPipeline {
+	private static final int PRIMITIVES_PER_FRAME = 100;
+	private static final int[] ROW_COUNTS = { 1_000, 100_000, 1_000_000 };
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args the optional result file and benchmark filter
+	 */
+	public static void main(String[] args) throws IOException {
+		final Display display = new Display();
+		try {
+			BenchmarkRunner runner = new BenchmarkRunner(display, args.length > 1 ? args[1] : null);
+			Shell shell = new Shell(display);
+			shell.setLayout(new FillLayout());
+			shell.setSize(800, 600);
+			shell.open();
+
+			benchmarkPrimitives(runner, shell);
+			benchmarkConversions(runner, shell);
+			benchmarkControls(runner, shell);
+			benchmarkTable(runner, shell);
+			benchmarkTree(runner, shell);
+			benchmarkFootprint(runner, shell);
+			benchmarkStyledText(runner, shell);
+
+			if (args.length > 0) {
+				runner.writeJson(Path.of(args[0]));
+			}
+		} finally {
+			display.dispose();
+		}
+	}
+
+	private static void benchmarkPrimitives(BenchmarkRunner runner, Shell shell) {
+		Canvas canvas = new Canvas(shell, SWT.NONE);
+		shell.layout();
+		Image image = new Image(shell.getDisplay(), createImageData(64, 64));
+		int[] polyline = new int[40];
+		for (int i = 0; i < polyline.length; i += 2) {
+			polyline[i] = i * 10;
+			polyline[i + 1] = (i % 4) * 20;
+		}
+		Map<String, String> params = Map.of("primitivesPerFrame", String.valueOf(PRIMITIVES_PER_FRAME));
+
+		runner.run("gc.emptyFrame", Map.of(), () -> Drawing.drawWithGC(canvas, null, gc -> {
+		}));
+		runner.run("gc.fillRectangle", params, () -> drawPrimitives(canvas, (gc, i) -> gc.fillRectangle(i, i, 200, 100)));
+		runner.run("gc.drawText", params, () -> drawPrimitives(canvas, (gc, i) -> gc.drawText("Item " + i, i, i, true)));
+		// cell like strings which repeat, compare with -Dorg.eclipse.swt.graphics.SkijaGC.textAtlas=true
+		String[] cells = { "OK", "Failed", "Running", "2025-01-01", "42", "1,024 KB" };
+		runner.run("gc.drawText.repeated", params,
+				() -> drawPrimitives(canvas, (gc, i) -> gc.drawText(cells[i % cells.length], i, i, true)));
+		runner.run("gc.drawImage", params, () -> drawPrimitives(canvas, (gc, i) -> gc.drawImage(image, i, i)));
+		runner.run("gc.drawPolyline", params, () -> drawPrimitives(canvas, (gc, i) -> gc.drawPolyline(polyline)));
+
+		image.dispose();
+		canvas.dispose();
+	}
+
+	private interface Primitive {
+		void draw(GC gc, int index);
+	}
+
+	private static void drawPrimitives(Control control, Primitive primitive) {
+		Drawing.drawWithGC(control, null, gc -> {
+			for (int i = 0; i < PRIMITIVES_PER_FRAME; i++) {
+				primitive.draw(gc, i);
+			}
+		});
+	}
+
+	private static void benchmarkConversions(BenchmarkRunner runner, Shell shell) {
+		// from 16x16 icons up to 4K screenshots
+		int[][] sizes = { { 16, 16 }, { 64, 64 }, { 512, 512 }, { 1920, 1080 }, { 3840, 2160 } };
+		for (int[] size : sizes) {
+			String sizeParam = size[0] + "x" + size[1];
+			ImageData direct = createImageData(size[0], size[1]);
+			runner.run("SkijaGC.convertToRGBA", Map.of("size", sizeParam, "format", "direct"),
+					() -> SkijaGC.convertToRGBA(direct));
+			ImageData indexed = createIndexedImageData(size[0], size[1]);
+			runner.run("SkijaGC.convertToRGBA", Map.of("size", sizeParam, "format", "indexed"),
+					() -> SkijaGC.convertToRGBA(indexed));
+			ImageData alpha = createImageData(size[0], size[1]);
+			alpha.alphaData = new byte[size[0] * size[1]];
+			runner.run("SkijaGC.convertToRGBA", Map.of("size", sizeParam, "format", "alpha"),
+					() -> SkijaGC.convertToRGBA(alpha));
+		}
+
+		for (int size : new int[] { 16, 64, 512 }) {
+			// copying an area converts the Skija snapshot with convertToSkijaImageData
+			Canvas canvas = new Canvas(shell, SWT.NONE);
+			shell.layout();
+			Image target = new Image(shell.getDisplay(), size, size);
+			runner.run("SkijaGC.convertToSkijaImageData", Map.of("size", size + "x" + size),
+					() -> Drawing.drawWithGC(canvas, null, gc -> gc.copyArea(target, 0, 0)));
+			target.dispose();
+			canvas.dispose();
+		}
+	}
+
+	private static ImageData createImageData(int width, int height) {
+		ImageData imageData = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0x00FF00, 0x0000FF));
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				imageData.setPixel(x, y, (x * 255 / width) << 16 | (y * 255 / height) << 8 | 0x80);
+			}
+		}
+		return imageData;
+	}
+
+	private static ImageData createIndexedImageData(int width, int height) {
+		RGB[] colors = new RGB[256];
+		for (int i = 0; i < colors.length; i++) {
+			colors[i] = new RGB(i, 255 - i, i / 2);
+		}
+		ImageData imageData = new ImageData(width, height, 8, new PaletteData(colors));
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				imageData.setPixel(x, y, (x + y) & 0xFF);
+			}
+		}
+		return imageData;
+	}
+
+	private static void benchmarkControls(BenchmarkRunner runner, Shell shell) {
+		benchmarkControl(runner, shell, "Button.push", parent -> createButton(parent, SWT.PUSH));
+		benchmarkControl(runner, shell, "Button.toggle", parent -> createButton(parent, SWT.TOGGLE));
+		benchmarkControl(runner, shell, "Button.check", parent -> createButton(parent, SWT.CHECK));
+		benchmarkControl(runner, shell, "Button.radio", parent -> createButton(parent, SWT.RADIO));
+		benchmarkControl(runner, shell, "Button.arrow", parent -> new Button(parent, SWT.ARROW));
+		benchmarkControl(runner, shell, "Label", parent -> {
+			Label label = new Label(parent, SWT.NONE);
+			label.setText("Label");
+			return label;
+		});
+		benchmarkControl(runner, shell, "Link", parent -> {
+			Link link = new Link(parent, SWT.NONE);
+			link.setText("Some <a>link</a> text");
+			return link;
+		});
+		benchmarkControl(runner, shell, "Scale", parent -> new Scale(parent, SWT.HORIZONTAL));
+		benchmarkControl(runner, shell, "Slider", parent -> new Slider(parent, SWT.HORIZONTAL));
+		benchmarkControl(runner, shell, "Sash", parent -> new Sash(parent, SWT.HORIZONTAL));
+		benchmarkControl(runner, shell, "TabFolder", parent -> {
+			TabFolder tabFolder = new TabFolder(parent, SWT.NONE);
+			for (int i = 0; i < 5; i++) {
+				new TabItem(tabFolder, SWT.NONE).setText("Tab " + i);
+			}
+			return tabFolder;
+		});
+		benchmarkControl(runner, shell, "CoolBar", parent -> {
+			CoolBar coolBar = new CoolBar(parent, SWT.NONE);
+			for (int i = 0; i < 3; i++) {
+				CoolItem item = new CoolItem(coolBar, SWT.NONE);
+				item.setSize(150, 30);
+			}
+			return coolBar;
+		});
+		benchmarkControl(runner, shell, "ExpandBar", parent -> {
+			ExpandBar expandBar = new ExpandBar(parent, SWT.NONE);
+			for (int i = 0; i < 3; i++) {
+				new ExpandItem(expandBar, SWT.NONE).setText("Item " + i);
+			}
+			return expandBar;
+		});
+		benchmarkCaretBlink(runner, shell);
+	}
+
+	/**
+	 * Measures a caret blink in a focused multi-line text, which only repaints
+	 * the caret's bounds.
+	 */
+	private static void benchmarkCaretBlink(BenchmarkRunner runner, Shell shell) {
+		Text text = new Text(shell, SWT.MULTI | SWT.V_SCROLL);
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			content.append("Line ").append(i).append(" of some text in a focused text field\n");
+		}
+		text.setText(content.toString());
+		shell.layout();
+		text.setFocus();
+		text.setSelection(content.length() / 2);
+		runner.processEvents();
+		Point caret = text.getCaretLocation();
+		int caretHeight = text.getLineHeight();
+		runner.run("paint.Text.caretBlink", Map.of(), () -> {
+			text.redraw(caret.x, caret.y, 1, caretHeight, false);
+			text.update();
+		});
+		text.dispose();
+	}
+
+	private static Button createButton(Shell parent, int style) {
+		Button button = new Button(parent, style);
+		button.setText("Button");
+		return button;
+	}
+
+	private static void benchmarkControl(BenchmarkRunner runner, Shell shell, String name,
+			Function<Shell, Control> factory) {
+		Control control = factory.apply(shell);
+		shell.layout();
+		runner.processEvents();
+		runner.run("paint." + name, Map.of(), () -> paint(control));
+		control.dispose();
+	}
+
+	private static void paint(Control control) {
+		control.redraw();
+		control.update();
+	}
+
+	private static void benchmarkTable(BenchmarkRunner runner, Shell shell) {
+		for (int rows : ROW_COUNTS) {
+			Table table = new Table(shell, SWT.VIRTUAL | SWT.MULTI | SWT.FULL_SELECTION);
+			table.addListener(SWT.SetData, event -> {
+				TableItem item = (TableItem) event.item;
+				item.setText("Item " + table.indexOf(item));
+			});
+			table.setItemCount(rows);
+			benchmarkScrolling(runner, shell, "paint.Table", rows, table, table::setTopIndex);
+			table.dispose();
+		}
+	}
+
+	private static void benchmarkTree(BenchmarkRunner runner, Shell shell) {
+		for (int rows : ROW_COUNTS) {
+			Tree tree = new Tree(shell, SWT.VIRTUAL | SWT.MULTI);
+			tree.addListener(SWT.SetData, event -> {
+				TreeItem item = (TreeItem) event.item;
+				item.setText("Item " + event.index);
+			});
+			tree.setItemCount(rows);
+			benchmarkScrolling(runner, shell, "paint.Tree", rows, tree, row -> tree.setTopItem(tree.getItem(row)));
+			tree.dispose();
+		}
+	}
+
+	/**
+	 * Measures the heap retained per row of a table with several columns, after
+	 * scrolling through a part of it, so that the cell layouts of the painted rows
+	 * are included.
+	 */
+	private static void benchmarkFootprint(BenchmarkRunner runner, Shell shell) {
+		int rows = 100_000;
+		int columns = 8;
+		int paintedRows = 5_000;
+		runner.runFootprint("footprint.Table", Map.of("rows", String.valueOf(rows), "columns", String.valueOf(columns)),
+				"row", rows, () -> {
+					Table table = new Table(shell, SWT.MULTI | SWT.FULL_SELECTION);
+					for (int i = 0; i < columns; i++) {
+						new TableColumn(table, SWT.NONE).setWidth(90);
+					}
+					String[] texts = new String[columns];
+					for (int row = 0; row < rows; row++) {
+						for (int i = 0; i < columns; i++) {
+							texts[i] = "Cell " + row + "/" + i;
+						}
+						new TableItem(table, SWT.NONE).setText(texts);
+					}
+					shell.layout();
+					int visibleRows = Math.max(1, table.getClientArea().height / table.getItemHeight());
+					for (int row = 0; row < paintedRows; row += visibleRows) {
+						table.setTopIndex(row);
+						paint(table);
+					}
+					return table;
+				});
+	}
+
+	private static void benchmarkStyledText(BenchmarkRunner runner, Shell shell) {
+		for (int lines : new int[] { 1_000, 10_000 }) {
+			StyledText styledText = new StyledText(shell, SWT.MULTI | SWT.V_SCROLL | SWT.H_SCROLL);
+			StringBuilder content = new StringBuilder();
+			for (int i = 0; i < lines; i++) {
+				content.append("Line ").append(i).append(": public static void main(String[] args) {}\n");
+			}
+			styledText.setText(content.toString());
+			int lineLength = content.length() / lines;
+			StyleRange[] ranges = new StyleRange[lines];
+			for (int i = 0; i < lines; i++) {
+				ranges[i] = new StyleRange(i * lineLength + 8, 13, shell.getDisplay().getSystemColor(SWT.COLOR_BLUE),
+						null, SWT.BOLD);
+			}
+			styledText.setStyleRanges(ranges);
+			benchmarkScrolling(runner, shell, "paint.StyledText", lines, styledText, styledText::setTopIndex);
+			styledText.dispose();
+		}
+	}
+
+	/**
+	 * Measures painting the given control while scrolling through the middle of
+	 * its rows.
+	 */
+	private static void benchmarkScrolling(BenchmarkRunner runner, Shell shell, String name, int rows,
+			Control control, Consumer<Integer> scrollTo) {
+		shell.layout();
+		runner.processEvents();
+		int[] row = { rows / 2 };
+		runner.run(name, Map.of("rows", String.valueOf(rows)), () -> {
+			scrollTo.accept(row[0]);
+			row[0] = row[0] + 1 < rows ? row[0] + 1 : rows / 2;
+			paint(control);
+		});
+	}
+}
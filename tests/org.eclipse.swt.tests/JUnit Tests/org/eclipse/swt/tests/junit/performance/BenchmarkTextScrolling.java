@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Vector Informatik GmbH and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.ScrollBar;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+
+/**
+ * Measures the time to paint a multi-line {@link Text} while scrolling through
+ * documents of increasing size. Since only the visible lines are painted, the
+ * time per frame should not depend on the number of lines or on the scroll
+ * position.
+ */
+public class BenchmarkTextScrolling {
+	private static final int[] LINE_COUNTS = { 1_000, 10_000, 100_000 };
+	private static final int WARMUP_FRAMES = 50;
+	private static final int FRAMES = 500;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		final Display display = new Display();
+		try {
+			Shell shell = new Shell(display);
+			shell.setLayout(new FillLayout());
+			Text text = new Text(shell, SWT.MULTI | SWT.V_SCROLL | SWT.H_SCROLL);
+			shell.setSize(600, 400);
+			shell.open();
+
+			for (int lineCount : LINE_COUNTS) {
+				text.setText(createDocument(lineCount));
+				processEvents(display);
+				System.out.println(String.format("%,8d lines   top %,8.3f ms   middle %,8.3f ms   bottom %,8.3f ms", //
+						lineCount, //
+						measureMillisPerFrame(display, text, 0), //
+						measureMillisPerFrame(display, text, 0.5), //
+						measureMillisPerFrame(display, text, 1)));
+			}
+		} finally {
+			display.dispose();
+		}
+	}
+
+	private static String createDocument(int lineCount) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < lineCount; i++) {
+			if (i > 0) {
+				sb.append(Text.DELIMITER);
+			}
+			sb.append("Line ").append(i).append(": The quick brown fox jumps over the lazy dog");
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Scrolls to the given relative position and measures the time of painting
+	 * the text while scrolling line by line.
+	 */
+	private static double measureMillisPerFrame(Display display, Text text, double position) {
+		ScrollBar verticalBar = text.getVerticalBar();
+		int range = verticalBar.getMaximum() - verticalBar.getThumb();
+		int start = (int) (Math.max(range - FRAMES * text.getLineHeight(), 0) * position);
+		for (int i = 0; i < WARMUP_FRAMES; i++) {
+			scrollAndPaint(text, start);
+		}
+		long nanoTime = System.nanoTime();
+		for (int i = 0; i < FRAMES; i++) {
+			scrollAndPaint(text, start + i * text.getLineHeight());
+		}
+		long durationNanos = System.nanoTime() - nanoTime;
+		processEvents(display);
+		return durationNanos / 1_000_000d / FRAMES;
+	}
+
+	private static void scrollAndPaint(Text text, int y) {
+		text.getVerticalBar().setSelection(y);
+		text.redraw();
+		text.update();
+	}
+
+	private static void processEvents(Display display) {
+		while (display.readAndDispatch()) {
+			// flush pending events before measuring
+		}
+	}
+}
@@ -28,9 +28,12 @@ import java.util.function.IntFunction;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.tests.junit.SwtTestUtil;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Tree;
 import org.eclipse.swt.widgets.TreeItem;
@@ -299,6 +302,68 @@ public class Test_org_eclipse_swt_widgets_Tree {
 		});
 	}
 
+	@Test
+	public void paintLargeTree() {
+		assertMaximumDegree(0.3, largeTreeSizes(), n -> {
+			Tree tree = buildExpandedSubject(n);
+			return measureNanos(() -> {
+				for (int i = 0; i < 10; i++) {
+					tree.redraw();
+					tree.update();
+				}
+			});
+		});
+	}
+
+	@Test
+	public void hoverLargeTree() {
+		assertMaximumDegree(0.3, largeTreeSizes(), n -> {
+			Tree tree = buildExpandedSubject(n);
+			tree.update();
+			Rectangle clientArea = tree.getClientArea();
+			return measureNanos(() -> {
+				for (int y = clientArea.y; y < clientArea.y + clientArea.height; y += 2) {
+					Event event = new Event();
+					event.x = clientArea.x + 10;
+					event.y = y;
+					tree.notifyListeners(SWT.MouseMove, event);
+					tree.getItem(new Point(event.x, event.y));
+				}
+			});
+		});
+	}
+
+	@Test
+	public void scrollLargeTree() {
+		assertMaximumDegree(0.3, largeTreeSizes(), n -> {
+			Tree tree = buildExpandedSubject(n);
+			tree.update();
+			return measureNanos(() -> {
+				for (int i = 0; i < 10; i++) {
+					tree.setTopIndex(n / 2 + i * 17);
+					tree.update();
+				}
+			});
+		});
+	}
+
+	/**
+	 * Painting, hit testing and scrolling should only depend on the visible rows,
+	 * so virtual trees are measured with up to a million nodes.
+	 */
+	private int[] largeTreeSizes() {
+		return virtual ? new int[] { 100000, 1000000 } : new int[] { 10000, 100000 };
+	}
+
+	/** Builds the tree with its root items expanded, so that it has as many rows as possible without creating all items */
+	private Tree buildExpandedSubject(int size) {
+		Tree tree = buildSubject(size, this::initializeItem);
+		for (TreeItem root : tree.getItems()) {
+			root.setExpanded(true);
+		}
+		return tree;
+	}
+
 	private Tree buildSubject(int size, Consumer<TreeItem> initialize) {
 		Tree result = new Tree(shell, virtual ? SWT.VIRTUAL : SWT.NONE);
 		shell.layout();
@@ -310,9 +375,12 @@ public class Test_org_eclipse_swt_widgets_Tree {
 
 	/** Ensure that given function grows within acceptable polynomial degree */
 	private void assertMaximumDegree(double maximumDegree, IntFunction<Double> function) {
+		assertMaximumDegree(maximumDegree, new int[] { 10000, 100000 }, function);
+	}
+
+	private void assertMaximumDegree(double maximumDegree, int[] elementCount, IntFunction<Double> function) {
 		shell.setText(name.getMethodName());
 		clearShell();
-		int elementCount[] = new int[] { 10000, 100000 };
 		function.apply(elementCount[0]); // warmup
 		clearShell();
 		double elapsed[] = new double[] { function.apply(elementCount[0]), 0 };